@@ -0,0 +1,81 @@
+package backend;
+
+import backend.resource.MultiModel;
+import benchmarks.SyntheticModels;
+import filter.Parser;
+import filter.expression.FilterExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.GuiElement;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * UpdateController.processFilters for boards of increasing size, i.e. filtering, sorting and producing
+ * the elements of every panel, with the sub-expressions common to several panels shared between them.
+ * In the backend package, as processFilters is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProcessFiltersBenchmark {
+
+    private static final List<String> BOARD = Arrays.asList(
+            "is:open is:issue sort:!updated",
+            "is:open label:type.bug sort:priority,!updated",
+            "is:open label:type.feature milestone:v2",
+            "is:pr is:open sort:!updated",
+            "is:open assignee:user1",
+            "is:open assignee:user2",
+            "is:closed updated:<720 sort:!updated count:100",
+            "is:open -label:priority.high -label:priority.medium -label:priority.low",
+            "is:open no:assignee label:component-1",
+            "is:open (label:component-2 || label:component-3) sort:milestone,!id");
+
+    @Param({"1000", "10000", "100000"})
+    public int issueCount;
+
+    @Param({"1", "5", "10"})
+    public int panelCount;
+
+    private MultiModel models;
+    private List<FilterExpression> filterExprs;
+    private UpdateController updateController;
+
+    @Setup
+    public void setUp() {
+        models = SyntheticModels.create(issueCount);
+        filterExprs = BOARD.stream()
+                .limit(panelCount)
+                .map(Parser::parse)
+                .collect(Collectors.toList());
+        updateController = new UpdateController(null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        updateController.shutdown();
+    }
+
+    @Benchmark
+    public Map<FilterExpression, List<GuiElement>> processFilters() {
+        return updateController.processFilters(models, filterExprs);
+    }
+}
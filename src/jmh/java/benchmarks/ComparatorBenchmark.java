@@ -0,0 +1,56 @@
+package benchmarks;
+
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import filter.expression.Qualifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting every issue of a model by each kind of sort key, including a label group.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ComparatorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int issueCount;
+
+    @Param({"id", "updated", "comments", "repo", "assignee", "milestone", "state", "type", "priority"})
+    public String sortKey;
+
+    private MultiModel models;
+    private List<TurboIssue> issues;
+
+    @Setup
+    public void setUp() {
+        models = SyntheticModels.create(issueCount);
+        issues = models.getIssues();
+    }
+
+    @Benchmark
+    public List<TurboIssue> sort() {
+        // Comparators precompute some keys of the issues they sort, so a new one is needed every time,
+        // as in UpdateController
+        List<TurboIssue> sorted = new ArrayList<>(issues);
+        sorted.sort(Qualifier.getSortComparator(models, sortKey, false, false, issues));
+        return sorted;
+    }
+}
@@ -0,0 +1,188 @@
+package benchmarks;
+
+import backend.IssueMetadata;
+import backend.RepoIO;
+import backend.control.RepoOpControl;
+import backend.github.GitHubRepo;
+import backend.github.GitHubSource;
+import backend.interfaces.RepoStore;
+import backend.json.JSONStore;
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import backend.stub.SyntheticRepoConfig;
+import backend.stub.SyntheticRepoState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tests.GitHubReplayServer;
+import tests.SyntheticGitHubResources;
+import ui.TestController;
+import ui.UI;
+import ui.components.StatusUIStub;
+import util.events.EventDispatcherStub;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Syncing a repository through the real GitHubSource, against a {@link GitHubReplayServer} serving a generated
+ * repository over HTTP: a full download, an incremental sync after a refresh changed some issues, a sync
+ * where nothing changed, which should only get 304s, and downloading the metadata of the issues in a panel.
+ * <p>
+ * Besides the time taken, the requests, 304 responses and bytes sent per operation are printed at the end of
+ * every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GitHubSyncBenchmark {
+
+    private static final String REPO_ID = SyntheticModels.REPO_ID;
+
+    // Number of issues whose metadata is downloaded at a time, as for the issues shown in a panel
+    private static final int METADATA_ISSUES = 20;
+
+    @Param({"1000", "10000"})
+    public int issueCount;
+
+    @Param({"0", "20"})
+    public long latencyMillis;
+
+    private Path storeDirectory;
+    private GitHubReplayServer server;
+    private SyntheticRepoState state;
+    private GitHubSource source;
+
+    private RepoIO repoIO;
+    private Model model;
+    private List<TurboIssue> recentIssues;
+
+    private long operations = 0;
+
+    @Setup
+    public void setUp() throws IOException, ExecutionException, InterruptedException {
+        UI.events = new EventDispatcherStub();
+        UI.status = new StatusUIStub();
+        storeDirectory = Files.createTempDirectory("github-sync-benchmark");
+        RepoStore.changeDirectory(storeDirectory.toString());
+
+        server = new GitHubReplayServer().start();
+        state = new SyntheticRepoState(REPO_ID, new SyntheticRepoConfig()
+                .setIssueCount(issueCount)
+                .setMilestoneCount(Math.max(1, issueCount / 200))
+                .setUserCount(Math.max(1, issueCount / 100))
+                .setChurnRate(0.001));
+        SyntheticGitHubResources.put(server, state);
+        source = new GitHubSource(new GitHubRepo(server.createClient()));
+
+        repoIO = new RepoIO(Optional.of(source), Optional.of(new JSONStore()), Optional.empty());
+        repoIO.setRepoOpControl(new RepoOpControl(repoIO, new MultiModel(TestController.createTestPreferences())));
+        model = repoIO.openRepository(REPO_ID).get();
+        recentIssues = model.getIssues().stream()
+                .sorted(Comparator.comparing(TurboIssue::getUpdatedAt).reversed())
+                .limit(METADATA_ISSUES)
+                .collect(Collectors.toList());
+
+        // Latency only applies to what is measured
+        server.setLatencyMillis(latencyMillis);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.stop();
+        List<Path> paths = Files.walk(storeDirectory).sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounts() {
+        server.resetCounts();
+        // Otherwise later iterations would only measure rate limit errors
+        server.setRateLimitRemaining(GitHubReplayServer.RATE_LIMIT);
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCounts() {
+        if (operations > 0) {
+            System.out.printf("%n%.1f requests, %.1f not modified, %.0f bytes per operation%n",
+                              (double) server.getRequestCount() / operations,
+                              (double) server.getNotModifiedCount() / operations,
+                              (double) server.getBytesSent() / operations);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Changed {
+        @Setup(Level.Invocation)
+        public void setUp(GitHubSyncBenchmark benchmark) {
+            long latencyMillis = benchmark.latencyMillis;
+            benchmark.server.setLatencyMillis(0);
+            benchmark.state.refresh();
+            SyntheticGitHubResources.put(benchmark.server, benchmark.state);
+            benchmark.server.setLatencyMillis(latencyMillis);
+        }
+    }
+
+    /**
+     * Downloading all of a repository, as when it is first opened.
+     */
+    @Benchmark
+    public Model fullSync() throws ExecutionException, InterruptedException {
+        operations++;
+        return source.downloadRepository(REPO_ID).get();
+    }
+
+    /**
+     * Downloading and reconciling the changes to a repository since it was last synced.
+     */
+    @Benchmark
+    public Model incrementalSync(Changed changed) throws ExecutionException, InterruptedException {
+        operations++;
+        model = repoIO.updateModel(model, false).get();
+        return model;
+    }
+
+    /**
+     * Checking a repository for changes when there are none.
+     */
+    @Benchmark
+    public Model unchangedSync() throws ExecutionException, InterruptedException {
+        operations++;
+        model = repoIO.updateModel(model, false).get();
+        return model;
+    }
+
+    /**
+     * Downloading the events and comments of the most recently updated issues.
+     */
+    @Benchmark
+    public Map<Integer, IssueMetadata> downloadMetadata() throws ExecutionException, InterruptedException {
+        operations++;
+        return source.downloadMetadata(REPO_ID, recentIssues).get();
+    }
+}
@@ -0,0 +1,148 @@
+package benchmarks;
+
+import backend.RepoIO;
+import backend.control.RepoOpControl;
+import backend.interfaces.RepoStore;
+import backend.json.JSONStore;
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import backend.resource.serialization.SerializableModel;
+import backend.stub.SyntheticRepoConfig;
+import backend.stub.SyntheticSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.TestController;
+import ui.UI;
+import ui.components.StatusUIStub;
+import util.events.EventDispatcherStub;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The cost of logging while starting up and syncing, with the asynchronous logging configuration which
+ * HubTurbo uses and with the synchronous one, which locates the caller of every message.
+ * Starting up is opening a stored repository; syncing is reconciling every issue of a repository with a
+ * changed copy of it, and refreshing it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String REPO_ID = SyntheticModels.REPO_ID;
+    private static final int ISSUE_COUNT = 5000;
+
+    @Param({"log4j2.xml", "log4j2-sync.xml"})
+    public String logConfiguration;
+
+    private Path storeDirectory;
+    private SyntheticSource source;
+    private JSONStore jsonStore;
+
+    private RepoIO repoIO;
+    private Model model;
+    private List<TurboIssue> issues;
+    private List<TurboIssue> changedIssues;
+
+    @Setup
+    public void setUp() throws IOException, URISyntaxException, ExecutionException, InterruptedException {
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        context.setConfigLocation(getClass().getResource("/" + logConfiguration).toURI());
+
+        UI.events = new EventDispatcherStub();
+        UI.status = new StatusUIStub();
+        storeDirectory = Files.createTempDirectory("logging-benchmark");
+        RepoStore.changeDirectory(storeDirectory.toString());
+
+        source = new SyntheticSource(new SyntheticRepoConfig()
+                                             .setIssueCount(ISSUE_COUNT)
+                                             .setMilestoneCount(ISSUE_COUNT / 200)
+                                             .setUserCount(ISSUE_COUNT / 100)
+                                             .setChurnRate(0.001));
+        jsonStore = new JSONStore();
+
+        source.getRepo().getRepoState(REPO_ID);
+        repoIO = createRepoIO();
+        model = repoIO.openRepository(REPO_ID).get();
+
+        issues = SyntheticModels.create(ISSUE_COUNT).getIssues();
+        changedIssues = issues.stream().map(TurboIssue::new).collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        List<Path> paths = Files.walk(storeDirectory).sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    private RepoIO createRepoIO() {
+        RepoIO repoIO = new RepoIO(Optional.of(source), Optional.of(jsonStore), Optional.empty());
+        repoIO.setRepoOpControl(new RepoOpControl(repoIO, new MultiModel(TestController.createTestPreferences())));
+        return repoIO;
+    }
+
+    /**
+     * Stores the repository before each invocation. The trial's RepoIO is reused, as each RepoOpControl
+     * starts its own threads, and already lists the repository as stored.
+     */
+    @State(Scope.Thread)
+    public static class Stored {
+        @Setup(Level.Invocation)
+        public void setUp(LoggingBenchmark benchmark) throws ExecutionException, InterruptedException {
+            benchmark.jsonStore.saveRepository(REPO_ID, new SerializableModel(benchmark.model)).get();
+        }
+    }
+
+    /**
+     * Opening a stored repository, as on startup.
+     */
+    @Benchmark
+    public Model startup(Stored stored) throws ExecutionException, InterruptedException {
+        return repoIO.openRepository(REPO_ID).get();
+    }
+
+    /**
+     * Reconciling every issue of a repository with a changed copy of it, as when syncing.
+     */
+    @Benchmark
+    public List<TurboIssue> reconcile() {
+        return TurboIssue.reconcile(issues, changedIssues);
+    }
+
+    /**
+     * Refreshing an open repository, storing it when it changed.
+     */
+    @Benchmark
+    public Model refresh() throws ExecutionException, InterruptedException {
+        model = repoIO.updateModel(model, false).get();
+        return model;
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import filter.Parser;
+import filter.expression.FilterExpression;
+import filter.lexer.Lexer;
+import filter.lexer.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lexing and parsing of filters, from a single qualifier to a board-sized expression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({
+        "label:type.bug",
+        "is:open is:issue assignee:user1 label:priority.high",
+        "repo:synthetic/repo (label:type.bug || label:type.feature) && -milestone:v1 sort:!updated,id count:50",
+        "(is:open && (label:component-1 || label:component-2 || label:component-3) && created:>2015-01-01"
+                + " && -label:duplicate) || (is:pr && updated:<48 && involves:user2) || keyword in:title"
+    })
+    public String filter;
+
+    @Benchmark
+    public List<Token> lex() {
+        return new Lexer(filter).lex();
+    }
+
+    @Benchmark
+    public FilterExpression parse() {
+        return Parser.parse(filter);
+    }
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import filter.Parser;
+import filter.expression.FilterExpression;
+import filter.expression.Qualifier;
+import filter.expression.QualifierType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Qualifier.process over every issue of a model, for a typical filter of each qualifier type which
+ * selects issues. Meta-qualifiers (sort, count, in, repo) only affect how other qualifiers are applied,
+ * so they are covered by {@link ProcessFiltersBenchmark} instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QualifierBenchmark {
+
+    private static final Map<QualifierType, String> FILTERS = new EnumMap<>(QualifierType.class);
+
+    static {
+        FILTERS.put(QualifierType.ASSIGNEE, "assignee:user1");
+        FILTERS.put(QualifierType.AUTHOR, "author:user2");
+        FILTERS.put(QualifierType.CREATED, "created:>2015-01-01");
+        FILTERS.put(QualifierType.DESCRIPTION, "desc:network");
+        FILTERS.put(QualifierType.HAS, "has:label");
+        FILTERS.put(QualifierType.ID, "id:>500");
+        FILTERS.put(QualifierType.INVOLVES, "involves:user3");
+        FILTERS.put(QualifierType.IS, "is:unread");
+        FILTERS.put(QualifierType.KEYWORD, "slow crash");
+        FILTERS.put(QualifierType.LABEL, "label:component-1");
+        FILTERS.put(QualifierType.MILESTONE, "milestone:v2");
+        FILTERS.put(QualifierType.NO, "no:milestone");
+        FILTERS.put(QualifierType.STATE, "state:open");
+        FILTERS.put(QualifierType.TITLE, "title:filter");
+        FILTERS.put(QualifierType.TYPE, "type:pr");
+        FILTERS.put(QualifierType.UPDATED, "updated:<720");
+    }
+
+    @Param({"1000", "10000", "100000"})
+    public int issueCount;
+
+    @Param({"ASSIGNEE", "AUTHOR", "CREATED", "DESCRIPTION", "HAS", "ID", "INVOLVES", "IS", "KEYWORD", "LABEL",
+            "MILESTONE", "NO", "STATE", "TITLE", "TYPE", "UPDATED"})
+    public QualifierType qualifierType;
+
+    private MultiModel models;
+    private List<TurboIssue> issues;
+    private FilterExpression filterExpr;
+
+    @Setup
+    public void setUp() {
+        models = SyntheticModels.create(issueCount);
+        issues = models.getIssues();
+        filterExpr = Parser.parse(FILTERS.get(qualifierType));
+    }
+
+    @Benchmark
+    public int process() {
+        int matching = 0;
+        for (TurboIssue issue : issues) {
+            if (Qualifier.process(models, filterExpr, issue)) {
+                matching++;
+            }
+        }
+        return matching;
+    }
+}
@@ -0,0 +1,170 @@
+package benchmarks;
+
+import backend.IssueMetadata;
+import backend.RepoIO;
+import backend.control.RepoOpControl;
+import backend.interfaces.RepoStore;
+import backend.json.JSONStore;
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import backend.resource.serialization.SerializableModel;
+import backend.stub.SyntheticRepoConfig;
+import backend.stub.SyntheticSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.TestController;
+import ui.UI;
+import ui.components.StatusUIStub;
+import util.events.EventDispatcherStub;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Syncing a repository end to end without a network connection: downloading it from a SyntheticSource,
+ * storing it in a JSONStore, loading it back and refreshing it, the way Logic does through RepoIO.
+ * Every simulated request takes the given latency, and every refresh changes a thousandth of the issues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RepoSyncBenchmark {
+
+    private static final String REPO_ID = SyntheticModels.REPO_ID;
+
+    // Number of issues whose metadata is downloaded at a time, as for the issues shown in a panel
+    private static final int METADATA_ISSUES = 20;
+
+    @Param({"1000", "10000"})
+    public int issueCount;
+
+    @Param({"0", "20"})
+    public long latencyMillis;
+
+    private Path storeDirectory;
+    private SyntheticSource source;
+    private JSONStore jsonStore;
+
+    private RepoIO repoIO;
+    private Model model;
+    private List<TurboIssue> recentIssues;
+
+    @Setup
+    public void setUp() throws IOException, ExecutionException, InterruptedException {
+        UI.events = new EventDispatcherStub();
+        UI.status = new StatusUIStub();
+        storeDirectory = Files.createTempDirectory("repo-sync-benchmark");
+        RepoStore.changeDirectory(storeDirectory.toString());
+
+        source = new SyntheticSource(new SyntheticRepoConfig()
+                                             .setIssueCount(issueCount)
+                                             .setMilestoneCount(Math.max(1, issueCount / 200))
+                                             .setUserCount(Math.max(1, issueCount / 100))
+                                             .setChurnRate(0.001)
+                                             .setLatencyMillis(latencyMillis));
+        jsonStore = new JSONStore();
+
+        // Generated up front so that only syncing it is measured
+        source.getRepo().getRepoState(REPO_ID);
+        repoIO = createRepoIO();
+        model = repoIO.openRepository(REPO_ID).get();
+        recentIssues = model.getIssues().stream()
+                .sorted(Comparator.comparing(TurboIssue::getUpdatedAt).reversed())
+                .limit(METADATA_ISSUES)
+                .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        List<Path> paths = Files.walk(storeDirectory).sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    private RepoIO createRepoIO() {
+        RepoIO repoIO = new RepoIO(Optional.of(source), Optional.of(jsonStore), Optional.empty());
+        repoIO.setRepoOpControl(new RepoOpControl(repoIO, new MultiModel(TestController.createTestPreferences())));
+        return repoIO;
+    }
+
+    /**
+     * Removes the repository from the store, and from the RepoIO's list of stored repositories,
+     * before each invocation. The trial's RepoIO is reused, as each RepoOpControl starts its own threads.
+     */
+    @State(Scope.Thread)
+    public static class NotStored {
+        @Setup(Level.Invocation)
+        public void setUp(RepoSyncBenchmark benchmark) throws ExecutionException, InterruptedException {
+            benchmark.repoIO.removeRepository(REPO_ID).get();
+        }
+    }
+
+    /**
+     * Stores the repository before each invocation. It is already in the trial RepoIO's list of stored
+     * repositories, having been opened when the trial was set up.
+     */
+    @State(Scope.Thread)
+    public static class Stored {
+        @Setup(Level.Invocation)
+        public void setUp(RepoSyncBenchmark benchmark) throws ExecutionException, InterruptedException {
+            benchmark.jsonStore.saveRepository(REPO_ID, new SerializableModel(benchmark.model)).get();
+        }
+    }
+
+    /**
+     * Opening a repository which is not stored: downloading, reconciling and storing all of it.
+     */
+    @Benchmark
+    public Model openFromSource(NotStored notStored) throws ExecutionException, InterruptedException {
+        return repoIO.openRepository(REPO_ID).get();
+    }
+
+    /**
+     * Opening a stored repository: loading it and refreshing it.
+     */
+    @Benchmark
+    public Model openFromStore(Stored stored) throws ExecutionException, InterruptedException {
+        return repoIO.openRepository(REPO_ID).get();
+    }
+
+    /**
+     * Refreshing an open repository, storing it when it changed.
+     */
+    @Benchmark
+    public Model refresh() throws ExecutionException, InterruptedException {
+        model = repoIO.updateModel(model, false).get();
+        return model;
+    }
+
+    /**
+     * Downloading the events and comments of the most recently updated issues.
+     */
+    @Benchmark
+    public Map<Integer, IssueMetadata> downloadMetadata() throws ExecutionException, InterruptedException {
+        return source.downloadMetadata(REPO_ID, recentIssues).get();
+    }
+}
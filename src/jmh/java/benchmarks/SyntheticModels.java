@@ -0,0 +1,141 @@
+package benchmarks;
+
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import ui.TestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Builds models of a single repository with many issues, for benchmarks. The same seed always gives the
+ * same model, with dates relative to the current time.
+ * <p>
+ * Labels, milestones and users are distributed the way they tend to be in real repositories: most
+ * issues have a type and a priority, a few components have most of the issues, issues are mostly in
+ * the milestone that was current when they were created, and a few users create and are assigned
+ * most issues.
+ */
+public final class SyntheticModels {
+
+    public static final String REPO_ID = "synthetic/repo";
+    public static final long SEED = 42;
+
+    public static final List<String> TYPES = Arrays.asList("bug", "feature", "enhancement", "docs", "chore");
+    public static final List<String> PRIORITIES = Arrays.asList("high", "medium", "low");
+    private static final int COMPONENTS = 20;
+    private static final int ISSUES_PER_MILESTONE = 200;
+    private static final int ISSUES_PER_USER = 100;
+
+    private static final List<String> WORDS = Arrays.asList(
+            "crash", "panel", "filter", "label", "slow", "login", "sync", "error", "update", "display",
+            "milestone", "assignee", "picker", "board", "refresh", "cache", "network", "memory", "window", "menu");
+
+    private SyntheticModels() {
+    }
+
+    public static MultiModel create(int issueCount) {
+        return create(issueCount, SEED);
+    }
+
+    public static MultiModel create(int issueCount, long seed) {
+        Random random = new Random(seed);
+
+        List<TurboLabel> labels = new ArrayList<>();
+        TYPES.forEach(type -> labels.add(new TurboLabel(REPO_ID, "type." + type)));
+        PRIORITIES.forEach(priority -> labels.add(new TurboLabel(REPO_ID, "priority." + priority)));
+        for (int i = 1; i <= COMPONENTS; i++) {
+            labels.add(new TurboLabel(REPO_ID, "component-" + i));
+        }
+        labels.add(new TurboLabel(REPO_ID, "duplicate"));
+
+        List<TurboMilestone> milestones = new ArrayList<>();
+        int milestoneCount = Math.max(1, issueCount / ISSUES_PER_MILESTONE);
+        LocalDate firstDueDate = LocalDate.now().minusMonths(milestoneCount - 1);
+        for (int i = 1; i <= milestoneCount; i++) {
+            TurboMilestone milestone = new TurboMilestone(REPO_ID, i, "v" + i);
+            milestone.setDueDate(Optional.of(firstDueDate.plusMonths(i - 1)));
+            milestone.setOpen(i >= milestoneCount - 1);
+            milestones.add(milestone);
+        }
+
+        List<TurboUser> users = new ArrayList<>();
+        int userCount = Math.max(1, issueCount / ISSUES_PER_USER);
+        for (int i = 1; i <= userCount; i++) {
+            users.add(new TurboUser(REPO_ID, "user" + i));
+        }
+
+        List<TurboIssue> issues = new ArrayList<>();
+        LocalDateTime firstCreatedAt = LocalDateTime.now().minusYears(3);
+        for (int id = 1; id <= issueCount; id++) {
+            // Issues are created at a steady rate, and some are updated long after
+            LocalDateTime createdAt = firstCreatedAt.plusMinutes((long) id * 3 * 365 * 24 * 60 / issueCount);
+            TurboIssue issue = new TurboIssue(REPO_ID, id, "Issue " + id + " " + randomWords(random),
+                                              users.get(skewed(random, userCount)).getLoginName(),
+                                              createdAt, random.nextInt(100) < 15);
+            issue.setDescription("Description of issue " + id + " " + randomWords(random));
+            issue.setUpdatedAt(createdAt.plusHours(random.nextInt(24 * 90)));
+            issue.setCommentCount(skewed(random, 30));
+            issue.setOpen(random.nextInt(100) < 20 || id > issueCount * 9 / 10);
+
+            List<String> issueLabels = new ArrayList<>();
+            if (random.nextInt(100) < 90) {
+                issueLabels.add("type." + TYPES.get(skewed(random, TYPES.size())));
+            }
+            if (random.nextInt(100) < 70) {
+                issueLabels.add("priority." + PRIORITIES.get(random.nextInt(PRIORITIES.size())));
+            }
+            for (int i = random.nextInt(3); i > 0; i--) {
+                String component = "component-" + (skewed(random, COMPONENTS) + 1);
+                if (!issueLabels.contains(component)) {
+                    issueLabels.add(component);
+                }
+            }
+            if (random.nextInt(100) < 2) {
+                issueLabels.add("duplicate");
+            }
+            issue.setLabels(issueLabels);
+
+            if (random.nextInt(100) < 80) {
+                // Issues are mostly in the milestones that were current when they were created
+                int current = (int) ((long) (id - 1) * milestoneCount / issueCount);
+                issue.setMilestone(milestones.get(Math.min(milestoneCount - 1, current + random.nextInt(2))));
+            }
+            if (random.nextInt(100) < 60) {
+                issue.setAssignee(users.get(skewed(random, userCount)));
+            }
+            issues.add(issue);
+        }
+
+        MultiModel models = new MultiModel(TestController.createTestPreferences());
+        models.queuePendingRepository(REPO_ID);
+        models.addPending(new Model(REPO_ID, issues, labels, milestones, users));
+        models.setDefaultRepo(REPO_ID);
+        return models;
+    }
+
+    /**
+     * @return an index in [0, bound), with smaller indices much more likely
+     */
+    private static int skewed(Random random, int bound) {
+        double uniform = random.nextDouble();
+        return (int) (bound * uniform * uniform * uniform);
+    }
+
+    private static String randomWords(Random random) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 2 + random.nextInt(4); i > 0; i--) {
+            words.append(WORDS.get(random.nextInt(WORDS.size()))).append(' ');
+        }
+        return words.toString().trim();
+    }
+}
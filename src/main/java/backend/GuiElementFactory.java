@@ -0,0 +1,108 @@
+package backend;
+
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import ui.GuiElement;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Produces the GuiElements of issues in bulk, off the JavaFX thread.
+ * <p>
+ * The labels, milestones and users of each repository are indexed once, instead of being looked up
+ * through the MultiModel and searched linearly for every issue. The element of an issue shown in several
+ * panels is only produced once, and shared between the panels.
+ * <p>
+ * A factory is only valid for the models it was created with, so a new one should be created for every
+ * refresh. Thread-safe.
+ */
+public class GuiElementFactory {
+
+    private final MultiModel models;
+    private final Map<String, RepoIndex> repoIndices = new ConcurrentHashMap<>();
+    private final Map<TurboIssue, GuiElement> elements = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final AtomicInteger reused = new AtomicInteger();
+
+    public GuiElementFactory(MultiModel models) {
+        this.models = models;
+    }
+
+    public List<GuiElement> getElements(List<TurboIssue> issues) {
+        return issues.stream()
+                .map(this::getElement)
+                .collect(Collectors.toList());
+    }
+
+    public GuiElement getElement(TurboIssue issue) {
+        GuiElement element = elements.get(issue);
+        if (element != null) {
+            reused.incrementAndGet();
+            return element;
+        }
+
+        RepoIndex index = repoIndices.computeIfAbsent(issue.getRepoId(),
+                                                      repoId -> new RepoIndex(models.getModelById(repoId)));
+        element = new GuiElement(issue,
+                                 index.getLabelsOfIssue(issue),
+                                 issue.getMilestone().flatMap(index::getMilestone),
+                                 issue.getAssignee().flatMap(index::getUser),
+                                 index.getUser(issue.getCreator())
+        );
+        elements.putIfAbsent(issue, element);
+        return element;
+    }
+
+    /**
+     * @return the number of times an element was shared instead of being produced again
+     */
+    public int getReusedCount() {
+        return reused.get();
+    }
+
+    /**
+     * Lookup tables for the labels, milestones and users of a repository. Where there are several with the
+     * same key, the first one in the model is used, as in the lookups of {@link Model}.
+     */
+    private static class RepoIndex {
+        private final Map<String, TurboLabel> labelsByName = new HashMap<>();
+        private final Map<Integer, TurboMilestone> milestonesById = new HashMap<>();
+        private final Map<String, TurboUser> usersByLogin = new HashMap<>();
+
+        RepoIndex(Optional<Model> model) {
+            if (!model.isPresent()) {
+                return;
+            }
+            model.get().getLabels().forEach(label -> labelsByName.putIfAbsent(label.getFullName(), label));
+            model.get().getMilestones().forEach(milestone -> milestonesById.putIfAbsent(milestone.getId(), milestone));
+            model.get().getUsers().forEach(user -> usersByLogin.putIfAbsent(user.getLoginName(), user));
+        }
+
+        List<TurboLabel> getLabelsOfIssue(TurboIssue issue) {
+            return issue.getLabels().stream()
+                    .map(labelsByName::get)
+                    .filter(label -> label != null)
+                    .collect(Collectors.toList());
+        }
+
+        Optional<TurboMilestone> getMilestone(int id) {
+            return Optional.ofNullable(milestonesById.get(id));
+        }
+
+        Optional<TurboUser> getUser(String login) {
+            return Optional.ofNullable(usersByLogin.get(login));
+        }
+    }
+}
@@ -3,8 +3,13 @@ package backend;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.eclipse.egit.github.core.Comment;
 
@@ -13,8 +18,17 @@ import util.Utility;
 
 public final class IssueMetadata {
 
+    // Events and comments are kept sorted by time, with their times in epoch milliseconds
+    // alongside, so that those within a time window can be found by binary search
+
     private final List<TurboIssueEvent> events;
     private final List<Comment> comments;
+    private final long[] eventTimes;
+    private final long[] commentTimes;
+
+    // Label update events grouped for display, memoised by the index of the earliest event grouped
+
+    private final Map<Integer, List<List<TurboIssueEvent>>> labelUpdateEventGroups = new ConcurrentHashMap<>();
 
     // This field expresses whether this metadata is known to be the latest
     // at the time of instantiation. It is like a dirty flag which is
@@ -88,8 +102,10 @@ public final class IssueMetadata {
      */
     private IssueMetadata(List<TurboIssueEvent> events, List<Comment> comments,
                           boolean isLatest, String eventsETag, String commentsETag) {
-        this.events = new ArrayList<>(events);
-        this.comments = new ArrayList<>(comments);
+        this.events = sortByTime(events, TurboIssueEvent::getDate);
+        this.comments = sortByTime(comments, Comment::getCreatedAt);
+        this.eventTimes = getTimes(this.events, TurboIssueEvent::getDate);
+        this.commentTimes = getTimes(this.comments, Comment::getCreatedAt);
         this.isLatest = isLatest;
         this.eventsETag = eventsETag;
         this.commentsETag = commentsETag;
@@ -115,8 +131,10 @@ public final class IssueMetadata {
     private IssueMetadata(List<TurboIssueEvent> events, List<Comment> comments,
                           boolean isLatest, String eventsETag, String commentsETag,
                           LocalDateTime nonSelfUpdatedAt, String user) {
-        this.events = new ArrayList<>(events);
-        this.comments = new ArrayList<>(comments);
+        this.events = sortByTime(events, TurboIssueEvent::getDate);
+        this.comments = sortByTime(comments, Comment::getCreatedAt);
+        this.eventTimes = getTimes(this.events, TurboIssueEvent::getDate);
+        this.commentTimes = getTimes(this.comments, Comment::getCreatedAt);
         this.isLatest = isLatest;
         this.eventsETag = eventsETag;
         this.commentsETag = commentsETag;
@@ -126,6 +144,42 @@ public final class IssueMetadata {
         this.nonSelfCommentCount = countCommentsByOthers(comments, user);
     }
 
+    /**
+     * Copies {@code items}, sorting them by time. The sort is stable, so items with the same time
+     * keep their order. Items without a time come first.
+     */
+    private static <T> List<T> sortByTime(List<T> items, Function<T, Date> getTime) {
+        List<T> result = new ArrayList<>(items);
+        result.sort(Comparator.comparing(getTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return result;
+    }
+
+    private static <T> long[] getTimes(List<T> items, Function<T, Date> getTime) {
+        return items.stream()
+                .map(getTime)
+                .mapToLong(date -> date == null ? Long.MIN_VALUE : date.getTime())
+                .toArray();
+    }
+
+    /**
+     * @param times sorted times
+     * @param after
+     * @return the index of the first time strictly after {@code after}, or the number of times if there is none
+     */
+    private static int indexOfFirstAfter(long[] times, long after) {
+        int low = 0;
+        int high = times.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     private static LocalDateTime computeNonSelfUpdatedAt(List<TurboIssueEvent> events, List<Comment> comments,
                                                          String user) {
         Date result = new Date(0);
@@ -180,6 +234,40 @@ public final class IssueMetadata {
         return new ArrayList<>(comments);
     }
 
+    /**
+     * @param time
+     * @return the events which happened strictly after {@code time}, sorted by time
+     */
+    public List<TurboIssueEvent> getEventsAfter(LocalDateTime time) {
+        int start = indexOfFirstAfter(eventTimes, Utility.localDateTimeToLong(time));
+        return new ArrayList<>(events.subList(start, events.size()));
+    }
+
+    /**
+     * @param time
+     * @return the comments which were created strictly after {@code time}, sorted by time
+     */
+    public List<Comment> getCommentsAfter(LocalDateTime time) {
+        int start = indexOfFirstAfter(commentTimes, Utility.localDateTimeToLong(time));
+        return new ArrayList<>(comments.subList(start, comments.size()));
+    }
+
+    /**
+     * Groups the label update events which happened strictly after {@code time} as
+     * {@link TurboIssueEvent#groupLabelUpdateEvents(List)} does. As metadata is immutable, the groups
+     * are only computed once for each distinct set of events, and the result is shared.
+     *
+     * @param time
+     * @return the groups of label update events, which must not be modified
+     */
+    public List<List<TurboIssueEvent>> getLabelUpdateEventGroupsAfter(LocalDateTime time) {
+        int start = indexOfFirstAfter(eventTimes, Utility.localDateTimeToLong(time));
+        return labelUpdateEventGroups.computeIfAbsent(start, i ->
+                TurboIssueEvent.groupLabelUpdateEvents(events.subList(i, events.size()).stream()
+                        .filter(TurboIssueEvent::isLabelUpdateEvent)
+                        .collect(Collectors.toList())));
+    }
+
     public boolean isLatest() {
         return isLatest;
     }
@@ -17,6 +17,9 @@ import ui.UI;
 import ui.issuepanel.FilterPanel;
 import util.Futures;
 import util.HTLog;
+import util.SyncTracer;
+import util.SyncTracer.Span;
+import util.SyncTracer.Trace;
 import util.Utility;
 import util.events.*;
 import util.events.testevents.ClearLogicModelEvent;
@@ -80,7 +83,7 @@ public class Logic {
         return repoIO.isRepositoryValid(repoId);
     }
 
-    public void refresh() {
+    public CompletableFuture<Void> refresh() {
         String message = "Refreshing " + models.toModels().stream()
                 .map(Model::getRepoId)
                 .collect(Collectors.joining(", "));
@@ -88,13 +91,16 @@ public class Logic {
         logger.info(message);
         UI.status.displayMessage(message);
 
-        Futures.sequence(models.toModels().stream()
-                                 .map((model) -> repoIO.updateModel(model, true))
-                                 .collect(Collectors.toList()))
-                .thenRun(this::refreshUI)
+        Trace trace = SyncTracer.getInstance().startTrace("refresh");
+        Span span = trace.startSpan("Logic.refresh");
+        return trace.within(() -> Futures.sequence(models.toModels().stream()
+                                                    .map((model) -> repoIO.updateModel(model, true))
+                                                    .collect(Collectors.toList())))
+                .thenRun(() -> trace.within(this::refreshUI))
                 .thenCompose(n -> getRateLimitResetTime())
                 .thenApply(this::updateRemainingRate)
-                .exceptionally(Futures::log);
+                .exceptionally(Futures::log)
+                .thenRun(span::end);
     }
 
     /**
@@ -108,6 +114,37 @@ public class Logic {
         return openRepository(repoId, Optional.empty());
     }
 
+    /**
+     * Opens repoId as it was stored, without checking that it is valid or downloading its updates, so that it
+     * can be shown at once; its updates are downloaded by the next refresh. If it is not stored, or is already
+     * open, this is the same as {@link #openPrimaryRepository(String)}.
+     * After opening the repo, it will trigger a PrimaryRepoOpenedEvent
+     *
+     * @param repoId
+     * @return
+     */
+    public CompletableFuture<Boolean> openStoredPrimaryRepository(String repoId) {
+        assert Utility.isWellFormedRepoId(repoId);
+
+        boolean isStored = getStoredRepos().stream().anyMatch(repoId::equalsIgnoreCase);
+        if (!isStored || isAlreadyOpen(repoId) || models.isRepositoryPending(repoId)) {
+            return openPrimaryRepository(repoId);
+        }
+        prefs.setLastViewedRepository(repoId);
+        models.queuePendingRepository(repoId);
+
+        logger.info("Opening " + repoId + " from the store");
+        UI.status.displayMessage("Opening " + repoId);
+        notifyRepoOpening(true);
+
+        return repoOpControl.openStoredRepository(repoId)
+                .thenApply(models::addPending)
+                .thenRun(this::refreshUI)
+                .thenRun(() -> notifyRepoOpened(Optional.empty()))
+                .thenApply(n -> true)
+                .exceptionally(withResult(false));
+    }
+
     /**
      * Opens repoId if it isn't already open, else simply refreshes the UI
      * <p>
@@ -611,7 +648,8 @@ public class Logic {
      */
     public CompletableFuture<Boolean> getIssueMetadata(String repoId, List<TurboIssue> issues) {
         String message = "Getting metadata for " + repoId + "...";
-        logger.info("Getting metadata for issues " + issues);
+        logger.info("Getting metadata for {} issue(s) in {}", issues.size(), repoId);
+        logger.debug("Getting metadata for issues {}", issues);
         UI.status.displayMessage(message);
 
         return repoIO.getIssueMetadata(repoId, issues).thenApply(this::processUpdates)
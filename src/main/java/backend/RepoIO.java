@@ -15,6 +15,9 @@ import org.apache.logging.log4j.Logger;
 import org.eclipse.egit.github.core.Issue;
 import ui.UI;
 import util.HTLog;
+import util.SyncTracer;
+import util.SyncTracer.Span;
+import util.SyncTracer.Trace;
 import util.events.ShowErrorDialogEvent;
 import util.events.UpdateProgressEvent;
 
@@ -84,6 +87,17 @@ public class RepoIO {
     }
 
     public CompletableFuture<Model> openRepository(String repoId) {
+        return openRepository(repoId, true);
+    }
+
+    /**
+     * Opens a repository, loading it from the store if it is stored, else downloading it.
+     *
+     * @param repoId
+     * @param isUpdated whether a stored repository is brought up to date before it is returned; if not,
+     *                  it is returned as it was stored, to be brought up to date by the next refresh
+     */
+    public CompletableFuture<Model> openRepository(String repoId, boolean isUpdated) {
         // The ignoreCase logic is necessary when we are opening a repo from the login dialog window
         // i.e. when the isAlreadyOpen check in Logic fails.
         Optional<String> matchingRepoName = storedRepos.stream().filter(repoName ->
@@ -99,7 +113,7 @@ public class RepoIO {
              One example of how this can happen is when storedRepos contains the repo name but the json was
              deleted while the program is still running. */
             String repoToLoad = matchingRepoName.get();
-            return loadRepoFromStoreAsync(repoToLoad)
+            return loadRepoFromStoreAsync(repoToLoad, isUpdated)
                     .exceptionally(e -> downloadRepoFromSourceBlocking(repoToLoad));
         } else {
             return downloadRepoFromSourceAsync(repoId);
@@ -111,9 +125,14 @@ public class RepoIO {
         return jsonStore.removeStoredRepo(repoId);
     }
 
-    private CompletableFuture<Model> loadRepoFromStoreAsync(String repoId) {
+    private CompletableFuture<Model> loadRepoFromStoreAsync(String repoId, boolean isUpdated) {
+        if (!isUpdated) {
+            return jsonStore.loadRepository(repoId);
+        }
+        // Not composed on jsonStore's thread: if the updates are downloaded before updateModel's
+        // continuation is attached, it runs there and deadlocks waiting for the model to be saved
         return jsonStore.loadRepository(repoId)
-                .thenCompose((model) -> this.updateModel(model, false));
+                .thenComposeAsync((model) -> this.updateModel(model, false));
     }
 
     private CompletableFuture<Model> downloadRepoFromSourceAsync(String repoID) {
@@ -167,17 +186,29 @@ public class RepoIO {
     }
 
     public CompletableFuture<Model> updateModel(Model model, boolean syncOperation, int remainingTries) {
+        // The stages run on different threads, so the current trace is carried through explicitly
+        Trace trace = SyncTracer.getInstance().current();
+        Span updateSpan = trace.startSpan("RepoIO.updateModel " + model.getRepoId());
+        Span downloadSpan = trace.startSpan("RepoIO.downloadModelUpdates");
         return downloadModelUpdates(model)
-                .thenCompose((updates) -> getRepoOpControl().updateLocalModel(updates, syncOperation))
+                .thenCompose((updates) -> {
+                    downloadSpan.end();
+                    Span updateLocalSpan = trace.startSpan("RepoOpControl.updateLocalModel");
+                    return trace.within(() -> getRepoOpControl().updateLocalModel(updates, syncOperation))
+                            .whenComplete((newModel, e) -> updateLocalSpan.end());
+                })
                 .thenApply(newModel -> {
                     boolean corruptedJson = false;
                     if (!model.equals(newModel)) {
+                        Span saveSpan = trace.startSpan("JSONStore.saveRepository");
                         try {
-                            corruptedJson =
-                                    jsonStore.saveRepository(newModel.getRepoId(), new SerializableModel(newModel))
-                                            .get();
+                            corruptedJson = trace.within(() ->
+                                    jsonStore.saveRepository(newModel.getRepoId(), new SerializableModel(newModel)))
+                                    .get();
                         } catch (InterruptedException | ExecutionException ex) {
                             corruptedJson = true;
+                        } finally {
+                            saveSpan.end();
                         }
                     } else {
                         logger.info(HTLog.format(model.getRepoId(),
@@ -199,7 +230,8 @@ public class RepoIO {
                         UI.events.triggerEvent(new UpdateProgressEvent(model.getRepoId()));
                         return newModel;
                     }
-                }).exceptionally(withResult(new Model(model.getRepoId())));
+                }).exceptionally(withResult(new Model(model.getRepoId())))
+                .whenComplete((newModel, e) -> updateSpan.end());
     }
 
     public CompletableFuture<Map<Integer, IssueMetadata>> getIssueMetadata(String repoId, List<TurboIssue> issues) {
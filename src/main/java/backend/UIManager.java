@@ -10,20 +10,67 @@ import ui.issuepanel.FilterPanel;
 import util.events.ModelUpdatedEvent;
 import util.events.UpdateRateLimitsEvent;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 public class UIManager {
 
     private final UI ui;
+    private final Executor fxThread;
+
+    // Results which have yet to be shown, keyed by the filter expression of the panels they are for.
+    // Only the latest result for each filter expression is kept, so results superseded before the
+    // JavaFX thread gets to them are never rendered.
+    private final Map<FilterExpression, List<GuiElement>> pendingElements = new HashMap<>();
+    private List<TurboUser> pendingUsers = new ArrayList<>();
+    private boolean isFlushScheduled = false;
 
     public UIManager(UI ui) {
+        this(ui, Platform::runLater);
+    }
+
+    /**
+     * @param ui
+     * @param fxThread runs pending updates on the JavaFX thread
+     */
+    public UIManager(UI ui, Executor fxThread) {
         this.ui = ui;
+        this.fxThread = fxThread;
     }
 
+    /**
+     * Shows the given results on the JavaFX thread. Results of several calls made before the JavaFX
+     * thread gets to them are combined and shown with a single ModelUpdatedEvent.
+     *
+     * @param elementsToShow
+     * @param users
+     */
     public void update(Map<FilterExpression, List<GuiElement>> elementsToShow,
                        List<TurboUser> users) {
-        Platform.runLater(() -> ui.triggerEvent(new ModelUpdatedEvent(elementsToShow, users)));
+        synchronized (pendingElements) {
+            pendingElements.putAll(elementsToShow);
+            pendingUsers = users;
+            if (isFlushScheduled) {
+                return;
+            }
+            isFlushScheduled = true;
+        }
+        fxThread.execute(this::flushPendingUpdates);
+    }
+
+    private void flushPendingUpdates() {
+        Map<FilterExpression, List<GuiElement>> elementsToShow;
+        List<TurboUser> users;
+        synchronized (pendingElements) {
+            elementsToShow = new HashMap<>(pendingElements);
+            users = pendingUsers;
+            pendingElements.clear();
+            isFlushScheduled = false;
+        }
+        ui.triggerEvent(new ModelUpdatedEvent(elementsToShow, users));
     }
 
     public void updateRateLimits(ImmutablePair<Integer, Long> rateLimits) {
@@ -1,9 +1,10 @@
 package backend;
 
-import backend.resource.Model;
 import backend.resource.MultiModel;
 import backend.resource.TurboIssue;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import filter.FilterException;
+import filter.SubexpressionCache;
 import filter.expression.FilterExpression;
 import filter.expression.Qualifier;
 import javafx.application.Platform;
@@ -12,14 +13,24 @@ import filter.expression.QualifierType;
 import ui.GuiElement;
 import ui.UI;
 import ui.issuepanel.FilterPanel;
+import ui.issuepanel.PanelInstrumentation;
 import util.Futures;
 import util.HTLog;
+import util.SyncTracer;
+import util.SyncTracer.Trace;
+import util.Utility;
 import util.events.FilterExceptionEvent;
 import util.events.FilterWarningEvent;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Manages the flow of logic during a data retrieval cycle from the repository source.
@@ -32,6 +43,25 @@ public class UpdateController {
 
     private final Logic logic;
 
+    /**
+     * Filtering and sorting are done on this executor, so that they never block the JavaFX thread
+     * when a filter is applied from a panel's filter text field.
+     */
+    private final ExecutorService filterExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("filter-worker-%d").setDaemon(true).build());
+
+    /**
+     * Distinct filter expressions, as well as the issue scans of large panels, are evaluated concurrently
+     * on this pool. Issue scans started from its workers are split across the same pool.
+     */
+    private final ForkJoinPool filterPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Each panel's generation is incremented whenever it is submitted for processing. A result is only
+     * posted to a panel if no newer processing request has been made for it in the meantime.
+     */
+    private final Map<FilterPanel, AtomicLong> panelGenerations = Collections.synchronizedMap(new WeakHashMap<>());
+
     public UpdateController(Logic logic) {
         this.logic = logic;
     }
@@ -47,10 +77,14 @@ public class UpdateController {
      */
     public void processAndRefresh(List<FilterPanel> filterPanels) {
         List<FilterExpression> filterExprs = getFilterExpressions(filterPanels);
+        Map<FilterPanel, FilterExpression> panelExprs = new IdentityHashMap<>();
+        filterPanels.forEach(panel -> panelExprs.put(panel, panel.getCurrentFilterExpression()));
+        Map<FilterPanel, Long> generations = nextGenerations(filterPanels);
+        Trace trace = SyncTracer.getInstance().current();
 
         // Filter and sort the issues first even if the metadata is not yet available so that criteria not
         // based on metadata can have immediate effect.
-        logic.updateUI(processFilters(filterExprs));
+        processFiltersAndUpdateUI(generations, panelExprs);
 
         // Open specified repos
         openRepositoriesInFilters(filterPanels)
@@ -60,7 +94,7 @@ public class UpdateController {
 
                     if (toUpdate.isEmpty()) {
                         // If no issues requiring metadata update, just run the filter and sort.
-                        logic.updateUI(processFilters(filterExprs));
+                        trace.within(() -> processFiltersAndUpdateUI(generations, panelExprs));
                         return;
                     }
 
@@ -75,10 +109,97 @@ public class UpdateController {
                                     + "/" + results.size() + " repos"))
                             .thenCompose(n -> logic.getRateLimitResetTime())
                             .thenApply(logic::updateRemainingRate)
-                            .thenRun(() -> logic.updateUI(processFilters(filterExprs))); // Then filter the second time.
+                            // Filter again.
+                            .thenRun(() -> trace.within(() -> processFiltersAndUpdateUI(generations, panelExprs)));
                 });
     }
 
+    /**
+     * Stops the filter worker and pool. The controller cannot process filters afterwards. Only needed where
+     * controllers are created repeatedly, such as in benchmarks, as the application's controller lives as
+     * long as the application.
+     */
+    void shutdown() {
+        filterExecutor.shutdownNow();
+        filterPool.shutdownNow();
+    }
+
+    /**
+     * Starts a new processing generation for each of the given panels.
+     *
+     * @param filterPanels
+     * @return the panels, each mapped to the generation it was assigned
+     */
+    private Map<FilterPanel, Long> nextGenerations(List<FilterPanel> filterPanels) {
+        Map<FilterPanel, Long> generations = new IdentityHashMap<>();
+        filterPanels.forEach(panel -> generations.put(panel, panelGenerations
+                .computeIfAbsent(panel, p -> new AtomicLong())
+                .incrementAndGet()));
+        return generations;
+    }
+
+    private boolean isCurrentGeneration(FilterPanel panel, long generation) {
+        AtomicLong currentGeneration = panelGenerations.get(panel);
+        return currentGeneration != null && currentGeneration.get() == generation;
+    }
+
+    /**
+     * @param generations panels and the generations they were assigned
+     * @return the panels in {@code generations} that have not been superseded by a newer generation
+     */
+    private List<FilterPanel> getCurrentPanels(Map<FilterPanel, Long> generations) {
+        return generations.entrySet().stream()
+                .filter(entry -> isCurrentGeneration(entry.getKey(), entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Asynchronously filters and sorts issues for the filter expressions of the given panels on the
+     * filter executor, then posts the results to the UI.
+     * <p>
+     * Panels which have been submitted again for processing since {@code generations} was taken are stale:
+     * they are skipped if they become stale before evaluation starts, and their results are discarded if
+     * they become stale during evaluation. Nothing is posted if all panels are stale.
+     *
+     * @param generations Panels to process, along with the generations they were assigned
+     * @param panelExprs  Panels to process, along with their filter expressions at the time they were submitted
+     */
+    private void processFiltersAndUpdateUI(Map<FilterPanel, Long> generations,
+                                           Map<FilterPanel, FilterExpression> panelExprs) {
+        filterExecutor.execute(SyncTracer.getInstance().wrap("UpdateController.processFilters", () -> {
+            try {
+                processCurrentFiltersAndUpdateUI(generations, panelExprs);
+            } catch (RuntimeException e) {
+                HTLog.error(logger, e);
+            }
+        }));
+    }
+
+    private void processCurrentFiltersAndUpdateUI(Map<FilterPanel, Long> generations,
+                                                  Map<FilterPanel, FilterExpression> panelExprs) {
+        List<FilterExpression> currentExprs = getCurrentPanels(generations).stream()
+                .map(panelExprs::get)
+                .collect(Collectors.toList());
+        if (currentExprs.isEmpty()) {
+            logger.info("Skipping filter evaluation: superseded by newer requests");
+            return;
+        }
+
+        Map<FilterExpression, List<GuiElement>> processed = processFilters(logic.getModels(), currentExprs);
+
+        Set<FilterExpression> stillCurrentExprs = getCurrentPanels(generations).stream()
+                .map(panelExprs::get)
+                .collect(Collectors.toSet());
+        processed.keySet().retainAll(stillCurrentExprs);
+        if (processed.isEmpty()) {
+            logger.info("Discarding filter results: superseded by newer requests");
+            return;
+        }
+
+        logic.updateUI(processed);
+    }
+
     private List<FilterExpression> getFilterExpressions(List<FilterPanel> panels) {
         return panels.stream()
                 .map(panel -> panel.getCurrentFilterExpression())
@@ -130,97 +251,134 @@ public class UpdateController {
     /**
      * Filters, sorts and counts issues within the model according to the given filter expressions
      * In here, "processed" is equivalent to "filtered, sorted and counted".
+     * <p>
+     * Distinct filter expressions are processed concurrently on the filter pool. They share a
+     * {@link SubexpressionCache}, so sub-expressions common to several panels are only evaluated once,
+     * and a {@link GuiElementFactory}, so issues shown in several panels share their GuiElements.
      *
+     * @param models      The models to process the filter expressions against
      * @param filterExprs Filter expressions
      * @return Filter expressions and their corresponding issues after filtering, sorting and counting.
      */
-    private Map<FilterExpression, List<GuiElement>> processFilters(List<FilterExpression> filterExprs) {
-        MultiModel models = logic.getModels();
+    Map<FilterExpression, List<GuiElement>> processFilters(MultiModel models, List<FilterExpression> filterExprs) {
         List<TurboIssue> allModelIssues = models.getIssues();
 
-        Map<FilterExpression, List<GuiElement>> processed = new HashMap<>();
+        SubexpressionCache cache = new SubexpressionCache(models, allModelIssues);
+        GuiElementFactory elementFactory = new GuiElementFactory(models);
+        Map<FilterExpression, List<GuiElement>> processed = new ConcurrentHashMap<>();
 
-        filterExprs.stream().distinct().forEach(filterExpr -> {
-            boolean hasUpdatedQualifier = Qualifier.hasUpdatedQualifier(filterExpr);
+        CompletableFuture.allOf(filterExprs.stream().distinct()
+                .map(filterExpr -> CompletableFuture.runAsync(() ->
+                        processFilter(models, cache, elementFactory, allModelIssues, filterExpr)
+                                .ifPresent(elements -> processed.put(filterExpr, elements)), filterPool))
+                .toArray(CompletableFuture[]::new))
+                .join();
 
-            try {
-                FilterExpression filterExprNoAlias = Qualifier.replaceMilestoneAliases(models, filterExpr);
-
-                List<TurboIssue> processedIssues = allModelIssues.stream()
-                        .filter(issue -> Qualifier.process(models,
-                                                           filterExprNoAlias, issue))
-                        .sorted(determineComparator(filterExprNoAlias,
-                                                    hasUpdatedQualifier))
-                        .limit(Qualifier.determineCount(allModelIssues,
-                                                        filterExprNoAlias))
-                        .collect(Collectors.toList());
-
-                List<GuiElement> processedElements = produceGuiElements(models, processedIssues);
-
-                List<String> warnings = allModelIssues.stream()
-                        .map(issue -> filterExprNoAlias.getWarnings(models, issue))
-                        .flatMap(List::stream)
-                        .distinct()
-                        .collect(Collectors.toList());
-
-                if (!warnings.isEmpty()) {
-                    Platform.runLater(() -> UI.events.triggerEvent(new FilterWarningEvent(filterExpr, warnings)));
-                }
-
-                processed.put(filterExpr, processedElements);
-            } catch (FilterException e) {
-                Platform.runLater(() -> UI.events.triggerEvent(new FilterExceptionEvent(filterExpr, e.getMessage())));
+        logger.info(String.format("Processed %d filter(s): %d sub-expression(s) evaluated, %d reused, "
+                                          + "%d element(s) shared between panels",
+                                  processed.size(), cache.getMissCount(), cache.getHitCount(),
+                                  elementFactory.getReusedCount()));
+        return new HashMap<>(processed);
+    }
+
+    /**
+     * Filters, sorts and counts issues within the model according to a single filter expression.
+     *
+     * @param models         The MultiModel the issues are from.
+     * @param cache          Cache of sub-expression results over {@code allModelIssues}
+     * @param elementFactory Produces the GuiElements of the processed issues
+     * @param allModelIssues All issues in {@code models}
+     * @param filterExpr     Filter expression
+     * @return the processed issues, or empty if the filter expression could not be processed
+     */
+    private Optional<List<GuiElement>> processFilter(MultiModel models, SubexpressionCache cache,
+                                                     GuiElementFactory elementFactory,
+                                                     List<TurboIssue> allModelIssues, FilterExpression filterExpr) {
+        boolean hasUpdatedQualifier = Qualifier.hasUpdatedQualifier(filterExpr);
+
+        try {
+            FilterExpression filterExprNoAlias = Qualifier.replaceMilestoneAliases(models, filterExpr);
+
+            long start = System.nanoTime();
+            List<TurboIssue> matchingIssues = cache.getMatchingIssues(filterExprNoAlias);
+            long filtered = System.nanoTime();
+            List<TurboIssue> processedIssues = sortAndCount(matchingIssues,
+                                                            determineComparator(models, filterExprNoAlias,
+                                                                                hasUpdatedQualifier,
+                                                                                matchingIssues),
+                                                            Qualifier.determineCount(matchingIssues,
+                                                                                     filterExprNoAlias));
+            PanelInstrumentation.getInstance().recordFilter(filterExpr, filtered - start,
+                                                            System.nanoTime() - filtered, processedIssues.size());
+
+            List<GuiElement> processedElements = elementFactory.getElements(processedIssues);
+
+            List<String> warnings = scan(allModelIssues)
+                    .map(issue -> filterExprNoAlias.getWarnings(models, issue))
+                    .flatMap(List::stream)
+                    .distinct()
+                    .collect(Collectors.toList());
+
+            if (!warnings.isEmpty()) {
+                Platform.runLater(() -> UI.events.triggerEvent(new FilterWarningEvent(filterExpr, warnings)));
             }
-        });
 
-        return processed;
+            return Optional.of(processedElements);
+        } catch (FilterException e) {
+            Platform.runLater(() -> UI.events.triggerEvent(new FilterExceptionEvent(filterExpr, e.getMessage())));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Sorts issues and takes the first {@code count} of them. When {@code count} is smaller than the
+     * number of issues, i.e. there is a count qualifier, only the first {@code count} issues are
+     * selected and sorted instead of sorting all issues.
+     */
+    private static List<TurboIssue> sortAndCount(List<TurboIssue> issues, Comparator<TurboIssue> comparator,
+                                                 int count) {
+        if (count < issues.size()) {
+            return Utility.getTopK(issues, comparator, count);
+        }
+        return scan(issues)
+                .sorted(comparator)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Streams issues for processing. Large issue lists are split across the workers of the
+     * filter pool; the stream keeps the encounter order of {@code issues} regardless.
+     */
+    private static Stream<TurboIssue> scan(List<TurboIssue> issues) {
+        return issues.size() >= SubexpressionCache.PARALLEL_SCAN_THRESHOLD
+                ? issues.parallelStream()
+                : issues.stream();
     }
 
     /**
      * Produces a suitable comparator based on the given filter expression.
      *
+     * @param models              The models the issues to sort are from.
      * @param filterExpr          The given filter expression.
      * @param hasUpdatedQualifier Determines the behaviour of the sort key "nonSelfUpdate".
+     * @param issues              The issues to sort, whose sort keys are computed before sorting.
      * @return The comparator to use.
      */
-    private Comparator<TurboIssue> determineComparator(FilterExpression filterExpr,
-                                                       boolean hasUpdatedQualifier) {
-        MultiModel models = logic.getModels();
+    private Comparator<TurboIssue> determineComparator(MultiModel models, FilterExpression filterExpr,
+                                                       boolean hasUpdatedQualifier, List<TurboIssue> issues) {
         for (Qualifier metaQualifier : filterExpr.find(Qualifier::isMetaQualifier)) {
             // Only take into account the first sort qualifier found
             if (metaQualifier.getType() == QualifierType.SORT) {
-                return metaQualifier.getCompoundSortComparator(models, hasUpdatedQualifier);
+                return metaQualifier.getCompoundSortComparator(models, hasUpdatedQualifier, issues);
             }
         }
 
         // No sort qualifier, look for updated qualifier
         if (hasUpdatedQualifier) {
-            return Qualifier.getSortComparator(models, "nonSelfUpdate", true, true);
+            return Qualifier.getSortComparator(models, "nonSelfUpdate", true, true, issues);
         }
 
         // No sort or updated, return sort by descending ID, which is the default.
         return Qualifier.getSortComparator(models, "id", true, false);
     }
-
-    /**
-     * Constructs GuiElements (including all necessary references to labels/milestones/users to properly display
-     * the issue) corresponding to a list of issues without changing the order.
-     *
-     * @param models          The MultiModel from which necessary references are extracted.
-     * @param processedIssues The list of issues to construct GUIElements for.
-     * @return A list of GUIElements corresponding to the given list of issues.
-     */
-    private List<GuiElement> produceGuiElements(MultiModel models, List<TurboIssue> processedIssues) {
-        return processedIssues.stream().map(issue -> {
-            Optional<Model> modelOfIssue = models.getModelById(issue.getRepoId());
-            assert modelOfIssue.isPresent();
-
-            return new GuiElement(issue,
-                                  models.getLabelsOfIssue(issue),
-                                  models.getMilestoneOfIssue(issue),
-                                  models.getAssigneeOfIssue(issue),
-                                  models.getAuthorOfIssue(issue)
-            );
-        }).collect(Collectors.toList());
-    }
 }
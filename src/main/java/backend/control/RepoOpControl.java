@@ -8,6 +8,9 @@ import backend.resource.MultiModel;
 import backend.resource.TurboIssue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import util.SyncTracer;
+import util.SyncTracer.Span;
+import util.SyncTracer.Trace;
 
 import java.util.HashMap;
 import java.util.List;
@@ -28,7 +31,7 @@ public final class RepoOpControl {
     private final MultiModel models;
 
     private final ExecutorService pool = Executors.newCachedThreadPool();
-    private final Map<String, BlockingQueue<RepoOp>> queues = new HashMap<>();
+    private final Map<String, BlockingQueue<RepoOp<?>>> queues = new HashMap<>();
 
     public RepoOpControl(RepoIO repoIO, MultiModel models) {
         this.repoIO = repoIO;
@@ -42,6 +45,19 @@ public final class RepoOpControl {
         return result;
     }
 
+    /**
+     * Opens a repository as it was stored, if it is stored, without bringing it up to date.
+     *
+     * @param repoId
+     * @return
+     */
+    public CompletableFuture<Model> openStoredRepository(String repoId) {
+        init(repoId);
+        CompletableFuture<Model> result = new CompletableFuture<>();
+        enqueue(new OpenRepoOp(repoId, repoIO, false, result));
+        return result;
+    }
+
     /**
      * Updates repository stored locally with data from a GitHubModelUpdatesData object.
      * Set syncOperation to queue this operation in the blocking queue for the updating repository
@@ -146,14 +162,16 @@ public final class RepoOpControl {
     /**
      * Enqueues an operation to be handled later. Operations on the same repo
      * (and in the same queue) are guaranteed to be handled by the same thread.
+     * Operations enqueued in a sync trace are traced, including the time they wait in the queue.
      */
-    private void enqueue(RepoOp op) {
-        BlockingQueue<RepoOp> q = queues.get(op.repoId());
+    private void enqueue(RepoOp<?> op) {
+        BlockingQueue<RepoOp<?>> q = queues.get(op.repoId());
 
         // TODO scan queue for patterns
 
+        Trace trace = SyncTracer.getInstance().current();
         try {
-            q.put(op);
+            q.put(trace == Trace.NONE ? op : TracedRepoOp.of(op, trace));
         } catch (InterruptedException e) {
             logger.error(e.getLocalizedMessage(), e);
         }
@@ -165,7 +183,7 @@ public final class RepoOpControl {
      * (in which case get blocks).
      */
     private void dequeue(String repoId) {
-        BlockingQueue<RepoOp> q = queues.get(repoId);
+        BlockingQueue<RepoOp<?>> q = queues.get(repoId);
 
         while (true) {
             try {
@@ -175,4 +193,39 @@ public final class RepoOpControl {
             }
         }
     }
+
+    /**
+     * An operation enqueued in a sync trace, which records the time it waited in the queue
+     * and the time it took to perform.
+     */
+    private static class TracedRepoOp<T> implements RepoOp<T> {
+
+        private final RepoOp<T> op;
+        private final Trace trace;
+        private final long queuedNanos = System.nanoTime();
+
+        TracedRepoOp(RepoOp<T> op, Trace trace) {
+            this.op = op;
+            this.trace = trace;
+        }
+
+        static <T> TracedRepoOp<T> of(RepoOp<T> op, Trace trace) {
+            return new TracedRepoOp<>(op, trace);
+        }
+
+        @Override
+        public String repoId() {
+            return op.repoId();
+        }
+
+        @Override
+        public CompletableFuture<T> perform() {
+            String name = op.getClass().getSimpleName();
+            trace.recordWait(name, queuedNanos);
+            Span span = trace.startSpan(name);
+            CompletableFuture<T> result = trace.within(op::perform);
+            result.whenComplete((value, e) -> span.end());
+            return result;
+        }
+    }
 }
@@ -11,11 +11,21 @@ public class OpenRepoOp implements RepoOp<Model> {
 
     private final String repoId;
     private final RepoIO repoIO;
+    private final boolean isUpdated;
     private final CompletableFuture<Model> result;
 
     public OpenRepoOp(String repoId, RepoIO repoIO, CompletableFuture<Model> result) {
+        this(repoId, repoIO, true, result);
+    }
+
+    /**
+     * @param isUpdated whether a stored repository is brought up to date as it is opened,
+     *                  see {@link RepoIO#openRepository(String, boolean)}
+     */
+    public OpenRepoOp(String repoId, RepoIO repoIO, boolean isUpdated, CompletableFuture<Model> result) {
         this.repoId = repoId;
         this.repoIO = repoIO;
+        this.isUpdated = isUpdated;
         this.result = result;
     }
 
@@ -26,7 +36,9 @@ public class OpenRepoOp implements RepoOp<Model> {
 
     @Override
     public CompletableFuture<Model> perform() {
-        return repoIO.openRepository(repoId)
-                .thenApply(chain(result));
+        if (isUpdated) {
+            return repoIO.openRepository(repoId).thenApply(chain(result));
+        }
+        return repoIO.openRepository(repoId, false).thenApply(chain(result));
     }
 }
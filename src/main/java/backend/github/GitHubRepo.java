@@ -34,12 +34,28 @@ public class GitHubRepo implements Repo {
 
     private static final Logger logger = HTLog.get(GitHubRepo.class);
 
-    private final GitHubClientEx client = new GitHubClientEx();
-    private final IssueServiceEx issueService = new IssueServiceEx(client);
-    private final PullRequestServiceEx pullRequestService = new PullRequestServiceEx(client);
-    private final CollaboratorServiceEx collaboratorService = new CollaboratorServiceEx(client);
-    private final LabelServiceEx labelService = new LabelServiceEx(client);
-    private final MilestoneService milestoneService = new MilestoneService(client);
+    private final GitHubClientEx client;
+    private final IssueServiceEx issueService;
+    private final PullRequestServiceEx pullRequestService;
+    private final CollaboratorServiceEx collaboratorService;
+    private final LabelServiceEx labelService;
+    private final MilestoneService milestoneService;
+
+    public GitHubRepo() {
+        this(new GitHubClientEx());
+    }
+
+    /**
+     * @param client a client for the GitHub API, or for a server emulating it
+     */
+    public GitHubRepo(GitHubClientEx client) {
+        this.client = client;
+        issueService = new IssueServiceEx(client);
+        pullRequestService = new PullRequestServiceEx(client);
+        collaboratorService = new CollaboratorServiceEx(client);
+        labelService = new LabelServiceEx(client);
+        milestoneService = new MilestoneService(client);
+    }
 
     @Override
     public boolean login(UserCredentials credentials) {
@@ -182,8 +198,7 @@ public class GitHubRepo implements Repo {
 
                 float progress = (float) elements.size() / (float) totalIssueCount;
                 UI.events.triggerEvent(new UpdateProgressEvent(repoId, progress));
-                logger.info(HTLog.format(repoId, "Loaded %d issues (%.0f%% done)",
-                                         elements.size(), progress * 100));
+                logger.debug("{} | Loaded {} issues ({}% done)", repoId, elements.size(), Math.round(progress * 100));
             }
             UI.events.triggerEvent(new UpdateProgressEvent(repoId));
         } catch (NoSuchPageException pageException) {
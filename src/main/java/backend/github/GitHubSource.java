@@ -21,7 +21,15 @@ public class GitHubSource extends RepoSource {
 
     private static final Logger logger = HTLog.get(GitHubSource.class);
 
-    private final Repo gitHub = new GitHubRepo();
+    private final Repo gitHub;
+
+    public GitHubSource() {
+        this(new GitHubRepo());
+    }
+
+    public GitHubSource(GitHubRepo gitHub) {
+        this.gitHub = gitHub;
+    }
 
     @Override
     public String getName() {
@@ -8,6 +8,7 @@ import backend.resource.TurboIssue;
 import backend.resource.TurboMilestone;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.eclipse.egit.github.core.Issue;
+import util.SyncTracer;
 
 import java.util.List;
 import java.util.Map;
@@ -28,7 +29,7 @@ public abstract class RepoSource implements TaskRunner {
 
     @Override
     public void execute(Runnable r) {
-        pool.execute(r);
+        pool.execute(SyncTracer.getInstance().wrap(r.getClass().getSimpleName(), r));
     }
 
     public abstract String getName();
@@ -2,6 +2,7 @@ package backend.interfaces;
 
 import backend.resource.Model;
 import backend.resource.serialization.SerializableModel;
+import util.SyncTracer;
 import util.Utility;
 
 import java.io.File;
@@ -20,7 +21,7 @@ public abstract class RepoStore {
     }
 
     protected void addTask(StoreTask task) {
-        pool.execute(task);
+        pool.execute(SyncTracer.getInstance().wrap(task.getClass().getSimpleName(), task));
     }
 
     public abstract CompletableFuture<Model> loadRepository(String repoId);
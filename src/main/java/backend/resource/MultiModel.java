@@ -303,10 +303,13 @@ public class MultiModel implements IModel {
      */
     private void preprocessNewIssues(Model model) {
         // All new issues which come in are not read, unless they already were according to prefs.
+        Map<Integer, LocalDateTime> markedReadTimes = prefs.getMarkedReadTimes(model.getRepoId());
         for (TurboIssue issue : model.getIssues()) {
-            Optional<LocalDateTime> time = prefs.getMarkedReadAt(model.getRepoId(), issue.getId());
-            issue.setMarkedReadAt(time);
+            issue.setMarkedReadAt(Optional.ofNullable(markedReadTimes.get(issue.getId())));
         }
+        prefs.retainMarkedReadAt(model.getRepoId(), model.getIssues().stream()
+                .map(TurboIssue::getId)
+                .collect(Collectors.toList()));
     }
 
     @SuppressWarnings("unused")
@@ -4,8 +4,9 @@ import static util.Utility.replaceNull;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -18,6 +19,7 @@ import backend.IssueMetadata;
 import backend.resource.serialization.SerializableIssue;
 import prefs.Preferences;
 import util.HTLog;
+import util.SearchIndex;
 import util.Utility;
 
 /**
@@ -223,7 +225,7 @@ public class TurboIssue {
      * @param otherIssue
      */
     private void reconcile(TurboIssue otherIssue) {
-        logger.info(String.format("Reconciling issue %s in %s", this, this.getRepoId()));
+        logger.debug("Reconciling issue {} in {}", this, this.getRepoId());
         this.reconcileLabels(otherIssue);
         this.reconcileAssignee(otherIssue);
     }
@@ -237,8 +239,8 @@ public class TurboIssue {
         LocalDateTime thisIssueLabelsModifiedAt = this.getLabelsLastModifiedAt();
         LocalDateTime otherIssueLabelsModifiedAt = otherIssue.getLabelsLastModifiedAt();
         if (thisIssueLabelsModifiedAt.isBefore(otherIssueLabelsModifiedAt)) {
-            logger.info(String.format("Issue %s's labels %s are stale, replacing with %s",
-                                      this, this.getLabels(), otherIssue.getLabels()));
+            logger.debug("Issue {}'s labels {} are stale, replacing with {}",
+                         this, this.getLabels(), otherIssue.getLabels());
             this.labels = otherIssue.getLabels();
             this.labelsLastModifiedAt = Optional.of(otherIssue.getLabelsLastModifiedAt());
         }
@@ -252,8 +254,8 @@ public class TurboIssue {
         LocalDateTime thisIssueAssigneeModifiedAt = this.getAssigneeLastModifiedAt();
         LocalDateTime otherIssueAssigneeModifiedAt = otherIssue.getAssigneeLastModifiedAt();
         if (thisIssueAssigneeModifiedAt.isBefore(otherIssueAssigneeModifiedAt)) {
-            logger.info(String.format("Issue %s's assignee %s is stale, replacing with %s",
-                        this, this.getAssignee(), otherIssue.getAssignee()));
+            logger.debug("Issue {}'s assignee {} is stale, replacing with {}",
+                         this, this.getAssignee(), otherIssue.getAssignee());
             this.assignee = otherIssue.getAssignee();
             this.assigneeLastModifiedAt = Optional.of(otherIssueAssigneeModifiedAt);
         }
@@ -274,20 +276,26 @@ public class TurboIssue {
     /**
      * Takes lists of TurboIssues and reconciles the changes between them,
      * returning a list of TurboIssues with updates from the second.
+     * Corresponding issues are looked up through an id-keyed index, so reconciliation is linear
+     * in the sizes of both lists. Issues in {@code existing} that have no changes are carried
+     * over as-is without being copied.
      *
      * @param existing
      * @param changed
      */
     public static List<TurboIssue> reconcile(List<TurboIssue> existing, List<TurboIssue> changed) {
         List<TurboIssue> existingCopy = new ArrayList<>(existing);
+        Map<Integer, Integer> indexById = getIndexById(existingCopy);
+
         for (TurboIssue issue : changed) {
             int id = issue.getId();
 
-            Optional<Integer> correspondingIssueIndex = findIssueWithId(existingCopy, id);
-            if (!correspondingIssueIndex.isPresent()) {
+            Integer correspondingIssueIndex = indexById.get(id);
+            if (correspondingIssueIndex == null) {
+                indexById.put(id, existingCopy.size());
                 existingCopy.add(new TurboIssue(issue));
             } else {
-                TurboIssue existingIssue = existingCopy.get(correspondingIssueIndex.get());
+                TurboIssue existingIssue = existingCopy.get(correspondingIssueIndex);
                 TurboIssue newIssue = new TurboIssue(issue);
 
                 // newIssue is constructed from an external Issue object.
@@ -296,7 +304,7 @@ public class TurboIssue {
                 newIssue.transferTransientState(existingIssue);
                 newIssue.reconcile(existingIssue);
 
-                existingCopy.set(correspondingIssueIndex.get(), newIssue);
+                existingCopy.set(correspondingIssueIndex, newIssue);
             }
         }
         return existingCopy;
@@ -304,7 +312,8 @@ public class TurboIssue {
 
     /**
      * Updates data for issues with corresponding pull requests. Original list of
-     * issues and original issue instances are not mutated
+     * issues and original issue instances are not mutated. Issues whose pull requests
+     * carry no newer data are kept as the same instances instead of being copied.
      *
      * @param issues
      * @param pullRequests
@@ -313,14 +322,17 @@ public class TurboIssue {
     public static List<TurboIssue> combineWithPullRequests(List<TurboIssue> issues,
                                                            List<PullRequest> pullRequests) {
         List<TurboIssue> issuesCopy = new ArrayList<>(issues);
+        Map<Integer, Integer> indexById = getIndexById(issuesCopy);
 
         for (PullRequest pullRequest : pullRequests) {
             int id = pullRequest.getNumber();
 
-            Optional<Integer> corresponding = findIssueWithId(issuesCopy, id);
-            if (corresponding.isPresent()) {
-                TurboIssue issue = issuesCopy.get(corresponding.get());
-                issuesCopy.set(corresponding.get(), issue.combineWithPullRequest(pullRequest));
+            Integer corresponding = indexById.get(id);
+            if (corresponding != null) {
+                TurboIssue issue = issuesCopy.get(corresponding);
+                if (issue.isUpdatedBy(pullRequest)) {
+                    issuesCopy.set(corresponding, issue.combineWithPullRequest(pullRequest));
+                }
             } else {
                 String errorMsg = "No corresponding issue for pull request " + pullRequest;
                 logger.error(errorMsg);
@@ -330,6 +342,27 @@ public class TurboIssue {
         return issuesCopy;
     }
 
+    /**
+     * @param issues
+     * @return a map from issue id to the index of that issue in {@code issues}
+     */
+    private static Map<Integer, Integer> getIndexById(List<TurboIssue> issues) {
+        Map<Integer, Integer> indexById = new HashMap<>(issues.size() * 2);
+        for (int i = 0; i < issues.size(); i++) {
+            indexById.putIfAbsent(issues.get(i).getId(), i);
+        }
+        return indexById;
+    }
+
+    /**
+     * @param pullRequest
+     * @return true if {@code pullRequest} has more recent data than this issue
+     */
+    private boolean isUpdatedBy(PullRequest pullRequest) {
+        return pullRequest.getUpdatedAt() != null
+                && !Utility.dateToLocalDateTime(pullRequest.getUpdatedAt()).isBefore(getUpdatedAt());
+    }
+
     /**
      * Combines data from a corresponding pull request with data in this issue
      * This method returns a new combined issue and does not mutate this issue
@@ -340,16 +373,11 @@ public class TurboIssue {
     public TurboIssue combineWithPullRequest(PullRequest pullRequest) {
         TurboIssue newIssue = new TurboIssue(this);
 
-        if (pullRequest.getUpdatedAt() == null) {
+        if (!isUpdatedBy(pullRequest)) {
             return newIssue;
         }
 
-        LocalDateTime pullRequestUpdatedAt = Utility.dateToLocalDateTime(pullRequest.getUpdatedAt());
-        if (pullRequestUpdatedAt.isBefore(newIssue.getUpdatedAt())) {
-            return newIssue;
-        }
-
-        newIssue.setUpdatedAt(pullRequestUpdatedAt);
+        newIssue.setUpdatedAt(Utility.dateToLocalDateTime(pullRequest.getUpdatedAt()));
         return newIssue;
     }
 
@@ -377,29 +405,27 @@ public class TurboIssue {
      * @return list of issues that contains the query
      */
     public static List<TurboIssue> getMatchedIssues(List<TurboIssue> issues, String query) {
-        List<String> queries = Arrays.asList(query.split("\\s"));
-        return issues.stream()
-                .filter(i -> Utility.containsIgnoreCase(i.getMatchableText(), queries))
-                .sorted((i1, i2) -> i2.getMatchingQueryCount(queries) - i1.getMatchingQueryCount(queries))
-                .collect(Collectors.toList());
+        return createSearchIndex(issues).search(query);
     }
 
     /**
+     * Creates an index to match issues against many queries, such as those typed into a picker, in the
+     * same way as {@link #getMatchedIssues}
+     *
      * @param issues
-     * @param query
-     * @return first issue that matches the given query
+     * @return the index
      */
-    public static Optional<TurboIssue> getFirstMatchingIssue(List<TurboIssue> issues, String query) {
-        return getMatchedIssues(issues, query).stream().findFirst();
+    public static SearchIndex<TurboIssue> createSearchIndex(List<TurboIssue> issues) {
+        return new SearchIndex<>(issues, TurboIssue::getMatchableText);
     }
 
     /**
-     * @param queries
-     * @return number of queries that match this issue
+     * @param issues
+     * @param query
+     * @return first issue that matches the given query
      */
-    private int getMatchingQueryCount(List<String> queries) {
-        return Math.toIntExact(
-            queries.stream().filter(query -> Utility.containsIgnoreCase(getMatchableText(), query)).count());
+    public static Optional<TurboIssue> getFirstMatchingIssue(List<TurboIssue> issues, String query) {
+        return getMatchedIssues(issues, query).stream().findFirst();
     }
 
     /**
@@ -580,6 +606,29 @@ public class TurboIssue {
         prefs.clearMarkedReadAt(getRepoId(), getId());
     }
 
+    /**
+     * Marks a number of issues as read, saving them to prefs together rather than one by one.
+     */
+    public static void markAllAsRead(Preferences prefs, List<TurboIssue> issues) {
+        LocalDateTime now = LocalDateTime.now();
+        issues.forEach(issue -> issue.setMarkedReadAt(Optional.of(now)));
+        groupIdsByRepo(issues).forEach((repoId, ids) -> prefs.setMarkedReadAt(repoId, ids, now));
+    }
+
+    /**
+     * Marks a number of issues as unread, saving them to prefs together rather than one by one.
+     */
+    public static void markAllAsUnread(Preferences prefs, List<TurboIssue> issues) {
+        issues.forEach(issue -> issue.setMarkedReadAt(Optional.empty()));
+        groupIdsByRepo(issues).forEach(prefs::clearMarkedReadAt);
+    }
+
+    private static Map<String, List<Integer>> groupIdsByRepo(List<TurboIssue> issues) {
+        return issues.stream().collect(Collectors.groupingBy(TurboIssue::getRepoId,
+                                                             Collectors.mapping(TurboIssue::getId,
+                                                                                Collectors.toList())));
+    }
+
     /**
      * Metadata is not considered for equality.
      * In general only serialised fields are.
@@ -11,7 +11,9 @@ import util.Utility;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -34,6 +36,9 @@ public class TurboLabel implements Comparable<TurboLabel> {
     private final String colour;
     private final String repoId;
 
+    // Renderings of labels, keyed by colour and name
+    private static final Map<String, Rendering> renderings = new ConcurrentHashMap<>();
+
 
     public TurboLabel(String repoId, String colour, String name) {
         this.fullName = name;
@@ -193,26 +198,56 @@ public class TurboLabel implements Comparable<TurboLabel> {
     }
 
     public String getStyle() {
-        String colour = getColour();
-        int r = Integer.parseInt(colour.substring(0, 2), 16);
-        int g = Integer.parseInt(colour.substring(2, 4), 16);
-        int b = Integer.parseInt(colour.substring(4, 6), 16);
-        double luminance = 0.2126 * r + 0.7152 * g + 0.0722 * b;
-        boolean bright = luminance > 128;
-        return "-fx-background-color: #" + getColour() + "; -fx-text-fill: " + (bright ? "black;" : "white;");
+        return getRendering().style;
     }
 
+    /**
+     * Creates a node displaying this label. Must be called on the JavaFX application thread.
+     */
     public Node getNode() {
+        Rendering rendering = getRendering();
         javafx.scene.control.Label node = new javafx.scene.control.Label(shortName);
         node.getStyleClass().add("labels");
-        node.setStyle(getStyle());
+        node.setStyle(rendering.style);
         if (isInGroup()) {
-            Tooltip groupTooltip = new Tooltip(groupName);
-            node.setTooltip(groupTooltip);
+            node.setTooltip(rendering.getTooltip(groupName));
         }
         return node;
     }
 
+    private Rendering getRendering() {
+        return renderings.computeIfAbsent(colour + ":" + fullName, key -> new Rendering(colour));
+    }
+
+    /**
+     * What is needed to display labels of a given name and colour, computed once and shared
+     * between all nodes displaying such labels.
+     */
+    private static final class Rendering {
+        private final String style;
+        private Tooltip tooltip;
+
+        Rendering(String colour) {
+            int r = Integer.parseInt(colour.substring(0, 2), 16);
+            int g = Integer.parseInt(colour.substring(2, 4), 16);
+            int b = Integer.parseInt(colour.substring(4, 6), 16);
+            double luminance = 0.2126 * r + 0.7152 * g + 0.0722 * b;
+            boolean bright = luminance > 128;
+            style = "-fx-background-color: #" + colour + "; -fx-text-fill: " + (bright ? "black;" : "white;");
+        }
+
+        /**
+         * A tooltip may be installed on multiple nodes, so one is created lazily and shared.
+         * Only accessed from the JavaFX application thread.
+         */
+        Tooltip getTooltip(String groupName) {
+            if (tooltip == null) {
+                tooltip = new Tooltip(groupName);
+            }
+            return tooltip;
+        }
+    }
+
     @Override
     public String toString() {
         return fullName;
@@ -0,0 +1,229 @@
+package backend.stub;
+
+import backend.UserCredentials;
+import backend.interfaces.Repo;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import github.ReviewComment;
+import github.TurboIssueEvent;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.eclipse.egit.github.core.Comment;
+import org.eclipse.egit.github.core.Label;
+import org.eclipse.egit.github.core.PullRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A Repo serving generated repositories of any size, for load testing and benchmarks without a network
+ * connection. Repositories are generated when first requested, as configured by a {@link SyntheticRepoConfig},
+ * and change by the configured churn rate every time their issues are checked for updates.
+ * <p>
+ * Each request takes the configured latency for every page of results, as GitHub returns at most
+ * {@link #PAGE_SIZE} items per page. Requests which get nothing back because of an ETag are not paginated
+ * and do not count against the API quota, like 304 responses.
+ */
+public class SyntheticRepo implements Repo {
+
+    public static final int PAGE_SIZE = 100;
+
+    private final SyntheticRepoConfig config;
+    private final Map<String, SyntheticRepoState> repoStates = new ConcurrentHashMap<>();
+
+    private final AtomicInteger apiQuota = new AtomicInteger(5000);
+    private final AtomicInteger requestCount = new AtomicInteger(0);
+
+    public SyntheticRepo(SyntheticRepoConfig config) {
+        this.config = config;
+    }
+
+    public SyntheticRepoState getRepoState(String repoId) {
+        return repoStates.computeIfAbsent(repoId, id -> new SyntheticRepoState(id, config));
+    }
+
+    /**
+     * @return the number of simulated requests made so far, including those which got nothing back
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Simulates the requests needed to get the given number of items.
+     *
+     * @param itemCount
+     * @param isNotModified true if the request got nothing back because of its ETag
+     */
+    private void request(int itemCount, boolean isNotModified) {
+        int pages = isNotModified ? 1 : Math.max(1, (itemCount + PAGE_SIZE - 1) / PAGE_SIZE);
+        requestCount.addAndGet(pages);
+        if (!isNotModified) {
+            apiQuota.addAndGet(-pages);
+        }
+        if (config.getLatencyMillis() > 0) {
+            try {
+                Thread.sleep(pages * config.getLatencyMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private <T> List<T> request(List<T> items) {
+        request(items.size(), false);
+        return items;
+    }
+
+    @Override
+    public boolean login(UserCredentials credentials) {
+        request(1, false);
+        return true;
+    }
+
+    @Override
+    public List<TurboIssue> getIssues(String repoId) {
+        return request(getRepoState(repoId).getIssues());
+    }
+
+    @Override
+    public List<TurboLabel> getLabels(String repoId) {
+        return request(getRepoState(repoId).getLabels());
+    }
+
+    @Override
+    public List<TurboMilestone> getMilestones(String repoId) {
+        return request(getRepoState(repoId).getMilestones());
+    }
+
+    @Override
+    public List<TurboUser> getCollaborators(String repoId) {
+        return request(getRepoState(repoId).getCollaborators());
+    }
+
+    /**
+     * Changes the repository by the configured churn rate, then returns the issues changed since the
+     * given ETag was returned.
+     */
+    @Override
+    public ImmutableTriple<List<TurboIssue>, String, Date> getUpdatedIssues(String repoId, String eTag,
+                                                                            Date lastCheckTime) {
+        SyntheticRepoState state = getRepoState(repoId);
+        state.refresh();
+        ImmutableTriple<List<TurboIssue>, String, Date> result = state.getUpdatedIssues(eTag, lastCheckTime);
+        request(result.left.size(), Objects.equals(result.middle, eTag));
+        return result;
+    }
+
+    /**
+     * Pull requests are only served as issues; their reviews and merge states are not generated.
+     */
+    @Override
+    public List<PullRequest> getUpdatedPullRequests(String repoId, Date lastCheckTime) {
+        request(0, false);
+        return new ArrayList<>();
+    }
+
+    @Override
+    public ImmutablePair<List<TurboLabel>, String> getUpdatedLabels(String repoId, String eTag) {
+        return requestUpdates(getRepoState(repoId).getUpdatedLabels(eTag), eTag);
+    }
+
+    @Override
+    public ImmutablePair<List<TurboMilestone>, String> getUpdatedMilestones(String repoId, String eTag) {
+        return requestUpdates(getRepoState(repoId).getUpdatedMilestones(eTag), eTag);
+    }
+
+    @Override
+    public ImmutablePair<List<TurboUser>, String> getUpdatedCollaborators(String repoId, String eTag) {
+        return requestUpdates(getRepoState(repoId).getUpdatedCollaborators(eTag), eTag);
+    }
+
+    @Override
+    public ImmutablePair<List<TurboIssueEvent>, String> getUpdatedEvents(String repoId, int issueId, String eTag) {
+        return requestUpdates(getRepoState(repoId).getEvents(issueId, eTag), eTag);
+    }
+
+    private <T> ImmutablePair<List<T>, String> requestUpdates(ImmutablePair<List<T>, String> result, String eTag) {
+        request(result.left.size(), Objects.equals(result.right, eTag));
+        return result;
+    }
+
+    @Override
+    public List<Comment> getComments(String repoId, int issueId) {
+        return request(getRepoState(repoId).getComments(issueId));
+    }
+
+    @Override
+    public List<ReviewComment> getReviewComments(String repoId, int pullRequestId) {
+        return request(new ArrayList<>());
+    }
+
+    @Override
+    public List<Comment> getAllComments(String repoId, TurboIssue issue) {
+        List<Comment> result = getComments(repoId, issue.getId());
+        if (issue.isPullRequest()) {
+            result.addAll(getReviewComments(repoId, issue.getId()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isRepositoryValid(String repoId) {
+        request(1, false);
+        return true;
+    }
+
+    @Override
+    public List<Label> setLabels(String repoId, int issueId, List<String> labels) throws IOException {
+        request(labels.size(), false);
+        if (!getRepoState(repoId).setLabels(issueId, labels)) {
+            throw new IOException("No issue " + issueId + " in " + repoId);
+        }
+        return labels.stream().map(name -> new Label().setName(name)).collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Integer> setMilestone(String repoId, int issueId, String issueTitle,
+                                          Optional<Integer> issueMilestone) throws IOException {
+        request(1, false);
+        if (!getRepoState(repoId).setMilestone(issueId, issueMilestone)) {
+            throw new IOException("No issue " + issueId + " in " + repoId);
+        }
+        return issueMilestone;
+    }
+
+    @Override
+    public Optional<String> setAssignee(String repoId, int issueId, String issueTitle,
+                                        Optional<String> issueAssigneeLoginName) throws IOException {
+        request(1, false);
+        if (!getRepoState(repoId).setAssignee(issueId, issueAssigneeLoginName)) {
+            throw new IOException("No issue " + issueId + " in " + repoId);
+        }
+        return issueAssigneeLoginName;
+    }
+
+    @Override
+    public boolean editIssueState(String repoId, int issueId, boolean isOpen) throws IOException {
+        request(1, false);
+        return getRepoState(repoId).editIssueState(issueId, isOpen);
+    }
+
+    /**
+     * @return Remaining calls, and a reset time an hour from the call.
+     */
+    @Override
+    public ImmutablePair<Integer, Long> getRateLimitResetTime() {
+        return new ImmutablePair<>(apiQuota.get(), new Date().getTime() + 3600000);
+    }
+}
@@ -0,0 +1,189 @@
+package backend.stub;
+
+/**
+ * The size and behaviour of the repositories served by a {@link SyntheticRepo}. Every setter returns
+ * the config itself, so that configs may be built in a single expression:
+ * <pre>
+ * new SyntheticRepoConfig().setIssueCount(50000).setChurnRate(0.001).setLatencyMillis(100)
+ * </pre>
+ */
+public class SyntheticRepoConfig {
+
+    private long seed = 42;
+
+    private int issueCount = 1000;
+    private int pullRequestPercent = 20;
+
+    private int labelGroupCount = 3;
+    private int labelsPerGroup = 5;
+    private int ungroupedLabelCount = 10;
+    private int milestoneCount = 10;
+    private int userCount = 20;
+
+    private int descriptionWords = 50;
+    private int maxCommentsPerIssue = 10;
+    private int maxEventsPerIssue = 10;
+
+    private double churnRate = 0.01;
+    private long latencyMillis = 0;
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @param seed repositories generated with the same seed and config are the same
+     */
+    public SyntheticRepoConfig setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getIssueCount() {
+        return issueCount;
+    }
+
+    /**
+     * @param issueCount number of issues and pull requests initially in each repository
+     */
+    public SyntheticRepoConfig setIssueCount(int issueCount) {
+        assert issueCount >= 0;
+        this.issueCount = issueCount;
+        return this;
+    }
+
+    public int getPullRequestPercent() {
+        return pullRequestPercent;
+    }
+
+    /**
+     * @param pullRequestPercent percentage of issues which are pull requests
+     */
+    public SyntheticRepoConfig setPullRequestPercent(int pullRequestPercent) {
+        assert pullRequestPercent >= 0 && pullRequestPercent <= 100;
+        this.pullRequestPercent = pullRequestPercent;
+        return this;
+    }
+
+    public int getLabelGroupCount() {
+        return labelGroupCount;
+    }
+
+    /**
+     * @param labelGroupCount number of exclusive label groups, e.g. type.* and priority.*
+     */
+    public SyntheticRepoConfig setLabelGroupCount(int labelGroupCount) {
+        assert labelGroupCount >= 0;
+        this.labelGroupCount = labelGroupCount;
+        return this;
+    }
+
+    public int getLabelsPerGroup() {
+        return labelsPerGroup;
+    }
+
+    /**
+     * @param labelsPerGroup number of labels in each label group
+     */
+    public SyntheticRepoConfig setLabelsPerGroup(int labelsPerGroup) {
+        assert labelsPerGroup > 0;
+        this.labelsPerGroup = labelsPerGroup;
+        return this;
+    }
+
+    public int getUngroupedLabelCount() {
+        return ungroupedLabelCount;
+    }
+
+    public SyntheticRepoConfig setUngroupedLabelCount(int ungroupedLabelCount) {
+        assert ungroupedLabelCount >= 0;
+        this.ungroupedLabelCount = ungroupedLabelCount;
+        return this;
+    }
+
+    public int getMilestoneCount() {
+        return milestoneCount;
+    }
+
+    public SyntheticRepoConfig setMilestoneCount(int milestoneCount) {
+        assert milestoneCount >= 0;
+        this.milestoneCount = milestoneCount;
+        return this;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public SyntheticRepoConfig setUserCount(int userCount) {
+        assert userCount > 0;
+        this.userCount = userCount;
+        return this;
+    }
+
+    public int getDescriptionWords() {
+        return descriptionWords;
+    }
+
+    /**
+     * @param descriptionWords number of words in the description of each issue
+     */
+    public SyntheticRepoConfig setDescriptionWords(int descriptionWords) {
+        assert descriptionWords >= 0;
+        this.descriptionWords = descriptionWords;
+        return this;
+    }
+
+    public int getMaxCommentsPerIssue() {
+        return maxCommentsPerIssue;
+    }
+
+    /**
+     * @param maxCommentsPerIssue most issues have far fewer comments than this
+     */
+    public SyntheticRepoConfig setMaxCommentsPerIssue(int maxCommentsPerIssue) {
+        assert maxCommentsPerIssue >= 0;
+        this.maxCommentsPerIssue = maxCommentsPerIssue;
+        return this;
+    }
+
+    public int getMaxEventsPerIssue() {
+        return maxEventsPerIssue;
+    }
+
+    /**
+     * @param maxEventsPerIssue most issues have far fewer events than this
+     */
+    public SyntheticRepoConfig setMaxEventsPerIssue(int maxEventsPerIssue) {
+        assert maxEventsPerIssue >= 0;
+        this.maxEventsPerIssue = maxEventsPerIssue;
+        return this;
+    }
+
+    public double getChurnRate() {
+        return churnRate;
+    }
+
+    /**
+     * @param churnRate fraction of issues which change between two refreshes. A tenth of the changes
+     *                  are new issues.
+     */
+    public SyntheticRepoConfig setChurnRate(double churnRate) {
+        assert churnRate >= 0 && churnRate <= 1;
+        this.churnRate = churnRate;
+        return this;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * @param latencyMillis time taken by each simulated request, i.e. each page of results
+     */
+    public SyntheticRepoConfig setLatencyMillis(long latencyMillis) {
+        assert latencyMillis >= 0;
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+}
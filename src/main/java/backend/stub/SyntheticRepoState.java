@@ -0,0 +1,436 @@
+package backend.stub;
+
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import github.IssueEventType;
+import github.TurboIssueEvent;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.eclipse.egit.github.core.Comment;
+import org.eclipse.egit.github.core.User;
+import util.Utility;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The state of a single repository generated by a {@link SyntheticRepo}. The same seed and config always
+ * give the same repository, with dates relative to the time it is generated.
+ * <p>
+ * Labels, milestones and users are distributed the way they tend to be in real repositories: a few
+ * labels of each group, milestones and users are on most issues. Comments and events are generated
+ * from the seed when they are requested rather than stored, so that large repositories fit in memory.
+ * <p>
+ * Every change to the repository, whether from {@link #refresh()} or from an edit, gives it a new
+ * version. ETags are derived from versions, so a request with the ETag of the current version gets
+ * nothing back, as a GitHub request would get a 304 response.
+ */
+public class SyntheticRepoState {
+
+    private static final List<String> GROUP_NAMES = Arrays.asList(
+            "type", "priority", "status", "severity", "component", "area");
+    private static final List<String> WORDS = Arrays.asList(
+            "crash", "panel", "filter", "label", "slow", "login", "sync", "error", "update", "display",
+            "milestone", "assignee", "picker", "board", "refresh", "cache", "network", "memory", "window", "menu");
+    private static final List<IssueEventType> EVENT_TYPES = Arrays.asList(
+            IssueEventType.Labeled, IssueEventType.Unlabeled, IssueEventType.Assigned,
+            IssueEventType.Milestoned, IssueEventType.Closed, IssueEventType.Reopened, IssueEventType.Renamed);
+
+    // One in this many changes made by a refresh is a new issue
+    private static final int NEW_ISSUE_ONE_IN = 10;
+
+    private final String repoId;
+    private final SyntheticRepoConfig config;
+    private final long seed;
+    private final Random random;
+
+    private final TreeMap<Integer, TurboIssue> issues = new TreeMap<>();
+    private final List<TurboLabel> labels = new ArrayList<>();
+    private final List<TurboMilestone> milestones = new ArrayList<>();
+    private final List<TurboUser> users = new ArrayList<>();
+
+    // The version in which each issue last changed, and the number of events of each issue
+    private final Map<Integer, Integer> issueVersions = new HashMap<>();
+    private final Map<Integer, Integer> eventCounts = new HashMap<>();
+    private int version = 0;
+
+    public SyntheticRepoState(String repoId, SyntheticRepoConfig config) {
+        this.repoId = repoId;
+        this.config = config;
+        this.seed = config.getSeed() * 31 + repoId.hashCode();
+        this.random = new Random(seed);
+
+        generateLabels();
+        generateMilestones();
+        generateUsers();
+        LocalDateTime firstCreatedAt = LocalDateTime.now().minusYears(3);
+        long minutesPerIssue = Math.max(1, 3L * 365 * 24 * 60 / Math.max(1, config.getIssueCount()));
+        for (int id = 1; id <= config.getIssueCount(); id++) {
+            addIssue(generateIssue(id, firstCreatedAt.plusMinutes(id * minutesPerIssue)));
+        }
+    }
+
+    public String getRepoId() {
+        return repoId;
+    }
+
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    private void generateLabels() {
+        for (int group = 0; group < config.getLabelGroupCount(); group++) {
+            String groupName = group < GROUP_NAMES.size() ? GROUP_NAMES.get(group) : "group" + (group + 1);
+            String colour = String.format("%06x", random.nextInt(0x1000000));
+            for (int i = 1; i <= config.getLabelsPerGroup(); i++) {
+                labels.add(new TurboLabel(repoId, colour, groupName + "." + i));
+            }
+        }
+        for (int i = 1; i <= config.getUngroupedLabelCount(); i++) {
+            labels.add(new TurboLabel(repoId, String.format("%06x", random.nextInt(0x1000000)), "label-" + i));
+        }
+    }
+
+    private void generateMilestones() {
+        int count = config.getMilestoneCount();
+        LocalDate firstDueDate = LocalDate.now().minusMonths(count - 1);
+        for (int i = 1; i <= count; i++) {
+            TurboMilestone milestone = new TurboMilestone(repoId, i, "v" + i);
+            milestone.setDueDate(Optional.of(firstDueDate.plusMonths(i - 1)));
+            milestone.setOpen(i >= count - 1);
+            milestones.add(milestone);
+        }
+    }
+
+    private void generateUsers() {
+        for (int i = 1; i <= config.getUserCount(); i++) {
+            users.add(new TurboUser(repoId, "user" + i));
+        }
+    }
+
+    private TurboIssue generateIssue(int id, LocalDateTime createdAt) {
+        boolean isPullRequest = random.nextInt(100) < config.getPullRequestPercent();
+        TurboIssue issue = new TurboIssue(repoId, id, (isPullRequest ? "PR " : "Issue ") + id + " " + words(5),
+                                          randomUser(), createdAt, isPullRequest);
+        issue.setDescription(words(config.getDescriptionWords()));
+        issue.setUpdatedAt(createdAt);
+        issue.setOpen(random.nextInt(100) < 20 || id > config.getIssueCount() * 9 / 10);
+        issue.setCommentCount(skewed(config.getMaxCommentsPerIssue() + 1));
+
+        List<String> issueLabels = new ArrayList<>();
+        for (int group = 0; group < config.getLabelGroupCount(); group++) {
+            if (random.nextInt(100) < 70) {
+                int index = group * config.getLabelsPerGroup() + skewed(config.getLabelsPerGroup());
+                issueLabels.add(labels.get(index).getFullName());
+            }
+        }
+        int firstUngrouped = config.getLabelGroupCount() * config.getLabelsPerGroup();
+        for (int i = config.getUngroupedLabelCount() == 0 ? 0 : random.nextInt(3); i > 0; i--) {
+            String label = labels.get(firstUngrouped + skewed(config.getUngroupedLabelCount())).getFullName();
+            if (!issueLabels.contains(label)) {
+                issueLabels.add(label);
+            }
+        }
+        issue.setLabels(issueLabels);
+
+        if (!milestones.isEmpty() && random.nextInt(100) < 80) {
+            // Issues are mostly in the milestones that were current when they were created
+            int current = (int) ((long) (id - 1) * milestones.size() / Math.max(id, config.getIssueCount()));
+            issue.setMilestone(milestones.get(Math.min(milestones.size() - 1, current + random.nextInt(2))));
+        }
+        if (random.nextInt(100) < 60) {
+            issue.setAssignee(randomUser());
+        }
+        eventCounts.put(id, skewed(config.getMaxEventsPerIssue() + 1));
+        return issue;
+    }
+
+    private void addIssue(TurboIssue issue) {
+        issues.put(issue.getId(), issue);
+        issueVersions.put(issue.getId(), version);
+    }
+
+    /**
+     * Changes a fraction of the issues given by the churn rate of the config, as other users would
+     * between two refreshes. Some of the changes are new issues; the others are a new label, comment
+     * or assignee, or a closed or reopened issue.
+     *
+     * @return the number of issues changed
+     */
+    public synchronized int refresh() {
+        double expectedChanges = config.getChurnRate() * issues.size();
+        int changes = (int) expectedChanges + (random.nextDouble() < expectedChanges % 1 ? 1 : 0);
+        if (changes == 0) {
+            return 0;
+        }
+
+        version++;
+        List<Integer> ids = new ArrayList<>(issues.keySet());
+        for (int i = 0; i < changes; i++) {
+            if (ids.isEmpty() || random.nextInt(NEW_ISSUE_ONE_IN) == 0) {
+                int id = issues.isEmpty() ? 1 : issues.lastKey() + 1;
+                addIssue(generateIssue(id, LocalDateTime.now()));
+            } else {
+                changeIssue(issues.get(ids.get(random.nextInt(ids.size()))));
+            }
+        }
+        return changes;
+    }
+
+    private void changeIssue(TurboIssue issue) {
+        switch (random.nextInt(4)) {
+        case 0:
+            if (!labels.isEmpty()) {
+                List<String> issueLabels = new ArrayList<>(issue.getLabels());
+                String label = labels.get(random.nextInt(labels.size())).getFullName();
+                if (!issueLabels.remove(label)) {
+                    issueLabels.add(label);
+                }
+                issue.setLabels(issueLabels);
+            }
+            break;
+        case 1:
+            issue.setCommentCount(issue.getCommentCount() + 1);
+            break;
+        case 2:
+            issue.setAssignee(randomUser());
+            break;
+        default:
+            issue.setOpen(!issue.isOpen());
+            break;
+        }
+        markChanged(issue);
+    }
+
+    private void markChanged(TurboIssue issue) {
+        issue.setUpdatedAt(LocalDateTime.now());
+        issueVersions.put(issue.getId(), version);
+        eventCounts.merge(issue.getId(), 1, Integer::sum);
+    }
+
+    /**
+     * @param eTag the ETag returned by the last call, if any
+     * @return the issues which changed since the version the ETag was returned for, or all issues if
+     * there is no such ETag
+     */
+    public synchronized ImmutableTriple<List<TurboIssue>, String, Date> getUpdatedIssues(String eTag,
+                                                                                       Date lastCheckTime) {
+        String currentETag = getETag("issues");
+        if (currentETag.equals(eTag)) {
+            return new ImmutableTriple<>(new ArrayList<>(), eTag, lastCheckTime);
+        }
+        Optional<Integer> since = getVersion(eTag, "issues");
+        List<TurboIssue> changed = issues.values().stream()
+                .filter(issue -> !since.isPresent() || issueVersions.get(issue.getId()) > since.get())
+                .map(TurboIssue::new)
+                .collect(Collectors.toList());
+        return new ImmutableTriple<>(changed, currentETag, new Date());
+    }
+
+    /**
+     * Labels, milestones and users never change, so only their first request gets anything back.
+     */
+    public synchronized ImmutablePair<List<TurboLabel>, String> getUpdatedLabels(String eTag) {
+        return getUnchangingResource(eTag, "labels", this::getLabels);
+    }
+
+    public synchronized ImmutablePair<List<TurboMilestone>, String> getUpdatedMilestones(String eTag) {
+        return getUnchangingResource(eTag, "milestones", this::getMilestones);
+    }
+
+    public synchronized ImmutablePair<List<TurboUser>, String> getUpdatedCollaborators(String eTag) {
+        return getUnchangingResource(eTag, "users", this::getCollaborators);
+    }
+
+    private <T> ImmutablePair<List<T>, String> getUnchangingResource(String eTag, String resource,
+                                                                     Supplier<List<T>> items) {
+        String currentETag = resource + "-" + seed;
+        return currentETag.equals(eTag)
+                ? new ImmutablePair<>(new ArrayList<>(), eTag)
+                : new ImmutablePair<>(items.get(), currentETag);
+    }
+
+    public synchronized List<TurboIssue> getIssues() {
+        return issues.values().stream().map(TurboIssue::new).collect(Collectors.toList());
+    }
+
+    public synchronized List<TurboLabel> getLabels() {
+        return labels.stream().map(TurboLabel::new).collect(Collectors.toList());
+    }
+
+    public synchronized List<TurboMilestone> getMilestones() {
+        return milestones.stream().map(TurboMilestone::new).collect(Collectors.toList());
+    }
+
+    public synchronized List<TurboUser> getCollaborators() {
+        return users.stream().map(TurboUser::new).collect(Collectors.toList());
+    }
+
+    /**
+     * @param eTag the ETag returned by the last call for this issue, if any
+     * @return all the events of the issue, or none if it has not changed since the ETag was returned
+     */
+    public synchronized ImmutablePair<List<TurboIssueEvent>, String> getEvents(int issueId, String eTag) {
+        TurboIssue issue = issues.get(issueId);
+        if (issue == null) {
+            return new ImmutablePair<>(new ArrayList<>(), eTag);
+        }
+        String currentETag = "events-" + seed + "-" + issueId + "-" + issueVersions.get(issueId);
+        if (currentETag.equals(eTag)) {
+            return new ImmutablePair<>(new ArrayList<>(), eTag);
+        }
+
+        Random issueRandom = new Random(seed ^ issueId * 0x9E3779B97F4A7C15L);
+        List<TurboIssueEvent> events = new ArrayList<>();
+        int count = eventCounts.get(issueId);
+        for (int i = 0; i < count; i++) {
+            events.add(generateEvent(issueRandom, issue.getCreatedAt().plusHours(i + 1)));
+        }
+        return new ImmutablePair<>(events, currentETag);
+    }
+
+    private TurboIssueEvent generateEvent(Random issueRandom, LocalDateTime date) {
+        IssueEventType type = EVENT_TYPES.get(issueRandom.nextInt(EVENT_TYPES.size()));
+        TurboUser actor = users.get(issueRandom.nextInt(users.size()));
+        TurboIssueEvent event = new TurboIssueEvent(new User().setLogin(actor.getLoginName()), type,
+                                                    Utility.localDateTimeToDate(date));
+        switch (type) {
+        case Labeled:
+        case Unlabeled:
+            if (!labels.isEmpty()) {
+                TurboLabel label = labels.get(issueRandom.nextInt(labels.size()));
+                event.setLabelName(label.getFullName()).setLabelColour(label.getColour());
+            }
+            break;
+        case Milestoned:
+            if (!milestones.isEmpty()) {
+                event.setMilestoneTitle(milestones.get(issueRandom.nextInt(milestones.size())).getTitle());
+            }
+            break;
+        case Assigned:
+            event.setAssignedUser(new User().setLogin(users.get(issueRandom.nextInt(users.size())).getLoginName()));
+            break;
+        default:
+            break;
+        }
+        return event;
+    }
+
+    public synchronized List<Comment> getComments(int issueId) {
+        TurboIssue issue = issues.get(issueId);
+        if (issue == null) {
+            return new ArrayList<>();
+        }
+
+        Random issueRandom = new Random(seed ^ ~(issueId * 0x9E3779B97F4A7C15L));
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < issue.getCommentCount(); i++) {
+            Comment comment = new Comment();
+            comment.setId((long) issueId * 1000 + i);
+            comment.setBody(words(issueRandom, 5 + issueRandom.nextInt(20)));
+            comment.setUser(new User().setLogin(users.get(issueRandom.nextInt(users.size())).getLoginName()));
+            Date createdAt = Utility.localDateTimeToDate(issue.getCreatedAt().plusHours(i + 1));
+            comment.setCreatedAt(createdAt);
+            comment.setUpdatedAt(createdAt);
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    public synchronized boolean setLabels(int issueId, List<String> newLabels) {
+        return editIssue(issueId, issue -> issue.setLabels(new ArrayList<>(newLabels)));
+    }
+
+    public synchronized boolean setMilestone(int issueId, Optional<Integer> milestone) {
+        return editIssue(issueId, issue -> {
+            if (milestone.isPresent()) {
+                issue.setMilestoneById(milestone.get());
+            } else {
+                issue.removeMilestone();
+            }
+        });
+    }
+
+    public synchronized boolean setAssignee(int issueId, Optional<String> assignee) {
+        return editIssue(issueId, issue -> {
+            if (assignee.isPresent()) {
+                issue.setAssignee(assignee.get());
+            } else {
+                issue.removeAssignee();
+            }
+        });
+    }
+
+    public synchronized boolean editIssueState(int issueId, boolean isOpen) {
+        return editIssue(issueId, issue -> issue.setOpen(isOpen));
+    }
+
+    private boolean editIssue(int issueId, Consumer<TurboIssue> edit) {
+        TurboIssue issue = issues.get(issueId);
+        if (issue == null) {
+            return false;
+        }
+        version++;
+        edit.accept(issue);
+        markChanged(issue);
+        return true;
+    }
+
+    private String getETag(String resource) {
+        return resource + "-" + seed + "-" + version;
+    }
+
+    /**
+     * @return the version of the repository when the given ETag was returned, if it was returned
+     * by this repository
+     */
+    private Optional<Integer> getVersion(String eTag, String resource) {
+        String prefix = resource + "-" + seed + "-";
+        if (eTag == null || !eTag.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Integer.parseInt(eTag.substring(prefix.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String randomUser() {
+        return users.get(skewed(users.size())).getLoginName();
+    }
+
+    /**
+     * @return an index in [0, bound), with smaller indices much more likely
+     */
+    private int skewed(int bound) {
+        double uniform = random.nextDouble();
+        return (int) (bound * uniform * uniform * uniform);
+    }
+
+    private String words(int count) {
+        return words(random, count);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            words.append(WORDS.get(random.nextInt(WORDS.size()))).append(' ');
+        }
+        return words.toString().trim();
+    }
+}
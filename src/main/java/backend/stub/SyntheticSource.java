@@ -0,0 +1,92 @@
+package backend.stub;
+
+import backend.IssueMetadata;
+import backend.UserCredentials;
+import backend.github.*;
+import backend.interfaces.RepoSource;
+import backend.resource.Model;
+import backend.resource.TurboIssue;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A source of generated repositories of any size, which may stand in for GitHubSource in load tests
+ * and benchmarks. See {@link SyntheticRepo}.
+ */
+public class SyntheticSource extends RepoSource {
+
+    private final SyntheticRepo synthetic;
+
+    public SyntheticSource(SyntheticRepoConfig config) {
+        synthetic = new SyntheticRepo(config);
+    }
+
+    public SyntheticRepo getRepo() {
+        return synthetic;
+    }
+
+    @Override
+    public String getName() {
+        return "Synthetic Source";
+    }
+
+    @Override
+    public CompletableFuture<Boolean> login(UserCredentials credentials) {
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        execute(() -> response.complete(synthetic.login(credentials)));
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<Model> downloadRepository(String repoId) {
+        return addTask(new DownloadRepoTask(this, synthetic, repoId)).response;
+    }
+
+    @Override
+    public CompletableFuture<GitHubModelUpdatesData> downloadModelUpdates(Model model) {
+        return addTask(new DownloadModelUpdatesTask(this, synthetic, model)).response;
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, IssueMetadata>> downloadMetadata(String repoId,
+                                                                           List<TurboIssue> issues) {
+        return addTask(new DownloadMetadataTask(this, synthetic, repoId, issues)).response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> replaceIssueLabels(TurboIssue issue, List<String> labels) {
+        return addTask(new ReplaceIssueLabelsTask(this, synthetic, issue.getRepoId(), issue.getId(), labels))
+                .response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> replaceIssueMilestone(TurboIssue issue, Optional<Integer> milestone) {
+        return addTask(new ReplaceIssueMilestoneTask(this, synthetic, issue.getRepoId(), issue.getId(),
+                                                     issue.getTitle(), milestone)).response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> replaceIssueAssignee(TurboIssue issue, Optional<String> assigneeLoginName) {
+        return addTask(new ReplaceIssueAssigneeTask(this, synthetic, issue.getRepoId(), issue.getId(),
+                                                    issue.getTitle(), assigneeLoginName)).response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> editIssueState(TurboIssue issue, boolean isOpen) {
+        return addTask(new EditIssueStateTask(this, synthetic, issue.getRepoId(), issue.getId(), isOpen)).response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isRepositoryValid(String repoId) {
+        return addTask(new RepoValidityTask(this, synthetic, repoId)).response;
+    }
+
+    @Override
+    public CompletableFuture<ImmutablePair<Integer, Long>> getRateLimitResetTime() {
+        return addTask(new CheckRateLimitTask(this, synthetic)).response;
+    }
+}
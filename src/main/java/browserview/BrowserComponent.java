@@ -60,7 +60,8 @@ public class BrowserComponent {
     private static final int WAIT_PAGE_LOAD_SLEEP_TIME = 10;
 
     private static HWND browserWindowHandle;
-    private static User32 user32;
+    // Only set on Windows, once initialised
+    private static volatile User32 user32;
 
     private final UI ui;
     private final ScreenManager screenManager;
@@ -86,17 +87,18 @@ public class BrowserComponent {
 
         executor = Executors.newSingleThreadExecutor();
         this.isTestChromeDriver = isTestChromeDriver;
-        setupJNA();
-        setupChromeDriverExecutable();
     }
 
     /**
-     * Called on application startup. Blocks until the driver is created.
+     * Called once the application has started. Sets up JNA and the Chrome driver executable and creates
+     * the driver on the browser's thread, queueing browser commands until it is done.
      * Guaranteed to only happen once.
      */
     public void initialise() {
         assert driver == null;
         executor.execute(() -> {
+            setupJNA();
+            setupChromeDriverExecutable();
             driver = createChromeDriver();
             logger.info("Successfully initialised browser component and ChromeDriver");
         });
@@ -447,14 +449,14 @@ public class BrowserComponent {
     }
 
     private void bringToTop() {
-        if (PlatformSpecific.isOnWindows()) {
+        if (user32 != null) {
             user32.ShowWindow(browserWindowHandle, WinUser.SW_RESTORE);
             user32.SetForegroundWindow(browserWindowHandle);
         }
     }
 
     public void focus(HWND mainWindowHandle) {
-        if (PlatformSpecific.isOnWindows()) {
+        if (user32 != null) {
             // Restores browser window if it is minimized / maximized
             user32.ShowWindow(browserWindowHandle, WinUser.SW_SHOWNOACTIVATE);
             // SWP_NOMOVE and SWP_NOSIZE prevents the 0,0,0,0 parameters from taking effect.
@@ -612,7 +614,7 @@ public class BrowserComponent {
     }
 
     public void minimizeWindow() {
-        if (PlatformSpecific.isOnWindows()) {
+        if (user32 != null) {
             user32.ShowWindow(browserWindowHandle, WinUser.SW_MINIMIZE);
         }
     }
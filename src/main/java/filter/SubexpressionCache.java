@@ -0,0 +1,122 @@
+package filter;
+
+import backend.interfaces.IModel;
+import backend.resource.TurboIssue;
+import filter.expression.FilterExpression;
+import filter.expression.Qualifier;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates filter expressions against a fixed list of issues, memoising the set of issues
+ * satisfying each sub-expression so that sub-expressions shared between several filter
+ * expressions are only evaluated once.
+ * <p>
+ * Sets of issues are represented as BitSets of indices into the list of issues. Sub-expressions
+ * are identified by their canonical form (see {@link FilterExpression#getCanonicalForm(MetaQualifierInfo)}),
+ * so that operands of conjunctions and disjunctions may appear in any order.
+ * <p>
+ * A cache is only valid for the model and issues it was created with, so a new one should be
+ * created for every refresh. Thread-safe.
+ */
+public class SubexpressionCache {
+
+    // Lists with fewer issues than this are scanned sequentially
+    public static final int PARALLEL_SCAN_THRESHOLD = 1000;
+
+    private final IModel model;
+    private final List<TurboIssue> issues;
+    private final Map<String, BitSet> cache = new ConcurrentHashMap<>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public SubexpressionCache(IModel model, List<TurboIssue> issues) {
+        this.model = model;
+        this.issues = issues;
+    }
+
+    /**
+     * Counterpart of {@link Qualifier#process(IModel, FilterExpression, TurboIssue)} which tests the
+     * filter expression against all issues at once.
+     *
+     * @param expr
+     * @return the issues satisfying {@code expr}, in the order they were given to this cache
+     */
+    public List<TurboIssue> getMatchingIssues(FilterExpression expr) {
+        MetaQualifierInfo info = new MetaQualifierInfo(expr.find(Qualifier::isMetaQualifier));
+        BitSet matching = get(Qualifier.stripMetaQualifiers(model, expr), info);
+        return matching.stream()
+                .mapToObj(issues::get)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the set of indices of issues satisfying {@code expr}, evaluating it if it has not
+     * been evaluated before. The returned set is shared and must not be modified.
+     *
+     * @param expr
+     * @param info
+     */
+    public BitSet get(FilterExpression expr, MetaQualifierInfo info) {
+        String key = expr.getCanonicalForm(info);
+        BitSet result = cache.get(key);
+        if (result != null) {
+            hits.incrementAndGet();
+            return result;
+        }
+
+        // Not computeIfAbsent, as evaluating a compound expression recursively updates the cache
+        misses.incrementAndGet();
+        BitSet evaluated = expr.evaluate(this, info);
+        result = cache.putIfAbsent(key, evaluated);
+        return result == null ? evaluated : result;
+    }
+
+    /**
+     * Tests every issue against {@code pred}. Large lists of issues are scanned in parallel.
+     *
+     * @param pred
+     * @return the set of indices of issues satisfying {@code pred}
+     */
+    public BitSet scan(Predicate<TurboIssue> pred) {
+        IntStream indices = IntStream.range(0, issues.size());
+        if (issues.size() >= PARALLEL_SCAN_THRESHOLD) {
+            indices = indices.parallel();
+        }
+
+        BitSet result = new BitSet(issues.size());
+        for (int i : indices.filter(i -> pred.test(issues.get(i))).toArray()) {
+            result.set(i);
+        }
+        return result;
+    }
+
+    /**
+     * @return the set of indices of all issues
+     */
+    public BitSet all() {
+        BitSet result = new BitSet(issues.size());
+        result.set(0, issues.size());
+        return result;
+    }
+
+    public IModel getModel() {
+        return model;
+    }
+
+    public int getHitCount() {
+        return hits.get();
+    }
+
+    public int getMissCount() {
+        return misses.get();
+    }
+}
@@ -4,8 +4,10 @@ import backend.interfaces.IModel;
 import backend.resource.TurboIssue;
 import filter.MetaQualifierInfo;
 import filter.QualifierApplicationException;
+import filter.SubexpressionCache;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.function.Function;
@@ -55,6 +57,32 @@ public class Conjunction implements FilterExpression {
         return left.isSatisfiedBy(model, issue, info) && right.isSatisfiedBy(model, issue, info);
     }
 
+    @Override
+    public BitSet evaluate(SubexpressionCache cache, MetaQualifierInfo info) {
+        BitSet result = (BitSet) cache.get(left, info).clone();
+        result.and(cache.get(right, info));
+        return result;
+    }
+
+    @Override
+    public String getCanonicalForm(MetaQualifierInfo info) {
+        List<String> operands = new ArrayList<>();
+        addCanonicalOperands(this, info, operands);
+        return operands.stream().sorted().collect(Collectors.joining(" ", "(", ")"));
+    }
+
+    /**
+     * Flattens nested conjunctions, as the grouping of their operands does not matter.
+     */
+    private static void addCanonicalOperands(FilterExpression expr, MetaQualifierInfo info, List<String> operands) {
+        if (expr instanceof Conjunction) {
+            addCanonicalOperands(((Conjunction) expr).left, info, operands);
+            addCanonicalOperands(((Conjunction) expr).right, info, operands);
+        } else {
+            operands.add(expr.getCanonicalForm(info));
+        }
+    }
+
     private boolean containsDuplicateQualifierTypes() {
         List<QualifierType> nonLabelQualifierTypes = getQualifierTypes().stream()
                 .filter(pn -> !pn.equals(QualifierType.LABEL))
@@ -4,11 +4,14 @@ import backend.interfaces.IModel;
 import backend.resource.TurboIssue;
 import filter.MetaQualifierInfo;
 import filter.QualifierApplicationException;
+import filter.SubexpressionCache;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public class Disjunction implements FilterExpression {
 
@@ -52,6 +55,32 @@ public class Disjunction implements FilterExpression {
         return left.isSatisfiedBy(model, issue, info) || right.isSatisfiedBy(model, issue, info);
     }
 
+    @Override
+    public BitSet evaluate(SubexpressionCache cache, MetaQualifierInfo info) {
+        BitSet result = (BitSet) cache.get(left, info).clone();
+        result.or(cache.get(right, info));
+        return result;
+    }
+
+    @Override
+    public String getCanonicalForm(MetaQualifierInfo info) {
+        List<String> operands = new ArrayList<>();
+        addCanonicalOperands(this, info, operands);
+        return operands.stream().sorted().collect(Collectors.joining(" OR ", "(", ")"));
+    }
+
+    /**
+     * Flattens nested disjunctions, as the grouping of their operands does not matter.
+     */
+    private static void addCanonicalOperands(FilterExpression expr, MetaQualifierInfo info, List<String> operands) {
+        if (expr instanceof Disjunction) {
+            addCanonicalOperands(((Disjunction) expr).left, info, operands);
+            addCanonicalOperands(((Disjunction) expr).right, info, operands);
+        } else {
+            operands.add(expr.getCanonicalForm(info));
+        }
+    }
+
     @Override
     public boolean canBeAppliedToIssue() {
         return false;
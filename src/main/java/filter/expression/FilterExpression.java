@@ -4,7 +4,9 @@ import backend.interfaces.IModel;
 import backend.resource.TurboIssue;
 import filter.MetaQualifierInfo;
 import filter.QualifierApplicationException;
+import filter.SubexpressionCache;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -16,6 +18,17 @@ public interface FilterExpression {
 
     boolean isSatisfiedBy(IModel model, TurboIssue issue, MetaQualifierInfo info);
 
+    // Determines the issues in the cache which satisfy this filter expression, all at once.
+    // Results of sub-expressions should be obtained through the cache, so that they are shared.
+
+    BitSet evaluate(SubexpressionCache cache, MetaQualifierInfo info);
+
+    // A string form which is the same for filter expressions that only differ in the order of
+    // the operands of conjunctions and disjunctions. Filter expressions with the same canonical
+    // form are satisfied by the same issues.
+
+    String getCanonicalForm(MetaQualifierInfo info);
+
     // Filter expressions may only be applied if they contain no ambiguity
     // => they must contain only qualifiers or conjunctions thereof. Disjunctions
     // and negations can't be interpreted in order to be applied.
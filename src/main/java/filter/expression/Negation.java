@@ -4,8 +4,10 @@ import backend.interfaces.IModel;
 import backend.resource.TurboIssue;
 import filter.MetaQualifierInfo;
 import filter.QualifierApplicationException;
+import filter.SubexpressionCache;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -45,6 +47,18 @@ public class Negation implements FilterExpression {
         return !expr.isSatisfiedBy(model, issue, info);
     }
 
+    @Override
+    public BitSet evaluate(SubexpressionCache cache, MetaQualifierInfo info) {
+        BitSet result = cache.all();
+        result.andNot(cache.get(expr, info));
+        return result;
+    }
+
+    @Override
+    public String getCanonicalForm(MetaQualifierInfo info) {
+        return "NOT " + expr.getCanonicalForm(info);
+    }
+
     @Override
     public boolean canBeAppliedToIssue() {
         return false;
@@ -5,9 +5,12 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,6 +30,7 @@ import filter.MetaQualifierInfo;
 import filter.ParseException;
 import filter.QualifierApplicationException;
 import filter.SemanticException;
+import filter.SubexpressionCache;
 
 public class Qualifier implements FilterExpression {
 
@@ -184,8 +188,24 @@ public class Qualifier implements FilterExpression {
      * Helper function for testing a filter expression against an issue.
      * Ensures that meta-qualifiers are taken care of.
      * Should always be used over isSatisfiedBy.
+     * <p>
+     * Thread-safe: filter expressions are not mutated during evaluation, so the same expression
+     * may be tested against different issues concurrently, provided the model is thread-safe.
      */
     public static boolean process(IModel model, FilterExpression expr, TurboIssue issue) {
+        List<Qualifier> metaQualifiers = expr.find(Qualifier::isMetaQualifier);
+        return stripMetaQualifiers(model, expr).isSatisfiedBy(model, issue, new MetaQualifierInfo(metaQualifiers));
+    }
+
+    /**
+     * Strips meta-qualifiers which do not select issues, and restricts the expression
+     * to the default repo if it does not specify a repo.
+     *
+     * @param model
+     * @param expr
+     * @return the expression that issues are actually tested against
+     */
+    public static FilterExpression stripMetaQualifiers(IModel model, FilterExpression expr) {
         FilterExpression exprWithNormalQualifiers = expr.filter(Qualifier::shouldNotBeStripped);
         List<Qualifier> metaQualifiers = expr.find(Qualifier::isMetaQualifier);
 
@@ -201,7 +221,7 @@ public class Qualifier implements FilterExpression {
                     exprWithNormalQualifiers);
         }
 
-        return exprWithNormalQualifiers.isSatisfiedBy(model, issue, new MetaQualifierInfo(metaQualifiers));
+        return exprWithNormalQualifiers;
     }
 
     /**
@@ -314,13 +334,15 @@ public class Qualifier implements FilterExpression {
         return contents;
     }
 
-    private static LocalDateTime currentTime = null;
+    // Volatile as filters may be evaluated on several threads at once
+    private static volatile LocalDateTime currentTime = null;
 
     private static LocalDateTime getCurrentTime() {
-        if (currentTime == null) {
+        LocalDateTime stubbedTime = currentTime;
+        if (stubbedTime == null) {
             return LocalDateTime.now();
         } else {
-            return currentTime;
+            return stubbedTime;
         }
     }
 
@@ -391,6 +413,24 @@ public class Qualifier implements FilterExpression {
         }
     }
 
+    @Override
+    public BitSet evaluate(SubexpressionCache cache, MetaQualifierInfo info) {
+        return cache.scan(issue -> isSatisfiedBy(cache.getModel(), issue, info));
+    }
+
+    /**
+     * Keywords are the only qualifiers whose meaning depends on meta-qualifiers. They are prefixed with
+     * their type, as a quoted keyword like "is:open" would otherwise have the same form as the qualifier.
+     */
+    @Override
+    public String getCanonicalForm(MetaQualifierInfo info) {
+        if (type == QualifierType.KEYWORD) {
+            String keyword = type + ":" + toString();
+            return info.getIn().isPresent() ? keyword + " in:" + info.getIn().get() : keyword;
+        }
+        return toString();
+    }
+
     @Override
     public void applyTo(TurboIssue issue, IModel model) throws QualifierApplicationException {
         assert type != null && content != null;
@@ -618,13 +658,29 @@ public class Qualifier implements FilterExpression {
     }
 
     public Comparator<TurboIssue> getCompoundSortComparator(IModel model, boolean isSortableByNonSelfUpdates) {
+        return getCompoundSortComparator(model, isSortableByNonSelfUpdates, Collections.emptyList());
+    }
+
+    /**
+     * Sort keys which are expensive to compute, i.e. milestone and label group keys, are computed
+     * for all of {@code issues} before the comparator is returned, so that sorting them only reads
+     * the keys. The comparator should thus not be used after the issues or the model have changed.
+     * Keys of issues not in {@code issues} are computed on every comparison.
+     *
+     * @param model
+     * @param isSortableByNonSelfUpdates
+     * @param issues the issues to be sorted
+     */
+    public Comparator<TurboIssue> getCompoundSortComparator(IModel model, boolean isSortableByNonSelfUpdates,
+                                                            Collection<TurboIssue> issues) {
         if (sortKeys.isEmpty()) {
             return (a, b) -> 0;
         }
+        List<Comparator<TurboIssue>> comparators = sortKeys.stream()
+                .map(key -> getSortComparator(model, key.key, key.inverted, isSortableByNonSelfUpdates, issues))
+                .collect(Collectors.toList());
         return (a, b) -> {
-            for (SortKey key : sortKeys) {
-                Comparator<TurboIssue> comparator =
-                        getSortComparator(model, key.key, key.inverted, isSortableByNonSelfUpdates);
+            for (Comparator<TurboIssue> comparator : comparators) {
                 int result = comparator.compare(a, b);
                 if (result != 0) {
                     return result;
@@ -638,6 +694,17 @@ public class Qualifier implements FilterExpression {
                                                            String key,
                                                            boolean inverted,
                                                            boolean isSortableByNonSelfUpdates) {
+        return getSortComparator(model, key, inverted, isSortableByNonSelfUpdates, Collections.emptyList());
+    }
+
+    /**
+     * See {@link #getCompoundSortComparator(IModel, boolean, Collection)} for how {@code issues} is used.
+     */
+    public static Comparator<TurboIssue> getSortComparator(IModel model,
+                                                           String key,
+                                                           boolean inverted,
+                                                           boolean isSortableByNonSelfUpdates,
+                                                           Collection<TurboIssue> issues) {
         Comparator<TurboIssue> comparator = (a, b) -> 0;
 
         boolean isLabelGroup = false;
@@ -680,20 +747,9 @@ public class Qualifier implements FilterExpression {
             break;
         case "milestone":
         case "m":
-            comparator = (a, b) -> {
-                Optional<TurboMilestone> aMilestone = model.getMilestoneOfIssue(a);
-                Optional<TurboMilestone> bMilestone = model.getMilestoneOfIssue(b);
-
-                if (!aMilestone.isPresent() && !bMilestone.isPresent()) {
-                    return 0;
-                } else if (!aMilestone.isPresent()) {
-                    return 1;
-                } else if (!bMilestone.isPresent()) {
-                    return -1;
-                } else {
-                    return -(TurboMilestone.getDueDateComparator().compare(aMilestone.get(), bMilestone.get()));
-                }
-            };
+            Function<TurboIssue, Long> milestoneSortKey =
+                    precomputeSortKey(issue -> getMilestoneSortKey(model, issue), issues);
+            comparator = (a, b) -> Long.compare(milestoneSortKey.apply(a), milestoneSortKey.apply(b));
             break;
         case "id":
             comparator = (a, b) -> a.getId() - b.getId();
@@ -711,7 +767,7 @@ public class Qualifier implements FilterExpression {
 
         if (isLabelGroup) {
             // Has a different notion of inversion
-            return getLabelGroupComparator(model, key, inverted);
+            return getLabelGroupComparator(model, key, inverted, issues);
         } else {
             // Use default behaviour for inverting
             if (!inverted) {
@@ -723,21 +779,66 @@ public class Qualifier implements FilterExpression {
         }
     }
 
+    /**
+     * Issues are ordered by the due dates of their milestones, latest first, followed by
+     * issues without a milestone. Milestones without a due date are ordered as if they were
+     * due last if they are open, and first otherwise.
+     *
+     * @return a key which orders issues in the above way when sorted in ascending order
+     */
+    private static long getMilestoneSortKey(IModel model, TurboIssue issue) {
+        Optional<TurboMilestone> milestone = model.getMilestoneOfIssue(issue);
+        if (!milestone.isPresent()) {
+            return Long.MAX_VALUE;
+        }
+        LocalDate dueDate = milestone.get().getDueDate()
+                .orElse(milestone.get().isOpen() ? LocalDate.MAX : LocalDate.MIN);
+        return -dueDate.toEpochDay();
+    }
+
+    /**
+     * Computes the sort key of each of {@code issues} once, before sorting starts. The keys are only
+     * read afterwards, so comparisons made concurrently by a parallel sort need no locking.
+     *
+     * @return the sort key function, which computes the keys of other issues as they are compared
+     */
+    private static <T> Function<TurboIssue, T> precomputeSortKey(Function<TurboIssue, T> sortKey,
+                                                                Collection<TurboIssue> issues) {
+        Map<TurboIssue, T> sortKeys = new IdentityHashMap<>(issues.size());
+        issues.forEach(issue -> sortKeys.put(issue, sortKey.apply(issue)));
+        return issue -> {
+            T precomputed = sortKeys.get(issue);
+            return precomputed != null ? precomputed : sortKey.apply(issue);
+        };
+    }
+
     public static Comparator<TurboIssue> getLabelGroupComparator(IModel model, String key, boolean inverted) {
+        return getLabelGroupComparator(model, key, inverted, Collections.emptyList());
+    }
+
+    /**
+     * See {@link #getCompoundSortComparator(IModel, boolean, Collection)} for how {@code issues} is used.
+     */
+    public static Comparator<TurboIssue> getLabelGroupComparator(IModel model, String key, boolean inverted,
+                                                                 Collection<TurboIssue> issues) {
         // Strip trailing ., if any
         final String group = key.replaceAll("\\.$", "");
-        return (a, b) -> {
 
-            // Matches labels belong to the given group
-            Predicate<TurboLabel> sameGroup = l ->
-                    l.isInGroup() && l.getGroupName().equals(group);
+        // Matches labels belong to the given group
+        Predicate<TurboLabel> sameGroup = l ->
+                l.isInGroup() && l.getGroupName().equals(group);
+
+        Comparator<TurboLabel> labelComparator = (x, y) -> x.compareTo(y);
 
-            Comparator<TurboLabel> labelComparator = (x, y) -> x.compareTo(y);
+        Function<TurboIssue, List<TurboLabel>> groupLabels = precomputeSortKey(issue -> {
+            List<TurboLabel> labels = model.getLabelsOfIssue(issue, sameGroup);
+            Collections.sort(labels, labelComparator);
+            return labels;
+        }, issues);
 
-            List<TurboLabel> aLabels = model.getLabelsOfIssue(a, sameGroup);
-            List<TurboLabel> bLabels = model.getLabelsOfIssue(b, sameGroup);
-            Collections.sort(aLabels, labelComparator);
-            Collections.sort(bLabels, labelComparator);
+        return (a, b) -> {
+            List<TurboLabel> aLabels = groupLabels.apply(a);
+            List<TurboLabel> bLabels = groupLabels.apply(b);
 
             // Put empty lists at the back
             if (aLabels.isEmpty() && bLabels.isEmpty()) {
@@ -32,14 +32,17 @@ public class CollaboratorServiceEx extends CollaboratorService {
      */
     @Override
     public List<User> getCollaborators(IRepositoryIdProvider repository) throws IOException {
-        return getCompleteUserData(super.getCollaborators(repository));
+        return getCompleteUserData(getClient(), super.getCollaborators(repository));
     }
 
     /**
      * Gets the complete data for every user since most of GitHub APIs do not return users' complete data
+     *
+     * @param client the client to request the users' data through
+     * @param users
      */
-    public static List<User> getCompleteUserData(List<User> users) {
-        UserService service = new UserService();
+    public static List<User> getCompleteUserData(GitHubClient client, List<User> users) {
+        UserService service = new UserService(client);
         return users.stream()
                 .map(user -> {
                     try {
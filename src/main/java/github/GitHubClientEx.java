@@ -1,7 +1,9 @@
 package github;
 
+import com.google.common.collect.MapMaker;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import github.RequestTelemetry.RequestRecord;
 import org.apache.commons.io.input.NullInputStream;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.logging.log4j.Logger;
@@ -14,11 +16,13 @@ import util.Utility;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class GitHubClientEx extends GitHubClient {
     private static final Logger logger = HTLog.get(GitHubClientEx.class);
@@ -28,6 +32,15 @@ public class GitHubClientEx extends GitHubClient {
     // Request method for HEAD API call
     protected static final String METHOD_HEAD = "HEAD";
 
+    private static final String RATE_LIMIT_PATH = "/rate_limit";
+
+    private final RequestTelemetry telemetry = RequestTelemetry.getInstance();
+
+    // When each request was created, until its response is recorded
+    private final Map<HttpURLConnection, Long> requestStartTimes = new MapMaker().weakKeys().makeMap();
+    // Records of responses whose bodies have not been read yet
+    private final Map<HttpURLConnection, RequestRecord> unreadResponses = new MapMaker().weakKeys().makeMap();
+
     public GitHubClientEx() {
         super();
     }
@@ -47,6 +60,51 @@ public class GitHubClientEx extends GitHubClient {
         return connection;
     }
 
+    /**
+     * Extends superclass method to time every request.
+     */
+    @Override
+    protected HttpURLConnection createConnection(String uri, String method) throws IOException {
+        HttpURLConnection connection = super.createConnection(uri, method);
+        requestStartTimes.put(connection, System.nanoTime());
+        return connection;
+    }
+
+    /**
+     * Extends superclass method to record every response, along with how much of the rate limit it used.
+     * The superclass calls this as soon as it has the status of a response.
+     * <p>
+     * GitHub counts every request but those getting a 304 and those for the rate limit itself. How much a
+     * request used is worked out from that rather than from the remaining requests before and after it,
+     * which other requests may change in the meantime.
+     */
+    @Override
+    protected GitHubClient updateRateLimits(HttpURLConnection request) {
+        super.updateRateLimits(request);
+        boolean isFree = isNotModified(getResponseCode(request))
+                || request.getURL().getPath().endsWith(RATE_LIMIT_PATH);
+        recordResponse(request, isFree ? 0 : 1);
+        return this;
+    }
+
+    private void recordResponse(HttpURLConnection request, int rateLimitUsed) {
+        Long startTime = requestStartTimes.remove(request);
+        long latency = startTime == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        RequestRecord record = new RequestRecord(System.currentTimeMillis(), request.getRequestMethod(),
+                                                 request.getURL().getPath(), getResponseCode(request),
+                                                 latency, rateLimitUsed);
+        telemetry.record(record);
+        unreadResponses.put(request, record);
+    }
+
+    private static int getResponseCode(HttpURLConnection request) {
+        try {
+            return request.getResponseCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
     /**
      * Creates a HEAD request connection to the URI
      *
@@ -142,7 +200,8 @@ public class GitHubClientEx extends GitHubClient {
      */
     @SuppressWarnings("unchecked")
     public ImmutablePair<Integer, Long> getRateLimitResetTime() throws IOException {
-        HttpURLConnection httpRequest = createGet("/rate_limit");
+        HttpURLConnection httpRequest = createGet(RATE_LIMIT_PATH);
+        recordResponse(httpRequest, 0);
         if (isOk(httpRequest.getResponseCode())) {
             // We extract from rate, which is similar to resources.core
             String json = String.valueOf(
@@ -174,14 +233,12 @@ public class GitHubClientEx extends GitHubClient {
         if (accept != null) {
             httpRequest.setRequestProperty(HEADER_ACCEPT, accept);
         }
-        logger.info(String.format("Requesting: %s %s",
-                                  httpRequest.getRequestMethod(), httpRequest.getURL().getFile()));
+        logger.debug("Requesting: {} {}", httpRequest.getRequestMethod(), httpRequest.getURL().getFile());
 
         final int code = httpRequest.getResponseCode();
         updateRateLimits(httpRequest);
 
-        logger.info(String.format("%s responded with %d %s",
-                                  httpRequest.getURL().getPath(), code, httpRequest.getResponseMessage()));
+        logger.debug("{} responded with {} {}", httpRequest.getURL().getPath(), code, httpRequest.getResponseMessage());
         if (isOk(code) || code == HttpURLConnection.HTTP_NOT_MODIFIED || isEmpty(code)) {
             return new ImmutablePair<>(httpRequest, new GitHubResponse(httpRequest, null));
         }
@@ -209,12 +266,14 @@ public class GitHubClientEx extends GitHubClient {
     }
 
     /**
-     * Overridden to make public.
+     * Overridden to make public, and to count the bytes of response bodies as they are read.
      */
     @Override
     @SuppressWarnings("PMD")
     public InputStream getStream(HttpURLConnection request) throws IOException {
-        return super.getStream(request);
+        InputStream stream = super.getStream(request);
+        RequestRecord record = unreadResponses.remove(request);
+        return record == null ? stream : new CountingInputStream(stream, record);
     }
 
     /**
@@ -268,4 +327,31 @@ public class GitHubClientEx extends GitHubClient {
     public boolean isNotModified(final int code) {
         return code == 304;
     }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final RequestRecord record;
+
+        CountingInputStream(InputStream stream, RequestRecord record) {
+            super(stream);
+            this.record = record;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = super.read();
+            if (result != -1) {
+                record.addBytes(1);
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                record.addBytes(count);
+            }
+            return count;
+        }
+    }
 }
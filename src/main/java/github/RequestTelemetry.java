@@ -0,0 +1,265 @@
+package github;
+
+import com.google.gson.GsonBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Records every request made to the GitHub API through a {@link GitHubClientEx}: its endpoint, status, latency,
+ * the bytes received and how much of the rate limit it used. Requests are kept for a rolling window of an hour,
+ * the period of GitHub's rate limit, and may be summarised by type of resource and by repository to tell which
+ * requests use up the rate limit and which are slow.
+ * <p>
+ * Endpoints are recorded as templates, e.g. /repos/{owner}/{repo}/issues/{number}/events, so that requests
+ * for different repositories and issues are grouped together. Thread-safe.
+ */
+public final class RequestTelemetry {
+
+    private static final RequestTelemetry instance = new RequestTelemetry();
+
+    public static final long WINDOW_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    // Requests beyond this number are dropped from the window early
+    private static final int MAX_RECORDS = 20000;
+
+    // Upper bounds of the latency histogram's buckets; the last bucket has no upper bound
+    public static final long[] LATENCY_BUCKETS_MILLIS = {50, 100, 250, 500, 1000, 2500, 5000};
+
+    private static final String API_PREFIX = "/api/v3";
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    private final Deque<RequestRecord> records = new ArrayDeque<>();
+
+    private RequestTelemetry() {
+    }
+
+    public static RequestTelemetry getInstance() {
+        return instance;
+    }
+
+    public synchronized void record(RequestRecord record) {
+        records.addLast(record);
+        prune(record.timestamp);
+    }
+
+    public synchronized void clear() {
+        records.clear();
+    }
+
+    /**
+     * @return the requests made in the last hour, oldest first
+     */
+    public synchronized List<RequestRecord> getRecords() {
+        prune(System.currentTimeMillis());
+        return new ArrayList<>(records);
+    }
+
+    private void prune(long now) {
+        while (!records.isEmpty()
+                && (records.size() > MAX_RECORDS || records.peekFirst().timestamp < now - WINDOW_MILLIS)) {
+            records.removeFirst();
+        }
+    }
+
+    /**
+     * @return summaries of the requests made in the last hour for each type of resource, e.g. issues or events
+     */
+    public Map<String, RequestSummary> summariseByResource() {
+        return summarise(getRecords(), record -> record.resource);
+    }
+
+    /**
+     * @return summaries of the requests made in the last hour for each repository; requests which are not
+     * for a repository, e.g. for the details of a user, are left out
+     */
+    public Map<String, RequestSummary> summariseByRepo() {
+        List<RequestRecord> repoRecords = getRecords().stream()
+                .filter(record -> record.repoId != null)
+                .collect(Collectors.toList());
+        return summarise(repoRecords, record -> record.repoId);
+    }
+
+    private static Map<String, RequestSummary> summarise(List<RequestRecord> records,
+                                                         Function<RequestRecord, String> key) {
+        return records.stream().collect(Collectors.groupingBy(key, TreeMap::new,
+                                                              Collectors.collectingAndThen(Collectors.toList(),
+                                                                                           RequestSummary::new)));
+    }
+
+    /**
+     * @return a snapshot of the requests made in the last hour and their summaries, as JSON
+     */
+    public String toJson() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("createdAt", new Date());
+        snapshot.put("windowMinutes", TimeUnit.MILLISECONDS.toMinutes(WINDOW_MILLIS));
+        snapshot.put("latencyBucketsMillis", LATENCY_BUCKETS_MILLIS);
+        snapshot.put("resources", summariseByResource());
+        snapshot.put("repositories", summariseByRepo());
+        snapshot.put("requests", getRecords());
+        return new GsonBuilder().setPrettyPrinting().create().toJson(snapshot);
+    }
+
+    /**
+     * Turns the path of a request into a template for its endpoint, replacing owners and names of
+     * repositories, logins and numbers with placeholders.
+     *
+     * @param path the path of a request, which may have a query and the /api/v3 prefix
+     * @return e.g. /repos/{owner}/{repo}/issues/{number}/comments
+     */
+    public static String toEndpointTemplate(String path) {
+        String[] segments = stripPath(path).split("/");
+        for (int i = 1; i < segments.length; i++) {
+            if (NUMBER.matcher(segments[i]).matches()) {
+                segments[i] = "{number}";
+            } else if ("repos".equals(segments[1]) && i == 2) {
+                segments[i] = "{owner}";
+            } else if ("repos".equals(segments[1]) && i == 3) {
+                segments[i] = "{repo}";
+            } else if ("users".equals(segments[1]) && i == 2) {
+                segments[i] = "{user}";
+            }
+        }
+        return segments.length == 0 ? "/" : String.join("/", segments);
+    }
+
+    /**
+     * @param template an endpoint template
+     * @return the type of resource requested, e.g. issues for /repos/{owner}/{repo}/issues, or
+     * events for /repos/{owner}/{repo}/issues/{number}/events
+     */
+    public static String toResource(String template) {
+        List<String> segments = Arrays.stream(template.split("/"))
+                .filter(segment -> !segment.isEmpty() && !segment.startsWith("{"))
+                .collect(Collectors.toList());
+        return segments.isEmpty() ? "root" : segments.get(segments.size() - 1);
+    }
+
+    /**
+     * @param path the path of a request
+     * @return the id of the repository it is for, if any
+     */
+    public static Optional<String> toRepoId(String path) {
+        String[] segments = stripPath(path).split("/");
+        if (segments.length >= 4 && "repos".equals(segments[1])) {
+            return Optional.of(segments[2] + "/" + segments[3]);
+        }
+        return Optional.empty();
+    }
+
+    private static String stripPath(String path) {
+        int query = path.indexOf('?');
+        String stripped = query >= 0 ? path.substring(0, query) : path;
+        return stripped.startsWith(API_PREFIX) ? stripped.substring(API_PREFIX.length()) : stripped;
+    }
+
+    /**
+     * A single request.
+     */
+    public static class RequestRecord {
+        public final long timestamp;
+        public final String method;
+        public final String endpoint;
+        public final String resource;
+        public final String repoId;
+        public final int status;
+        public final long latencyMillis;
+        public final int rateLimitUsed;
+
+        // Counted as the body is read, after the record is made
+        private volatile long bytes = 0;
+
+        /**
+         * @param timestamp     when the request was made
+         * @param method        e.g. GET
+         * @param path          the path of the request, as given to {@link #toEndpointTemplate(String)}
+         * @param status        the status of the response
+         * @param latencyMillis time taken to get the status and headers of the response
+         * @param rateLimitUsed how many requests of the rate limit the request used, usually 1, or 0 for a 304
+         */
+        public RequestRecord(long timestamp, String method, String path, int status, long latencyMillis,
+                             int rateLimitUsed) {
+            this.timestamp = timestamp;
+            this.method = method;
+            this.endpoint = toEndpointTemplate(path);
+            this.resource = toResource(endpoint);
+            this.repoId = toRepoId(path).orElse(null);
+            this.status = status;
+            this.latencyMillis = latencyMillis;
+            this.rateLimitUsed = rateLimitUsed;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public synchronized void addBytes(long count) {
+            bytes += count;
+        }
+
+        public boolean isNotModified() {
+            return status == 304;
+        }
+
+        public boolean isError() {
+            return status >= 400;
+        }
+    }
+
+    /**
+     * A summary of a number of requests.
+     */
+    public static class RequestSummary {
+        public final int requests;
+        public final int notModified;
+        public final int errors;
+        public final long bytes;
+        public final int rateLimitUsed;
+        public final long medianLatencyMillis;
+        public final long p90LatencyMillis;
+        public final long maxLatencyMillis;
+        // Number of requests in each bucket of LATENCY_BUCKETS_MILLIS
+        public final int[] latencyHistogram = new int[LATENCY_BUCKETS_MILLIS.length + 1];
+
+        RequestSummary(List<RequestRecord> records) {
+            requests = records.size();
+            notModified = (int) records.stream().filter(RequestRecord::isNotModified).count();
+            errors = (int) records.stream().filter(RequestRecord::isError).count();
+            bytes = records.stream().mapToLong(RequestRecord::getBytes).sum();
+            rateLimitUsed = records.stream().mapToInt(record -> record.rateLimitUsed).sum();
+
+            long[] latencies = records.stream().mapToLong(record -> record.latencyMillis).sorted().toArray();
+            medianLatencyMillis = percentile(latencies, 50);
+            p90LatencyMillis = percentile(latencies, 90);
+            maxLatencyMillis = latencies.length == 0 ? 0 : latencies[latencies.length - 1];
+            for (long latency : latencies) {
+                int bucket = 0;
+                while (bucket < LATENCY_BUCKETS_MILLIS.length && latency > LATENCY_BUCKETS_MILLIS[bucket]) {
+                    bucket++;
+                }
+                latencyHistogram[bucket]++;
+            }
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -32,6 +32,8 @@ public class TurboIssueEvent {
     private static final String OCTICON_PENCIL = "\uf058";
     private static final String OCTICON_PERSON = "\uf018";
     public static final String OCTICON_QUOTE = "\uf063";
+    private static final Insets OCTICON_MARGIN = new Insets(0, 2, 0, 0);
+    private static final String[] OCTICON_STYLE_CLASSES = {"octicon", "issue-event-icon"};
 
 
     // Maximum time difference in seconds between label update events in the same group
@@ -134,10 +136,16 @@ public class TurboIssueEvent {
         return this;
     }
 
+    /**
+     * Creates a node displaying an octicon glyph. Nodes cannot be shared between parents, but
+     * their margin and style classes are.
+     *
+     * @param which the glyph, one of the OCTICON constants
+     */
     public static Label octicon(String which) {
         Label label = new Label(which);
-        HBox.setMargin(label, new Insets(0, 2, 0, 0));
-        label.getStyleClass().addAll("octicon", "issue-event-icon");
+        HBox.setMargin(label, OCTICON_MARGIN);
+        label.getStyleClass().addAll(OCTICON_STYLE_CLASSES);
         return label;
     }
 
@@ -298,7 +306,17 @@ public class TurboIssueEvent {
 
         assert labelUpdateEvents != null : "Error: Received null list of events";
 
-        List<List<TurboIssueEvent>> groupedEvents = groupLabelUpdateEvents(labelUpdateEvents);
+        return createLabelUpdateEventGroupNodes(guiElement, groupLabelUpdateEvents(labelUpdateEvents));
+    }
+
+    /**
+     * Creates a node for each group of label update events.
+     *
+     * @param groupedEvents label update events grouped as in {@link #groupLabelUpdateEvents(List)}
+     */
+    public static List<Node> createLabelUpdateEventGroupNodes(
+            GuiElement guiElement, List<List<TurboIssueEvent>> groupedEvents) {
+
         List<Node> result = new ArrayList<>();
 
         groupedEvents.forEach(group -> {
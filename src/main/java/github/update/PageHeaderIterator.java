@@ -114,7 +114,7 @@ public class PageHeaderIterator implements Iterable<String>, Iterator<String> {
             }
         }
 
-        logger.info(String.format("Getting header page %d for %s", nextPage, request.getUri()));
+        logger.debug("Getting header page {} for {}", nextPage, request.getUri());
 
         ImmutablePair<HttpURLConnection, GitHubResponse> requestResult;
         GitHubResponse response;
@@ -105,7 +105,7 @@ public class PullRequestUpdateService extends UpdateService<PullRequest> {
                 Collection<PullRequest> newPullRequests = iterator.next();
                 int numAddedItems = addItemsUpdatedSince(elements, newPullRequests, lastIssueCheckTime);
 
-                logger.info(resourceDesc + " | page " + (page++) + ": " + numAddedItems + " items");
+                logger.debug("{} | page {}: {} items", resourceDesc, page++, numAddedItems);
 
                 if (numAddedItems < newPullRequests.size()) {
                     break;
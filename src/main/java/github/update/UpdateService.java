@@ -90,7 +90,7 @@ public class UpdateService<T> extends GitHubService {
         ArrayList<T> result = new ArrayList<>();
         String resourceDesc = repoId.generateId() + apiSuffix;
 
-        logger.info(String.format("Updating %s with ETag %s", resourceDesc, lastETags));
+        logger.info("Updating {} with ETag {}", resourceDesc, lastETags);
         try {
             PagedRequest<T> headerRequest = createUpdatedRequest(repoId);
             Optional<ImmutablePair<List<String>, HttpURLConnection>> etags = getPagedEtags(headerRequest, client);
@@ -123,7 +123,7 @@ public class UpdateService<T> extends GitHubService {
         } else {
             PagedRequest<T> request = createUpdatedRequest(repoId);
             result = new ArrayList<>(getPagedItems(resourceDesc, new PageIterator<>(request, client)));
-            logger.info(String.format("New ETag for %s: %s", resourceDesc, updatedETags));
+            logger.info("New ETag for {}: {}", resourceDesc, updatedETags);
         }
 
         return result;
@@ -187,11 +187,12 @@ public class UpdateService<T> extends GitHubService {
                 elements.addAll(iterator.next());
                 int diff = elements.size() - length;
                 length = elements.size();
-                logger.info(resourceDesc + " | page " + (page++) + ": " + diff + " items");
+                logger.debug("{} | page {}: {} items", resourceDesc, page++, diff);
             }
         } catch (NoSuchPageException pageException) {
             throw pageException.getCause();
         }
+        logger.info("{} | {} items in {} page(s)", resourceDesc, elements.size(), page);
         return elements;
     }
 
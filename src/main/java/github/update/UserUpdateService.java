@@ -35,6 +35,6 @@ public class UserUpdateService extends UpdateService<User> {
     @Override
     public ArrayList<User> getUpdatedItems(IRepositoryIdProvider repoId) {
         logger.info("Requesting for " + repoId.generateId() + " collaborators' complete data");
-        return new ArrayList<>(CollaboratorServiceEx.getCompleteUserData(super.getUpdatedItems(repoId)));
+        return new ArrayList<>(CollaboratorServiceEx.getCompleteUserData(client, super.getUpdatedItems(repoId)));
     }
 }
@@ -1,5 +1,6 @@
 package prefs;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.egit.github.core.RepositoryId;
@@ -8,11 +9,17 @@ import util.HTLog;
 import util.JsonHelper;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents persistent user configuration.
@@ -22,6 +29,13 @@ import java.util.Optional;
  *
  * Use either Preferences.create() or Preferences.load() to obtain a Preferences instance.
  *
+ * When issues were marked read is kept apart from the config files, in a {@link ReadTrackingStore}.
+ *
+ * Changes are not written to the config files immediately. Instead, the configs are marked dirty and written in
+ * the background once no further changes have been made for a short while, so that many changes in quick
+ * succession, e.g. marking all issues in a panel as read, are written once. Call flush() to write any pending
+ * changes immediately, e.g. before quitting.
+ *
  * Overrides PMD's recommendation that this class should be final.
  * It cannot be as we need to mock it.
  * 
@@ -37,12 +51,29 @@ public class Preferences { // NOPMD
 
     private static final String DEFAULT_FILE_CONTENTS = "{}";
 
+    // Pending changes are written this long after the last change, but no later than MAX_SAVE_DELAY_MILLIS
+    // after the first one, so that a steady stream of changes is still written
+    private static final long SAVE_DELAY_MILLIS = 500;
+    private static final long MAX_SAVE_DELAY_MILLIS = 5000;
+
+    private static final ScheduledExecutorService saveExecutor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("preferences-save-%d").setDaemon(true).build());
+
     private final String configDirectory;
     private final String sessionConfigFileName;
     private final String userConfigFileName;
 
     private final SessionConfig sessionConfig;
     private final UserConfig userConfig;
+    private final ReadTrackingStore readTrackingStore;
+
+    // Held while writing the config files, so that a later write cannot be overtaken by an earlier one
+    private final Object saveLock = new Object();
+
+    // Guarded by this
+    private boolean isDirty = false;
+    private long dirtySince;
+    private Optional<ScheduledFuture<?>> scheduledSave = Optional.empty();
 
     /**
      * Initialises a Preferences instance that contains the configurations in the config files specified.
@@ -52,7 +83,23 @@ public class Preferences { // NOPMD
      * @return The initialised Preferences instance.
      */
     public static Preferences load(String configDirectory, String sessionConfigFileName, String userConfigFileName) {
-        return new Preferences(configDirectory, sessionConfigFileName, userConfigFileName, false);
+        return load(configDirectory, sessionConfigFileName, userConfigFileName,
+                    getDefaultReadTrackingDirectory(configDirectory));
+    }
+
+    /**
+     * Initialises a Preferences instance that contains the configurations in the config files specified,
+     * and the times issues were marked read in the directory specified.
+     * @param configDirectory The directory that the config files are held in.
+     * @param sessionConfigFileName The name of the session config file to load.
+     * @param userConfigFileName The name of the user config file to load.
+     * @param readTrackingDirectory The directory that the times issues were marked read are held in.
+     * @return The initialised Preferences instance.
+     */
+    public static Preferences load(String configDirectory, String sessionConfigFileName, String userConfigFileName,
+                                   String readTrackingDirectory) {
+        return new Preferences(configDirectory, sessionConfigFileName, userConfigFileName, readTrackingDirectory,
+                               false);
     }
 
     /**
@@ -63,18 +110,40 @@ public class Preferences { // NOPMD
      * @return The initialised Preferences instance.
      */
     public static Preferences create(String configDirectory, String sessionConfigFileName, String userConfigFileName) {
-        return new Preferences(configDirectory, sessionConfigFileName, userConfigFileName, true);
+        return create(configDirectory, sessionConfigFileName, userConfigFileName,
+                      getDefaultReadTrackingDirectory(configDirectory));
+    }
+
+    /**
+     * Initialises a Preferences instance that creates new config files, and new files for the times issues
+     * were marked read in the directory specified.
+     * @param configDirectory The directory that the config files are held in.
+     * @param sessionConfigFileName The name of the session config file to create.
+     * @param userConfigFileName The name of the user config file to create.
+     * @param readTrackingDirectory The directory that the times issues were marked read are held in.
+     * @return The initialised Preferences instance.
+     */
+    public static Preferences create(String configDirectory, String sessionConfigFileName, String userConfigFileName,
+                                     String readTrackingDirectory) {
+        return new Preferences(configDirectory, sessionConfigFileName, userConfigFileName, readTrackingDirectory,
+                               true);
+    }
+
+    private static String getDefaultReadTrackingDirectory(String configDirectory) {
+        return Paths.get(configDirectory, ReadTrackingStore.DIRECTORY_NAME).toString();
     }
 
     /**
      * @param configDirectory The directory that the config files are held in.
      * @param sessionConfigFileName The name of the session config file
      * @param userConfigFileName The name of the user config file
+     * @param readTrackingDirectory The directory that the times issues were marked read are held in
      * @param isIgnoreExisting True if existing config file is to be ignored.
      */
     private Preferences(String configDirectory,
                         String sessionConfigFileName,
                         String userConfigFileName,
+                        String readTrackingDirectory,
                         boolean isIgnoreExisting) {
         this.configDirectory = configDirectory;
         this.sessionConfigFileName = sessionConfigFileName;
@@ -87,6 +156,28 @@ public class Preferences { // NOPMD
             this.sessionConfig = loadConfig(configDirectory, sessionConfigFileName, SessionConfig.class);
             this.userConfig = loadConfig(configDirectory, userConfigFileName, UserConfig.class);
         }
+        this.readTrackingStore = new ReadTrackingStore(readTrackingDirectory, isIgnoreExisting);
+        moveMarkedReadTimes();
+    }
+
+    /**
+     * Moves the times issues were marked read from session configs of older versions to the read tracking store.
+     * They are only removed from the session config once they have been written to the store, so that none are
+     * lost; if they cannot be written, they are kept in the session config and moved again on the next start.
+     */
+    private void moveMarkedReadTimes() {
+        Map<String, Map<Integer, LocalDateTime>> markedReadTimes = sessionConfig.getMarkedReadTimes();
+        if (markedReadTimes.isEmpty()) {
+            return;
+        }
+        logger.info("Moving read marks of " + markedReadTimes.size() + " repos out of the session config");
+        readTrackingStore.addAll(markedReadTimes);
+        if (!readTrackingStore.flush()) {
+            logger.error("Could not write read marks to the read tracking store; keeping them in the session config");
+            return;
+        }
+        sessionConfig.clearMarkedReadTimes();
+        markDirty();
     }
 
     /**
@@ -121,12 +212,50 @@ public class Preferences { // NOPMD
         return createConfig(fileContents, configClass);
     }
 
+    /**
+     * Marks the session and user configs as changed, scheduling them to be saved to file
+     */
+    private synchronized void markDirty() {
+        long now = System.currentTimeMillis();
+        if (!isDirty) {
+            isDirty = true;
+            dirtySince = now;
+        }
+        scheduledSave.ifPresent(save -> save.cancel(false));
+        long delay = Math.min(SAVE_DELAY_MILLIS, dirtySince + MAX_SAVE_DELAY_MILLIS - now);
+        scheduledSave = Optional.of(saveExecutor.schedule(this::flush, Math.max(0, delay), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Saves the session and user configs to file if they have changed since they were last saved
+     */
+    public void flush() {
+        readTrackingStore.flush();
+        synchronized (saveLock) {
+            String sessionJson;
+            String userJson;
+            synchronized (this) {
+                if (!isDirty) {
+                    return;
+                }
+                isDirty = false;
+                scheduledSave.ifPresent(save -> save.cancel(false));
+                scheduledSave = Optional.empty();
+                sessionJson = JsonHelper.toJsonString(sessionConfig, SessionConfig.class);
+                userJson = JsonHelper.toJsonString(userConfig, UserConfig.class);
+            }
+            save(sessionJson, userJson);
+        }
+    }
+
     /**
      * Saves the session and user configs to file
+     * @param sessionJson The JSON representation of the session config
+     * @param userJson The JSON representation of the user config
      */
-    private void save() {
+    private void save(String sessionJson, String userJson) {
         try {
-            saveConfig(sessionConfig, configDirectory, sessionConfigFileName, SessionConfig.class);
+            saveConfig(sessionJson, configDirectory, sessionConfigFileName);
 
         } catch (IOException e) {
             HTLog.error(logger, e);
@@ -134,7 +263,7 @@ public class Preferences { // NOPMD
         }
 
         try {
-            saveConfig(userConfig, configDirectory, userConfigFileName, UserConfig.class);
+            saveConfig(userJson, configDirectory, userConfigFileName);
 
         } catch (IOException e) {
             HTLog.error(logger, e);
@@ -144,15 +273,12 @@ public class Preferences { // NOPMD
 
     /**
      * Saves a Config to file
-     * @param config The config object to save.
+     * @param configJson The JSON representation of the config object to save.
      * @param configDirectory The directory that the config file is held in.
      * @param configFileName The file name of the config file on disk
-     * @param configClass The class of the config object
      */
-    private <T> void saveConfig(T config, String configDirectory, String configFileName, Class configClass)
-            throws IOException {
-        String jsonString = JsonHelper.toJsonString(config, configClass);
-        FileHelper.writeFileContents(configDirectory, configFileName, jsonString);
+    private void saveConfig(String configJson, String configDirectory, String configFileName) throws IOException {
+        FileHelper.writeFileContents(configDirectory, configFileName, configJson);
     }
 
     public String getLastLoginPassword() {
@@ -163,24 +289,24 @@ public class Preferences { // NOPMD
         return sessionConfig.getLastLoginUsername();
     }
 
-    public void setLastLoginCredentials(String lastLoginUsername, String lastLoginPassword) {
+    public synchronized void setLastLoginCredentials(String lastLoginUsername, String lastLoginPassword) {
         sessionConfig.setLastLoginCredentials(lastLoginUsername, lastLoginPassword);
-        save();
+        markDirty();
     }
 
     public List<PanelInfo> getPanelInfo() {
         return sessionConfig.getPanelInfo();
     }
 
-    public void setPanelInfo(List<PanelInfo> panelInfo) {
+    public synchronized void setPanelInfo(List<PanelInfo> panelInfo) {
         sessionConfig.setPanelInfo(panelInfo);
-        save();
+        markDirty();
     }
 
-    public void addBoard(String boardName, List<PanelInfo> panelsInBoard) {
+    public synchronized void addBoard(String boardName, List<PanelInfo> panelsInBoard) {
         assert boardName != null && panelsInBoard != null;
         sessionConfig.addBoard(boardName, panelsInBoard);
-        save();
+        markDirty();
     }
 
     public Map<String, List<PanelInfo>> getAllBoards() {
@@ -191,21 +317,21 @@ public class Preferences { // NOPMD
         return new ArrayList<>(getAllBoards().keySet());
     }
 
-    public void removeBoard(String boardName) {
+    public synchronized void removeBoard(String boardName) {
         sessionConfig.removeBoard(boardName);
-        save();
+        markDirty();
     }
 
-    public void setLastOpenBoard(String boardName) {
+    public synchronized void setLastOpenBoard(String boardName) {
         sessionConfig.setLastOpenBoard(boardName);
-        save();
+        markDirty();
     }
 
     public Optional<String> getLastOpenBoard() {
         return sessionConfig.getLastOpenBoard();
     }
 
-    public void setLastOpenBoardPanelInfos(List<PanelInfo> panelInfos) {
+    public synchronized void setLastOpenBoardPanelInfos(List<PanelInfo> panelInfos) {
         sessionConfig.setLastOpenBoardPanelInfos(panelInfos);
     }
 
@@ -233,28 +359,28 @@ public class Preferences { // NOPMD
         return Optional.of(boardNames.get(nextIndex));
     }
 
-    public void clearLastOpenBoard() {
+    public synchronized void clearLastOpenBoard() {
         sessionConfig.clearLastOpenBoard();
-        save();
+        markDirty();
     }
 
-    public void clearLastOpenBoardPanelInfos() {
+    public synchronized void clearLastOpenBoardPanelInfos() {
         sessionConfig.clearLastOpenBoardPanelInfos();
-        save();
+        markDirty();
     }
 
     public List<PanelInfo> getBoardPanels(String boardName) {
         return sessionConfig.getBoardPanels(boardName);
     }
 
-    public void clearAllBoards() {
+    public synchronized void clearAllBoards() {
         sessionConfig.clearAllBoards();
-        save();
+        markDirty();
     }
 
-    public void setLastViewedRepository(String repositoryName) {
+    public synchronized void setLastViewedRepository(String repositoryName) {
         sessionConfig.setLastViewedRepository(repositoryName);
-        save();
+        markDirty();
     }
 
     public Optional<RepositoryId> getLastViewedRepository() {
@@ -274,8 +400,7 @@ public class Preferences { // NOPMD
      * @param issue The issue to clear
      */
     public void clearMarkedReadAt(String repoId, int issue) {
-        sessionConfig.clearMarkedReadAt(repoId, issue);
-        save();
+        readTrackingStore.clear(repoId, Collections.singletonList(issue));
     }
 
     /**
@@ -285,8 +410,26 @@ public class Preferences { // NOPMD
      * @param timeReadAt The time it was marked read
      */
     public void setMarkedReadAt(String repoId, int issue, LocalDateTime timeReadAt) {
-        sessionConfig.setMarkedReadAt(repoId, issue, timeReadAt);
-        save();
+        readTrackingStore.set(repoId, Collections.singletonList(issue), timeReadAt);
+    }
+
+    /**
+     * Clears marked read at of a number of issues at the specified repo, saving them together
+     * @param repoId The repo that the issues reside in
+     * @param issues The issues to clear
+     */
+    public void clearMarkedReadAt(String repoId, List<Integer> issues) {
+        readTrackingStore.clear(repoId, issues);
+    }
+
+    /**
+     * Sets the marked read at of a number of issues in a repo to a certain time, saving them together
+     * @param repoId The repo of the issues
+     * @param issues The issues to set
+     * @param timeReadAt The time they were marked read
+     */
+    public void setMarkedReadAt(String repoId, List<Integer> issues, LocalDateTime timeReadAt) {
+        readTrackingStore.set(repoId, issues, timeReadAt);
     }
 
     /**
@@ -296,6 +439,24 @@ public class Preferences { // NOPMD
      * @return An Optional of the marked read at
      */
     public Optional<LocalDateTime> getMarkedReadAt(String repoId, int issue) {
-        return sessionConfig.getMarkedReadAt(repoId, issue);
+        return readTrackingStore.get(repoId, issue);
+    }
+
+    /**
+     * Retrieves the marked read at of all issues in a repo, for looking up many issues at once
+     * @param repoId The repo of the issues
+     * @return The marked read at of the issues marked read, by issue id
+     */
+    public Map<Integer, LocalDateTime> getMarkedReadTimes(String repoId) {
+        return readTrackingStore.getAll(repoId);
+    }
+
+    /**
+     * Discards the marked read at of issues in a repo which no longer exist
+     * @param repoId The repo of the issues
+     * @param issues The issues which still exist
+     */
+    public void retainMarkedReadAt(String repoId, List<Integer> issues) {
+        readTrackingStore.retain(repoId, issues);
     }
 }
@@ -0,0 +1,385 @@
+package prefs;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.Logger;
+import util.FileHelper;
+import util.HTLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Stores when issues were marked read, apart from the session config, in a compact file for each repository:
+ * the ids of the issues marked read, sorted, followed by the times they were marked read in epoch seconds.
+ * Marks made afterwards are appended to the file as records of an id and a time, and the file is rewritten
+ * once the records outnumber the marks before them, or when the marks of issues which no longer exist are
+ * discarded.
+ * <p>
+ * A repository's marks are loaded when they are first needed. Files are written in the background, in the
+ * order the marks were made; flush() waits for them to be written, and tells whether they were. Thread-safe.
+ */
+public class ReadTrackingStore {
+
+    private static final Logger logger = HTLog.get(ReadTrackingStore.class);
+
+    public static final String DIRECTORY_NAME = "read";
+    private static final String FILE_EXTENSION = ".marks";
+
+    private static final int MAGIC = 0x48545244; // "HTRD"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int RECORD_BYTES = Integer.BYTES + Long.BYTES;
+
+    // The time of an appended record which clears a mark
+    private static final long CLEARED = Long.MIN_VALUE;
+
+    // A file is rewritten when more records than this, or than the marks before them, have been appended to it
+    private static final int MIN_RECORDS_BEFORE_REWRITE = 64;
+
+    private static final ExecutorService writeExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("read-tracking-store-%d").setDaemon(true).build());
+
+    private final String directory;
+    private final boolean isIgnoreExisting;
+    private final Map<String, RepoMarks> repos = new HashMap<>();
+
+    // Set when a write fails, until the next flush
+    private final AtomicBoolean isWriteFailed = new AtomicBoolean(false);
+
+    /**
+     * @param directory The directory that the files are held in.
+     * @param isIgnoreExisting True if existing files are to be ignored, and replaced when marks are made.
+     */
+    public ReadTrackingStore(String directory, boolean isIgnoreExisting) {
+        this.directory = directory;
+        this.isIgnoreExisting = isIgnoreExisting;
+    }
+
+    public synchronized Optional<LocalDateTime> get(String repoId, int issue) {
+        return getRepoMarks(repoId).get(issue);
+    }
+
+    /**
+     * @return a snapshot of the marks of all issues in a repository, by issue id
+     */
+    public synchronized Map<Integer, LocalDateTime> getAll(String repoId) {
+        RepoMarks marks = getRepoMarks(repoId);
+        return new ReadMarks(Arrays.copyOf(marks.ids, marks.size), Arrays.copyOf(marks.times, marks.size));
+    }
+
+    public synchronized void set(String repoId, Collection<Integer> issues, LocalDateTime time) {
+        RepoMarks marks = getRepoMarks(repoId);
+        long epochSecond = toEpochSecond(time);
+        issues.forEach(issue -> marks.put(issue, epochSecond));
+        append(repoId, marks, issues, epochSecond);
+    }
+
+    public synchronized void clear(String repoId, Collection<Integer> issues) {
+        RepoMarks marks = getRepoMarks(repoId);
+        List<Integer> removed = issues.stream().filter(marks::remove).collect(Collectors.toList());
+        if (!removed.isEmpty()) {
+            append(repoId, marks, removed, CLEARED);
+        }
+    }
+
+    /**
+     * Discards the marks of issues in a repository other than the given ones, e.g. those which were deleted
+     * or transferred. Does nothing if no issues are given, as when a repository could not be loaded.
+     *
+     * @param repoId
+     * @param issues The issues which still exist
+     */
+    public synchronized void retain(String repoId, Collection<Integer> issues) {
+        if (issues.isEmpty()) {
+            return;
+        }
+        RepoMarks marks = getRepoMarks(repoId);
+        Set<Integer> existing = new HashSet<>(issues);
+        boolean isRemoved = false;
+        for (int i = marks.size - 1; i >= 0; i--) {
+            if (!existing.contains(marks.ids[i])) {
+                isRemoved |= marks.remove(marks.ids[i]);
+            }
+        }
+        if (isRemoved) {
+            logger.info(HTLog.format(repoId, "Discarding read marks of issues which no longer exist"));
+            rewrite(repoId, marks);
+        }
+    }
+
+    /**
+     * Adds marks kept elsewhere, e.g. in an older version of the session config, rewriting the files of the
+     * repositories they are for.
+     *
+     * @param markedReadTimes The times issues were marked read, by repository and issue id
+     */
+    public synchronized void addAll(Map<String, Map<Integer, LocalDateTime>> markedReadTimes) {
+        markedReadTimes.forEach((repoId, times) -> {
+            RepoMarks marks = getRepoMarks(repoId);
+            times.forEach((issue, time) -> marks.put(issue, toEpochSecond(time)));
+            rewrite(repoId, marks);
+        });
+    }
+
+    /**
+     * Waits for all marks made so far to be written.
+     *
+     * @return false if any of the marks made since the last flush could not be written
+     */
+    public boolean flush() {
+        try {
+            writeExecutor.submit(() -> { }).get();
+        } catch (InterruptedException | ExecutionException e) {
+            HTLog.error(logger, e);
+            return false;
+        }
+        return !isWriteFailed.getAndSet(false);
+    }
+
+    private RepoMarks getRepoMarks(String repoId) {
+        return repos.computeIfAbsent(repoId, this::load);
+    }
+
+    private RepoMarks load(String repoId) {
+        RepoMarks marks = new RepoMarks();
+        Path path = Paths.get(directory, getFileName(repoId));
+        if (isIgnoreExisting || !Files.exists(path)) {
+            return marks;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unrecognised read marks file " + path);
+            }
+            int size = buffer.getInt();
+            marks.ids = new int[size];
+            marks.times = new long[size];
+            buffer.asIntBuffer().get(marks.ids);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            buffer.asLongBuffer().get(marks.times);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            marks.size = size;
+
+            // A partial record at the end, from an append which did not complete, is ignored
+            while (buffer.remaining() >= RECORD_BYTES) {
+                int issue = buffer.getInt();
+                long epochSecond = buffer.getLong();
+                if (epochSecond == CLEARED) {
+                    marks.remove(issue);
+                } else {
+                    marks.put(issue, epochSecond);
+                }
+                marks.records++;
+            }
+            marks.hasFile = true;
+        } catch (IOException | RuntimeException e) {
+            HTLog.error(logger, e);
+            logger.error(HTLog.format(repoId, "Could not load read marks; they will be rewritten"));
+            return new RepoMarks();
+        }
+        return marks;
+    }
+
+    /**
+     * Appends records of marks to a repository's file, or rewrites it if it has no file yet or has enough records.
+     */
+    private void append(String repoId, RepoMarks marks, Collection<Integer> issues, long epochSecond) {
+        marks.records += issues.size();
+        if (!marks.hasFile || marks.records > Math.max(MIN_RECORDS_BEFORE_REWRITE, marks.size)) {
+            rewrite(repoId, marks);
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(issues.size() * RECORD_BYTES);
+        issues.forEach(issue -> buffer.putInt(issue).putLong(epochSecond));
+        byte[] bytes = buffer.array();
+        Path path = Paths.get(directory, getFileName(repoId));
+        writeExecutor.execute(() -> {
+            try {
+                // Not created if missing, as a file without its header could not be read
+                Files.write(path, bytes, StandardOpenOption.APPEND);
+            } catch (NoSuchFileException e) {
+                isWriteFailed.set(true);
+                logger.error(HTLog.format(repoId, "Read marks file is missing; marks will be lost"));
+            } catch (IOException e) {
+                isWriteFailed.set(true);
+                HTLog.error(logger, e);
+            }
+        });
+    }
+
+    private void rewrite(String repoId, RepoMarks marks) {
+        marks.records = 0;
+        marks.hasFile = true;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + marks.size * (Integer.BYTES + Long.BYTES));
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(marks.size);
+        buffer.asIntBuffer().put(marks.ids, 0, marks.size);
+        buffer.position(buffer.position() + marks.size * Integer.BYTES);
+        buffer.asLongBuffer().put(marks.times, 0, marks.size);
+        byte[] bytes = buffer.array();
+        String fileName = getFileName(repoId);
+        writeExecutor.execute(() -> {
+            try {
+                FileHelper.writeFileBytes(directory, fileName, bytes);
+            } catch (IOException e) {
+                isWriteFailed.set(true);
+                HTLog.error(logger, e);
+                logger.error(HTLog.format(repoId, "Could not save read marks"));
+            }
+        });
+    }
+
+    private static String getFileName(String repoId) {
+        return repoId.replace("/", "-") + FILE_EXTENSION;
+    }
+
+    /**
+     * Rounds up to the next second, so that an issue marked read within the second it was updated still
+     * counts as read once its mark has been stored.
+     */
+    private static long toEpochSecond(LocalDateTime time) {
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getNano() == 0 ? instant.getEpochSecond() : instant.getEpochSecond() + 1;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+
+    /**
+     * The marks of a repository's issues, as parallel arrays sorted by issue id.
+     */
+    private static class RepoMarks {
+        private int[] ids = new int[0];
+        private long[] times = new long[0];
+        private int size = 0;
+
+        // Number of records appended to the file since it was last written in full
+        private int records = 0;
+        private boolean hasFile = false;
+
+        Optional<LocalDateTime> get(int issue) {
+            int index = Arrays.binarySearch(ids, 0, size, issue);
+            return index >= 0 ? Optional.of(toLocalDateTime(times[index])) : Optional.empty();
+        }
+
+        void put(int issue, long epochSecond) {
+            int index = Arrays.binarySearch(ids, 0, size, issue);
+            if (index >= 0) {
+                times[index] = epochSecond;
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                int capacity = Math.max(16, size * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                times = Arrays.copyOf(times, capacity);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(times, index, times, index + 1, size - index);
+            ids[index] = issue;
+            times[index] = epochSecond;
+            size++;
+        }
+
+        boolean remove(int issue) {
+            int index = Arrays.binarySearch(ids, 0, size, issue);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(times, index + 1, times, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+
+    /**
+     * An unmodifiable snapshot of the marks of a repository's issues, which looks them up by binary search.
+     */
+    private static class ReadMarks extends AbstractMap<Integer, LocalDateTime> {
+        private final int[] ids;
+        private final long[] times;
+
+        ReadMarks(int[] ids, long[] times) {
+            this.ids = ids;
+            this.times = times;
+        }
+
+        @Override
+        public LocalDateTime get(Object key) {
+            if (!(key instanceof Integer)) {
+                return null;
+            }
+            int index = Arrays.binarySearch(ids, (Integer) key);
+            return index >= 0 ? toLocalDateTime(times[index]) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer && Arrays.binarySearch(ids, (Integer) key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+
+        @Override
+        public Set<Entry<Integer, LocalDateTime>> entrySet() {
+            return new AbstractSet<Entry<Integer, LocalDateTime>>() {
+                @Override
+                public Iterator<Entry<Integer, LocalDateTime>> iterator() {
+                    return new Iterator<Entry<Integer, LocalDateTime>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < ids.length;
+                        }
+
+                        @Override
+                        public Entry<Integer, LocalDateTime> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<Integer, LocalDateTime> entry =
+                                    new SimpleImmutableEntry<>(ids[index], toLocalDateTime(times[index]));
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return ids.length;
+                }
+            };
+        }
+    }
+}
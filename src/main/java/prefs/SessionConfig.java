@@ -32,6 +32,7 @@ public class SessionConfig {
     private Optional<String> lastOpenBoard = Optional.empty();
     private Optional<List<PanelInfo>> lastOpenBoardPanelInfos = Optional.empty();
     private final Map<String, List<PanelInfo>> savedBoards = new LinkedHashMap<>();
+    // Only read from config files of older versions; see getMarkedReadTimes
     private final Map<String, Map<Integer, LocalDateTime>> markedReadTimes = new HashMap<>();
     private Map<String, String> keyboardShortcuts = new HashMap<>();
 
@@ -43,28 +44,21 @@ public class SessionConfig {
         this.keyboardShortcuts = new HashMap<>(keyboardShortcuts);
     }
 
-    public void setMarkedReadAt(String repoId, int issue, LocalDateTime time) {
-        if (!markedReadTimes.containsKey(repoId)) {
-            markedReadTimes.put(repoId, new HashMap<>());
-        }
-        markedReadTimes.get(repoId).put(issue, time);
-    }
-
-    public Optional<LocalDateTime> getMarkedReadAt(String repoId, int issue) {
-        if (!markedReadTimes.containsKey(repoId)) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable(markedReadTimes.get(repoId).get(issue));
+    /**
+     * Gets the times issues were marked read, which are no longer kept in the session config
+     * but in a {@link ReadTrackingStore}, so that they may be moved there.
+     *
+     * @return the times issues were marked read, by repository and issue id
+     */
+    public Map<String, Map<Integer, LocalDateTime>> getMarkedReadTimes() {
+        return new HashMap<>(markedReadTimes);
     }
 
-    public void clearMarkedReadAt(String repoId, int issue) {
-        if (!markedReadTimes.containsKey(repoId)) {
-            // No need to do anything
-            return;
-        }
-        if (markedReadTimes.get(repoId).containsKey(issue)) {
-            markedReadTimes.get(repoId).remove(issue);
-        }
+    /**
+     * Removes the times issues were marked read, once they have been moved to a {@link ReadTrackingStore}
+     */
+    public void clearMarkedReadTimes() {
+        markedReadTimes.clear();
     }
 
     public void addBoard(String name, List<PanelInfo> panels) {
@@ -3,6 +3,7 @@ package ui;
 import filter.expression.FilterExpression;
 import javafx.application.Platform;
 import javafx.scene.control.Label;
+import ui.components.FilterCompletions;
 import ui.issuepanel.FilterPanel;
 import ui.issuepanel.PanelControl;
 import ui.issuepanel.UIBrowserBridge;
@@ -53,7 +54,10 @@ public class GUIController {
      * that match the current panel's filter expression:
      * - If not, the panel does not change its appearance.
      * - If there is a match, the panel's issue list is changed to the corresponding one contained in the
-     * ModelUpdatedEvent.
+     * ModelUpdatedEvent. Panels which are not rendered only keep the list, and display it once they are
+     * scrolled into view.
+     * <p>
+     * The completions of filter text fields are also brought up to date with the models, in the background.
      *
      * @param e The ModelUpdatedEvent triggered by the uiManager.
      */
@@ -67,6 +71,7 @@ public class GUIController {
 
                     if (filterResult != null) ((FilterPanel) child).updatePanel(filterResult);
                 });
+        FilterCompletions.getInstance().updateAsync(ui.logic.getModels().toModels());
     }
 
     /**
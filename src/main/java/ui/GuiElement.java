@@ -4,6 +4,7 @@ import backend.resource.TurboIssue;
 import backend.resource.TurboLabel;
 import backend.resource.TurboMilestone;
 import backend.resource.TurboUser;
+import util.AvatarService;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +17,16 @@ public class GuiElement {
     private final Optional<TurboUser> assignee;
     private final Optional<TurboUser> author;
 
+    // Strings displayed by issue cards, formatted when the element is produced rather than on the JavaFX thread.
+    // Label styles are not kept here, as TurboLabel already computes them once per name and colour; nor are the
+    // events shown for updated: filters, as which of them are shown depends on the time the card is drawn.
+    private final String displayTitle;
+    private final Optional<String> milestoneTitle;
+    private final String authorName;
+    private final Optional<String> assigneeName;
+    private final Optional<String> authorAvatarKey;
+    private final Optional<String> assigneeAvatarKey;
+
     public GuiElement(TurboIssue issue,
                       List<TurboLabel> labels,
                       Optional<TurboMilestone> milestone,
@@ -26,6 +37,14 @@ public class GuiElement {
         this.milestone = milestone;
         this.assignee = assignee;
         this.author = author;
+        this.displayTitle = "#" + issue.getId() + " " + issue.getTitle();
+        this.milestoneTitle = issue.getMilestone().isPresent() ?
+                milestone.map(TurboMilestone::getTitle) :
+                Optional.empty();
+        this.authorName = issue.getCreator();
+        this.assigneeName = issue.getAssignee();
+        this.authorAvatarKey = author.map(user -> AvatarService.getKey(user.getLoginName()));
+        this.assigneeAvatarKey = assignee.map(user -> AvatarService.getKey(user.getLoginName()));
     }
 
     public TurboIssue getIssue() {
@@ -55,6 +74,48 @@ public class GuiElement {
         return author;
     }
 
+    /**
+     * @return the issue's number and title, as shown on issue cards
+     */
+    public String getDisplayTitle() {
+        return displayTitle;
+    }
+
+    /**
+     * @return the title of the issue's milestone, or empty if the issue has no milestone or it is not in the model
+     */
+    public Optional<String> getMilestoneTitle() {
+        return milestoneTitle;
+    }
+
+    /**
+     * @return the login name of the issue's creator
+     */
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    /**
+     * @return the login name of the issue's assignee, if it has one
+     */
+    public Optional<String> getAssigneeName() {
+        return assigneeName;
+    }
+
+    /**
+     * @return the avatar key of the issue's creator, or empty if the creator is not in the model
+     */
+    public Optional<String> getAuthorAvatarKey() {
+        return authorAvatarKey;
+    }
+
+    /**
+     * @return the avatar key of the issue's assignee, or empty if it has none or the assignee is not in the model
+     */
+    public Optional<String> getAssigneeAvatarKey() {
+        return assigneeAvatarKey;
+    }
+
     public Optional<TurboLabel> getLabelByActualName(String actualName) {
         return labels.stream().filter(label -> label.getFullName().equals(actualName)).findFirst();
     }
@@ -1,20 +1,23 @@
 package ui;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import backend.resource.TurboIssue;
-import backend.resource.TurboMilestone;
+import backend.resource.TurboLabel;
 import backend.resource.TurboUser;
 import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import util.AvatarService;
 
 /**
  * Represents an individual issue card not linked to any panel
@@ -25,40 +28,60 @@ public class IssueCard extends VBox {
     private static final String OCTICON_PULL_REQUEST = "\uf009";
     private static final int CARD_WIDTH = 350;
     private static final String OCTICON_ARROW_RIGHT = "\uf03e";
+    private static final int AVATAR_SIZE = 12;
 
-    protected final GuiElement guiElement;
+    protected GuiElement guiElement;
     protected final FlowPane issueDetails;
-    private final boolean isIssueWithNewComments;
+    private final Label issueTitle;
+    private boolean isIssueWithNewComments;
+
+    // Nodes of the details pane, created once and reused whenever the card is rebound
+    private final Label pullRequestIcon = createIcon(OCTICON_PULL_REQUEST, "issue-pull-request-icon");
+    private final Label commentIcon = createIcon(OCTICON_COMMENT, "comments-label-button");
+    private final Label commentCount = new Label();
+    private final Label rightArrow = createIcon(OCTICON_ARROW_RIGHT, "pull-request-assign-icon");
+    private final Map<TurboLabel, Node> labelNodes = new HashMap<>();
 
     public IssueCard(GuiElement guiElement, boolean isFocus, boolean isIssueWithNewComments) {
-        this.guiElement = guiElement;
+        this.issueTitle = createTitleLabel();
         this.issueDetails = createDetailsPane();
-        this.isIssueWithNewComments = isIssueWithNewComments;
         this.setFocused(isFocus);
         setup();
+        bind(guiElement, isIssueWithNewComments);
     }
 
     private void setup() {
-        TurboIssue issue = guiElement.getIssue();
-        Label issueTitle = new Label("#" + issue.getId() + " " + issue.getTitle());
-        issueTitle.setMaxWidth(CARD_WIDTH);
-        issueTitle.setWrapText(true);
-        issueTitle.getStyleClass().add("issue-panel-name");
+        setPadding(new Insets(0, 0, 0, 0));
+        setSpacing(1);
 
-        if (issue.isCurrentlyRead()) {
-            issueTitle.getStyleClass().add("issue-panel-name-read");
-        }
+        getChildren().addAll(issueTitle, issueDetails);
+    }
 
-        if (!issue.isOpen()) {
-            issueTitle.getStyleClass().add("issue-panel-closed");
-        }
+    /**
+     * Makes this card display another issue, reusing its existing title and details nodes
+     * instead of constructing a new card.
+     *
+     * @param guiElement
+     * @param isIssueWithNewComments
+     */
+    public void bind(GuiElement guiElement, boolean isIssueWithNewComments) {
+        this.guiElement = guiElement;
+        this.isIssueWithNewComments = isIssueWithNewComments;
 
-        updateDetails();
+        TurboIssue issue = guiElement.getIssue();
+        issueTitle.setText(guiElement.getDisplayTitle());
+        setStyleClass(issueTitle, "issue-panel-name-read", issue.isCurrentlyRead());
+        setStyleClass(issueTitle, "issue-panel-closed", !issue.isOpen());
 
-        setPadding(new Insets(0, 0, 0, 0));
-        setSpacing(1);
+        updateDetails();
+    }
 
-        getChildren().addAll(issueTitle, issueDetails);
+    private static void setStyleClass(Label label, String styleClass, boolean isApplied) {
+        if (!isApplied) {
+            label.getStyleClass().remove(styleClass);
+        } else if (!label.getStyleClass().contains(styleClass)) {
+            label.getStyleClass().add(styleClass);
+        }
     }
 
     /**
@@ -74,6 +97,14 @@ public class IssueCard extends VBox {
         return this;
     }
 
+    private Label createTitleLabel() {
+        Label titleLabel = new Label();
+        titleLabel.setMaxWidth(CARD_WIDTH);
+        titleLabel.setWrapText(true);
+        titleLabel.getStyleClass().add("issue-panel-name");
+        return titleLabel;
+    }
+
     private FlowPane createDetailsPane() {
         FlowPane detailsPane = new FlowPane();
         detailsPane.setMaxWidth(CARD_WIDTH);
@@ -89,49 +120,48 @@ public class IssueCard extends VBox {
 
         addPullRequestIcon(issue);
         addCommentIcon(issue);
-        addMilestoneIcon(issue);
+        addMilestoneIcon();
 
         createAuthorBox(issue);
-        createAssigneeBox(issue);
-        guiElement.getLabels().forEach(label -> issueDetails.getChildren().add(label.getNode()));
+        createAssigneeBox();
+        guiElement.getLabels().forEach(label ->
+                issueDetails.getChildren().add(labelNodes.computeIfAbsent(label, TurboLabel::getNode)));
+    }
+
+    private static Label createIcon(String octicon, String styleClass) {
+        Label icon = new Label(octicon);
+        icon.getStyleClass().addAll("octicon", styleClass);
+        return icon;
     }
 
-    private void createAssigneeBox(TurboIssue issue) {
-        if (issue.getAssignee().isPresent()) {
-            HBox assigneeBox = createDisplayUserBox(guiElement.getAssignee(), issue.getAssignee().get());
+    private void createAssigneeBox() {
+        if (guiElement.getAssigneeName().isPresent()) {
+            HBox assigneeBox = createDisplayUserBox(guiElement.getAssignee(), guiElement.getAssigneeName().get(),
+                                                    guiElement.getAssigneeAvatarKey());
             issueDetails.getChildren().add(assigneeBox);
         }
     }
 
     private void createAuthorBox(TurboIssue issue) {
         if (issue.isPullRequest()) {
-            HBox authorBox = createDisplayUserBox(guiElement.getAuthor(), issue.getCreator());
+            HBox authorBox = createDisplayUserBox(guiElement.getAuthor(), guiElement.getAuthorName(),
+                                                  guiElement.getAuthorAvatarKey());
             issueDetails.getChildren().add(authorBox);
-            if (issue.getAssignee().isPresent()) {
-                Label rightArrow = new Label(OCTICON_ARROW_RIGHT);
-                rightArrow.getStyleClass().addAll("octicon", "pull-request-assign-icon");
+            if (guiElement.getAssigneeName().isPresent()) {
                 issueDetails.getChildren().add(rightArrow);
             }
         }
     }
 
-    private void addMilestoneIcon(TurboIssue issue) {
-        if (issue.getMilestone().isPresent() && guiElement.getMilestone().isPresent()) {
-            TurboMilestone milestone = guiElement.getMilestone().get();
-            issueDetails.getChildren().add(new Label(milestone.getTitle()));
-        }
+    private void addMilestoneIcon() {
+        guiElement.getMilestoneTitle().ifPresent(title -> issueDetails.getChildren().add(new Label(title)));
     }
 
     private void addCommentIcon(TurboIssue issue) {
         if (issue.getCommentCount() > 0) {
-            Label commentIcon = new Label(OCTICON_COMMENT);
-            commentIcon.getStyleClass().addAll("octicon", "comments-label-button");
-            Label commentCount = new Label(Integer.toString(issue.getCommentCount()));
-
-            if (isIssueWithNewComments) {
-                commentIcon.getStyleClass().add("has-comments");
-                commentCount.getStyleClass().add("has-comments");
-            }
+            commentCount.setText(Integer.toString(issue.getCommentCount()));
+            setStyleClass(commentIcon, "has-comments", isIssueWithNewComments);
+            setStyleClass(commentCount, "has-comments", isIssueWithNewComments);
 
             issueDetails.getChildren().add(commentIcon);
             issueDetails.getChildren().add(commentCount);
@@ -140,9 +170,7 @@ public class IssueCard extends VBox {
 
     private void addPullRequestIcon(TurboIssue issue) {
         if (issue.isPullRequest()) {
-            Label icon = new Label(OCTICON_PULL_REQUEST);
-            icon.getStyleClass().addAll("octicon", "issue-pull-request-icon");
-            issueDetails.getChildren().add(icon);
+            issueDetails.getChildren().add(pullRequestIcon);
         }
     }
 
@@ -152,19 +180,20 @@ public class IssueCard extends VBox {
      *
      * @param user
      * @param userName
+     * @param avatarKey the user's avatar key, present if the user is
      * @return
      */
-    private HBox createDisplayUserBox(Optional<TurboUser> user, String userName) {
+    private HBox createDisplayUserBox(Optional<TurboUser> user, String userName, Optional<String> avatarKey) {
         HBox userBox = setupUserBox();
         Label authorNameLabel = new Label(userName);
-        addAvatarIfPresent(userBox, user);
+        addAvatarIfPresent(userBox, user, avatarKey);
         userBox.getChildren().addAll(authorNameLabel);
         return userBox;
     }
 
-    private void addAvatarIfPresent(HBox userBox, Optional<TurboUser> user) {
-        if (!user.isPresent()) return;
-        ImageView userAvatar = getAvatar(user.get());
+    private void addAvatarIfPresent(HBox userBox, Optional<TurboUser> user, Optional<String> avatarKey) {
+        if (!user.isPresent() || !avatarKey.isPresent()) return;
+        ImageView userAvatar = getAvatar(user.get(), avatarKey.get());
         userBox.getChildren().add(userAvatar);
     }
 
@@ -175,17 +204,13 @@ public class IssueCard extends VBox {
     }
 
     /**
-     * Attempts to get the TurboUser's avatar
+     * Gets the TurboUser's avatar. An empty placeholder of the same size is shown until the avatar is loaded.
      *
      * @param user
-     * @return ImageView that contains the avatar image if it exists or an empty ImageView if it doesn't exist
+     * @param avatarKey
+     * @return ImageView that contains the avatar image once it is loaded, or stays empty if it cannot be
      */
-    private ImageView getAvatar(TurboUser user) {
-        ImageView userAvatar = new ImageView();
-        Image userAvatarImage = user.getAvatarImage();
-        if (userAvatarImage != null) {
-            userAvatar.setImage(userAvatarImage);
-        }
-        return userAvatar;
+    private ImageView getAvatar(TurboUser user, String avatarKey) {
+        return AvatarService.getInstance().createAvatarView(avatarKey, user.getAvatarURL(), AVATAR_SIZE);
     }
 }
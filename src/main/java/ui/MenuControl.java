@@ -4,17 +4,25 @@ import javafx.application.Platform;
 import javafx.scene.control.*;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ButtonBar.ButtonData;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import prefs.PanelInfo;
 import prefs.Preferences;
+import ui.issuepanel.FilterPanel;
 import ui.issuepanel.PanelControl;
+import ui.issuepanel.PanelInstrumentation;
 import util.DialogMessage;
+import util.SyncTracer;
 import util.Utility;
 import util.events.*;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,6 +38,7 @@ public class MenuControl extends MenuBar {
     private final Stage mainStage;
     private final BoardAutoCreator boardAutoCreator;
     private final PanelMenuCreator panelMenuCreator;
+    private NetworkDiagnosticsWindow networkDiagnosticsWindow;
 
     public MenuControl(UI ui, PanelControl panels, ScrollPane panelsScrollPane, Preferences prefs, Stage mainStage) {
         this.panels = panels;
@@ -59,7 +68,11 @@ public class MenuControl extends MenuBar {
         Menu view = new Menu("View");
         view.getItems().addAll(
                 createRefreshMenuItem(),
-                createDocumentationMenuItem());
+                createDocumentationMenuItem(),
+                new SeparatorMenuItem());
+        view.getItems().addAll(createInstrumentationMenuItems());
+        view.getItems().addAll(createSyncTracingMenuItems());
+        view.getItems().add(createNetworkDiagnosticsMenuItem());
 
         Menu update = createUpdateMenu();
 
@@ -346,6 +359,94 @@ public class MenuControl extends MenuBar {
         return documentationMenuItem;
     }
 
+    /**
+     * Creates the items that toggle panel instrumentation and export what it has recorded.
+     */
+    private MenuItem[] createInstrumentationMenuItems() {
+        CheckMenuItem instrumentation = new CheckMenuItem("Instrumentation");
+        MenuItem export = new MenuItem("Export Instrumentation as CSV...");
+        export.disableProperty().bind(instrumentation.selectedProperty().not());
+
+        instrumentation.setOnAction(e -> {
+            logger.info("Menu: View > Instrumentation");
+            PanelInstrumentation.getInstance().setEnabled(instrumentation.isSelected());
+        });
+        export.setOnAction(e -> {
+            logger.info("Menu: View > Export Instrumentation as CSV");
+            exportInstrumentation();
+        });
+        return new MenuItem[] { instrumentation, export };
+    }
+
+    private void exportInstrumentation() {
+        List<FilterPanel> filterPanels = panels.getChildren().stream()
+                .filter(child -> child instanceof FilterPanel)
+                .map(child -> (FilterPanel) child)
+                .collect(Collectors.toList());
+        String csv = PanelInstrumentation.getInstance().toCsv(filterPanels);
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Instrumentation");
+        fileChooser.setInitialFileName("instrumentation.csv");
+        File file = fileChooser.showSaveDialog(mainStage);
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.write(file.toPath(), csv.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Could not export instrumentation: " + e.getMessage(), e);
+            DialogMessage.showErrorDialog("Could not export instrumentation", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the items that toggle tracing of syncing and export the traces recorded.
+     */
+    private MenuItem[] createSyncTracingMenuItems() {
+        CheckMenuItem tracing = new CheckMenuItem("Trace Sync");
+        MenuItem export = new MenuItem("Export Sync Trace...");
+        export.disableProperty().bind(tracing.selectedProperty().not());
+
+        tracing.setOnAction(e -> {
+            logger.info("Menu: View > Trace Sync");
+            SyncTracer.getInstance().setEnabled(tracing.isSelected());
+        });
+        export.setOnAction(e -> {
+            logger.info("Menu: View > Export Sync Trace");
+            exportSyncTrace();
+        });
+        return new MenuItem[] { tracing, export };
+    }
+
+    private void exportSyncTrace() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Sync Trace");
+        fileChooser.setInitialFileName("sync-trace.json");
+        File file = fileChooser.showSaveDialog(mainStage);
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.write(file.toPath(), SyncTracer.getInstance().toChromeTraceJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Could not export sync trace: " + e.getMessage(), e);
+            DialogMessage.showErrorDialog("Could not export sync trace", e.getMessage());
+        }
+    }
+
+    private MenuItem createNetworkDiagnosticsMenuItem() {
+        MenuItem networkDiagnostics = new MenuItem("Network Diagnostics");
+        networkDiagnostics.setOnAction(e -> {
+            logger.info("Menu: View > Network Diagnostics");
+            if (networkDiagnosticsWindow == null) {
+                networkDiagnosticsWindow = new NetworkDiagnosticsWindow(mainStage);
+            }
+            networkDiagnosticsWindow.show();
+        });
+        return networkDiagnostics;
+    }
+
     private MenuItem createRefreshMenuItem() {
         MenuItem refreshMenuItem = new MenuItem("Refresh");
         refreshMenuItem.setOnAction((e) -> {
@@ -0,0 +1,112 @@
+package ui;
+
+import github.RequestTelemetry;
+import github.RequestTelemetry.RequestSummary;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import org.apache.logging.log4j.Logger;
+import util.DialogMessage;
+import util.HTLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * Shows the requests made to GitHub in the last hour, as recorded by {@link RequestTelemetry}, summarised by
+ * type of resource and by repository, and exports them as JSON.
+ */
+public class NetworkDiagnosticsWindow {
+
+    private static final Logger logger = HTLog.get(NetworkDiagnosticsWindow.class);
+
+    private static final String WINDOW_TITLE = "Network Diagnostics";
+    private static final String[] COLUMNS = {
+        "", "Requests", "304s", "Errors", "KB", "Rate limit used", "Median ms", "90th % ms", "Max ms"
+    };
+
+    private final Stage window = new Stage();
+    private final VBox summaries = new VBox(10);
+
+    public NetworkDiagnosticsWindow(Window owner) {
+        window.setTitle(WINDOW_TITLE);
+        window.initOwner(owner);
+
+        Button refresh = new Button("Refresh");
+        refresh.setOnAction(e -> refresh());
+        Button export = new Button("Export as JSON...");
+        export.setOnAction(e -> export());
+        HBox buttons = new HBox(10, refresh, export);
+        buttons.setAlignment(Pos.CENTER_RIGHT);
+
+        VBox layout = new VBox(10, new ScrollPane(summaries), buttons);
+        layout.setPadding(new Insets(10));
+        window.setScene(new Scene(layout));
+    }
+
+    public void show() {
+        refresh();
+        window.show();
+        window.toFront();
+    }
+
+    private void refresh() {
+        RequestTelemetry telemetry = RequestTelemetry.getInstance();
+        summaries.getChildren().setAll(
+                new Label("By resource"), createTable(telemetry.summariseByResource()),
+                new Label("By repository"), createTable(telemetry.summariseByRepo()));
+        window.sizeToScene();
+    }
+
+    private static GridPane createTable(Map<String, RequestSummary> rows) {
+        GridPane table = new GridPane();
+        table.setHgap(15);
+        table.setVgap(2);
+        for (int column = 0; column < COLUMNS.length; column++) {
+            table.add(new Label(COLUMNS[column]), column, 0);
+        }
+        int row = 1;
+        for (Map.Entry<String, RequestSummary> entry : rows.entrySet()) {
+            RequestSummary summary = entry.getValue();
+            table.addRow(row++,
+                         new Label(entry.getKey()),
+                         new Label(String.valueOf(summary.requests)),
+                         new Label(String.valueOf(summary.notModified)),
+                         new Label(String.valueOf(summary.errors)),
+                         new Label(String.valueOf(summary.bytes / 1024)),
+                         new Label(String.valueOf(summary.rateLimitUsed)),
+                         new Label(String.valueOf(summary.medianLatencyMillis)),
+                         new Label(String.valueOf(summary.p90LatencyMillis)),
+                         new Label(String.valueOf(summary.maxLatencyMillis)));
+        }
+        return table;
+    }
+
+    private void export() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Network Diagnostics");
+        fileChooser.setInitialFileName("network.json");
+        File file = fileChooser.showSaveDialog(window);
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.write(file.toPath(), RequestTelemetry.getInstance().toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Could not export network diagnostics: " + e.getMessage(), e);
+            DialogMessage.showErrorDialog("Could not export network diagnostics", e.getMessage());
+        }
+    }
+}
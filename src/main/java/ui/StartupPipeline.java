@@ -0,0 +1,238 @@
+package ui;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import javafx.application.Platform;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The stages of starting HubTurbo, and how long each of them takes.
+ * <p>
+ * The stages needed to show the board are run at once, one after another on the JavaFX thread. Those which
+ * are not, like checking for updates and the first refresh, are deferred until the board is shown and HubTurbo
+ * is interactive; they are then run one after another on a background thread, or on the JavaFX thread, between
+ * the handling of other events. A stage which completes asynchronously, like a refresh, is timed until it
+ * completes, without holding up the stages after it.
+ * <p>
+ * When the last stage is done, a startup report is logged with the time each stage started and took, and
+ * when HubTurbo became interactive, counted from when the JVM started.
+ */
+public class StartupPipeline {
+
+    private static final Logger logger = HTLog.get(StartupPipeline.class);
+
+    private final Executor fxExecutor;
+    private final Executor backgroundExecutor;
+
+    // The time the JVM started, as given by System.nanoTime
+    private final long originNanos;
+
+    private final List<StageTiming> timings = new ArrayList<>();
+    private final List<Runnable> deferredStages = new ArrayList<>();
+    private boolean isInteractive = false;
+    private long interactiveNanos;
+    private int pendingStages = 0;
+    private boolean isReported = false;
+
+    public StartupPipeline() {
+        this(Platform::runLater, Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("startup-%d").setDaemon(true).build()));
+    }
+
+    /**
+     * @param fxExecutor         runs the stages deferred to the JavaFX thread
+     * @param backgroundExecutor runs the stages deferred to a background thread, one at a time
+     */
+    public StartupPipeline(Executor fxExecutor, Executor backgroundExecutor) {
+        this.fxExecutor = fxExecutor;
+        this.backgroundExecutor = backgroundExecutor;
+        originNanos = System.nanoTime()
+                - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /**
+     * Runs a stage at once, on the current thread.
+     *
+     * @param name
+     * @param stage
+     */
+    public void run(String name, Runnable stage) {
+        long startNanos = System.nanoTime();
+        try {
+            stage.run();
+        } finally {
+            record(name, startNanos);
+        }
+    }
+
+    /**
+     * Runs a stage on a background thread once HubTurbo is interactive.
+     *
+     * @param name
+     * @param stage
+     */
+    public void defer(String name, Runnable stage) {
+        defer(name, stage, backgroundExecutor);
+    }
+
+    /**
+     * Runs a stage on the JavaFX thread once HubTurbo is interactive.
+     *
+     * @param name
+     * @param stage
+     */
+    public void deferOnFxThread(String name, Runnable stage) {
+        defer(name, stage, fxExecutor);
+    }
+
+    /**
+     * Starts a stage on a background thread once HubTurbo is interactive, timing it until the future it
+     * returns completes.
+     *
+     * @param name
+     * @param stage
+     */
+    public void deferAsync(String name, Supplier<? extends CompletableFuture<?>> stage) {
+        addDeferredStage(() -> backgroundExecutor.execute(() -> {
+            String threadName = Thread.currentThread().getName();
+            long startNanos = System.nanoTime();
+            CompletableFuture<?> future;
+            try {
+                future = stage.get();
+            } catch (RuntimeException e) {
+                onDeferredStageFailed(name, threadName, startNanos, e);
+                return;
+            }
+            future.whenComplete((result, e) -> {
+                if (e == null) {
+                    record(name, threadName, startNanos);
+                    onDeferredStageDone();
+                } else {
+                    onDeferredStageFailed(name, threadName, startNanos, e);
+                }
+            });
+        }));
+    }
+
+    private void defer(String name, Runnable stage, Executor executor) {
+        addDeferredStage(() -> executor.execute(() -> {
+            try {
+                run(name, stage);
+            } catch (RuntimeException e) {
+                logger.error("Startup stage " + name + " failed", e);
+            } finally {
+                onDeferredStageDone();
+            }
+        }));
+    }
+
+    private void addDeferredStage(Runnable deferred) {
+        boolean isRunNow;
+        synchronized (this) {
+            pendingStages++;
+            isRunNow = isInteractive;
+            if (!isRunNow) {
+                deferredStages.add(deferred);
+            }
+        }
+        if (isRunNow) {
+            deferred.run();
+        }
+    }
+
+    private void onDeferredStageFailed(String name, String threadName, long startNanos, Throwable e) {
+        record(name, threadName, startNanos);
+        logger.error("Startup stage " + name + " failed", e);
+        onDeferredStageDone();
+    }
+
+    /**
+     * Records that HubTurbo is interactive, with the board shown, and starts the deferred stages.
+     * Only the first call has any effect.
+     */
+    public void markInteractive() {
+        List<Runnable> stages;
+        synchronized (this) {
+            if (isInteractive) {
+                return;
+            }
+            isInteractive = true;
+            interactiveNanos = System.nanoTime();
+            stages = new ArrayList<>(deferredStages);
+            deferredStages.clear();
+        }
+        logger.info("Interactive {} ms after the JVM started", toMillis(interactiveNanos - originNanos));
+        stages.forEach(Runnable::run);
+        if (stages.isEmpty()) {
+            onDeferredStageDone();
+        }
+    }
+
+    public synchronized boolean isInteractive() {
+        return isInteractive;
+    }
+
+    private void record(String name, long startNanos) {
+        record(name, Thread.currentThread().getName(), startNanos);
+    }
+
+    private synchronized void record(String name, String threadName, long startNanos) {
+        timings.add(new StageTiming(name, threadName, startNanos, System.nanoTime()));
+    }
+
+    private void onDeferredStageDone() {
+        synchronized (this) {
+            if (pendingStages > 0) {
+                pendingStages--;
+            }
+            if (pendingStages > 0 || isReported) {
+                return;
+            }
+            isReported = true;
+        }
+        logger.info(getReport());
+    }
+
+    /**
+     * @return the time each stage run so far started and took, and when HubTurbo became interactive
+     */
+    public synchronized String getReport() {
+        StringBuilder report = new StringBuilder("Startup report (ms since the JVM started):");
+        for (StageTiming timing : timings) {
+            report.append(String.format("%n  %-32s %8d %+8d  [%s]", timing.name,
+                                        toMillis(timing.startNanos - originNanos),
+                                        toMillis(timing.endNanos - timing.startNanos), timing.threadName));
+        }
+        if (isInteractive) {
+            report.append(String.format("%n  %-32s %8d", "Interactive", toMillis(interactiveNanos - originNanos)));
+        }
+        return report.toString();
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static final class StageTiming {
+        private final String name;
+        private final String threadName;
+        private final long startNanos;
+        private final long endNanos;
+
+        StageTiming(String name, String threadName, long startNanos, long endNanos) {
+            this.name = name;
+            this.threadName = threadName;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+}
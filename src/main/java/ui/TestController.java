@@ -31,6 +31,8 @@ public final class TestController {
     public static final String TEST_DIRECTORY = "settings";
     public static final String TEST_SESSION_CONFIG_FILENAME = "test.json";
     public static final String TEST_USER_CONFIG_FILENAME = "test_user.json";
+    // Kept apart from the read marks of the application, which are also in the settings directory
+    public static final String TEST_READ_TRACKING_DIRECTORY = TEST_DIRECTORY + "/test_read";
 
     private static UI ui;
     private static HashMap<String, String> commandLineArgs;
@@ -129,7 +131,8 @@ public final class TestController {
      * from it if it already exists.
      */
     public static Preferences loadTestPreferences() {
-        Preferences prefs = Preferences.load(TEST_DIRECTORY, TEST_SESSION_CONFIG_FILENAME, TEST_USER_CONFIG_FILENAME);
+        Preferences prefs = Preferences.load(TEST_DIRECTORY, TEST_SESSION_CONFIG_FILENAME, TEST_USER_CONFIG_FILENAME,
+                                             TEST_READ_TRACKING_DIRECTORY);
         prefs.setLastLoginCredentials("test", "test");
         return prefs;
     }
@@ -139,7 +142,8 @@ public final class TestController {
      * initialising it beforehand.
      */
     public static Preferences createTestPreferences() {
-        return Preferences.create(TEST_DIRECTORY, TEST_SESSION_CONFIG_FILENAME, TEST_USER_CONFIG_FILENAME);
+        return Preferences.create(TEST_DIRECTORY, TEST_SESSION_CONFIG_FILENAME, TEST_USER_CONFIG_FILENAME,
+                                  TEST_READ_TRACKING_DIRECTORY);
     }
 
     /**
@@ -4,7 +4,6 @@ import backend.Logic;
 import backend.UIManager;
 import browserview.BrowserComponent;
 import browserview.BrowserComponentStub;
-import com.google.common.eventbus.EventBus;
 import com.sun.jna.platform.win32.User32;
 import com.sun.jna.platform.win32.WinDef.HWND;
 import javafx.application.Application;
@@ -95,12 +94,13 @@ public class UI extends Application implements EventDispatcher {
     public static Preferences prefs;
     public static StatusUI status;
     public static EventDispatcher events;
-    public EventBus eventBus;
+    private TypedEventBus eventBus;
     private TickingTimer refreshTimer;
     public GUIController guiController;
     private NotificationController notificationController;
     public UndoController undoController;
     public UpdateManager updateManager;
+    private final StartupPipeline startup = new StartupPipeline();
 
 
     // Main UI elements
@@ -121,11 +121,15 @@ public class UI extends Application implements EventDispatcher {
 
     @Override
     public void start(Stage stage) {
-        initPreApplicationState();
-        initUI(stage);
-        initApplicationState();
+        startup.run("Preferences and events", this::initPreApplicationState);
+        startup.run("Main window", () -> initUI(stage));
+        startup.run("Logic", this::initApplicationState);
         warnIfJavaVersionOutdated();
-        login(TestController.isBypassLogin());
+        startup.run("Login and board", () -> login(TestController.isBypassLogin()));
+
+        startup.defer("Update check", updateManager::run);
+        startup.defer("Global hotkey", globalHotkey::init);
+        startup.deferOnFxThread("Main window handle", () -> getMainWindowHandle(mainStage.getTitle()));
     }
 
     private void login(boolean isBypassLogin) {
@@ -161,7 +165,6 @@ public class UI extends Application implements EventDispatcher {
                 });
             }
         }
-        getMainWindowHandle(mainStage.getTitle());
     }
 
     private void createAndLoadSampleBoard() {
@@ -178,12 +181,13 @@ public class UI extends Application implements EventDispatcher {
         //We infer this is the first time HT is being used if there are no repo data stored at the start up.
         //This check needs to be done at the very beginning of the startup, before HT downloads any repo data.
         boolean isAFirstTimeUser = logic.getStoredRepos().isEmpty();
-        logic.openPrimaryRepository(repoId);
+        openPrimaryRepositoryOnStartup(repoId);
         logic.setDefaultRepo(repoId);
         triggerEvent(new PrimaryRepoChangedEvent(repoId));
 
         triggerEvent(new BoardSavedEvent()); // Initializes boards
 
+        // The browser is launched on its own thread, and browser commands are queued there until it is
         if (TestController.isTestMode()) {
             if (TestController.isTestChromeDriver()) {
                 browserComponent = new BrowserComponent(this, screenManager, true);
@@ -205,6 +209,24 @@ public class UI extends Application implements EventDispatcher {
         }
     }
 
+    /**
+     * Shows the primary repository as it was stored, if it is, and brings it up to date once HubTurbo is
+     * interactive. A repository which is not stored is downloaded as usual, with the empty board shown meanwhile.
+     */
+    private void openPrimaryRepositoryOnStartup(String repoId) {
+        boolean isStored = logic.getStoredRepos().stream().anyMatch(repoId::equalsIgnoreCase);
+        if (TestController.isTestMode() || !isStored) {
+            logic.openPrimaryRepository(repoId);
+            Platform.runLater(startup::markInteractive);
+            return;
+        }
+        logic.openStoredPrimaryRepository(repoId)
+                .thenRun(() -> Platform.runLater(startup::markInteractive));
+        // Once the refresh is done, the timer is restarted on the JavaFX thread, where it is restarted otherwise
+        startup.deferAsync("First refresh", () -> logic.refresh()
+                .thenRun(() -> Platform.runLater(refreshTimer::restart)));
+    }
+
     private void initialisePickers() {
         new LabelPicker(this, mainStage);
         new MilestonePicker(this, mainStage);
@@ -228,7 +250,7 @@ public class UI extends Application implements EventDispatcher {
         TestController.setUI(this, getParameters());
         prefs = TestController.loadApplicationPreferences();
 
-        eventBus = new EventBus();
+        eventBus = new TypedEventBus();
         if (TestController.isTestMode()) {
             registerTestEvents();
         }
@@ -239,7 +261,6 @@ public class UI extends Application implements EventDispatcher {
         status = new HTStatusBar(this);
 
         updateManager = TestController.createUpdateManager();
-        updateManager.run();
     }
 
     private void initApplicationState() {
@@ -314,6 +335,7 @@ public class UI extends Application implements EventDispatcher {
         if (!TestController.isTestMode() || TestController.isTestGlobalConfig()) {
             panels.saveSession();
         }
+        prefs.flush();
         if (!TestController.isTestMode() || TestController.isCloseOnQuit()) {
             updateManager.onAppQuit();
             Platform.exit();
@@ -364,7 +386,6 @@ public class UI extends Application implements EventDispatcher {
     }
 
     private void setupGlobalKeyboardShortcuts(Scene scene) {
-        globalHotkey.init();
         scene.addEventHandler(KeyEvent.KEY_PRESSED, event -> {
             if (SHOW_ISSUE_PICKER.match(event)) {
                 triggerEvent(new ShowIssuePickerEvent(logic.getModels().getIssues(), true));
@@ -432,21 +453,28 @@ public class UI extends Application implements EventDispatcher {
 
     @Override
     public void registerEvent(EventHandler handler) {
-        eventBus.register(handler);
-        logger.info("Registered event handler " + handler.getClass().getInterfaces()[0].getSimpleName());
+        registerEvent(handler, DeliveryLane.SYNC);
+    }
+
+    @Override
+    public void registerEvent(EventHandler handler, DeliveryLane lane) {
+        eventBus.registerEvent(handler, lane);
+        logger.info("Registered event handler " + handler.getClass().getInterfaces()[0].getSimpleName()
+                            + " on lane " + lane);
     }
 
     @Override
     public void unregisterEvent(EventHandler handler) {
-        eventBus.unregister(handler);
+        eventBus.unregisterEvent(handler);
         logger.info("Unregistered event handler " + handler.getClass().getInterfaces()[0].getSimpleName());
     }
 
     @Override
     public <T extends Event> void triggerEvent(T event) {
-        logger.info("About to trigger event " + event.getClass().getSimpleName());
-        eventBus.post(event);
-        logger.info("Triggered event " + event.getClass().getSimpleName());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Triggering event {}", event.getClass().getSimpleName());
+        }
+        eventBus.triggerEvent(event);
     }
 
     public BrowserComponent getBrowserComponent() {
@@ -0,0 +1,225 @@
+package ui.components;
+
+import backend.resource.Model;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import filter.expression.QualifierType;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * The completion candidates of filter text fields after label:, milestone:, repo: and qualifiers taking a user,
+ * i.e. the labels, milestones, repositories and users of the open models, looked up by prefix in sorted arrays.
+ * <p>
+ * The vocabulary is rebuilt in the background when models are updated, only re-reading the repositories whose
+ * models have changed, and is replaced as a whole, so lookups never block and never see a partial update.
+ * Thread-safe.
+ */
+public final class FilterCompletions {
+
+    private static final Logger logger = HTLog.get(FilterCompletions.class);
+
+    private static final FilterCompletions instance = new FilterCompletions();
+
+    private enum Vocabulary {
+        LABELS, MILESTONES, USERS, REPOS
+    }
+
+    // Guarded by this
+    private final Map<String, Model> indexedModels = new HashMap<>();
+    private final Map<String, RepoVocabulary> repoVocabularies = new HashMap<>();
+
+    private volatile Map<Vocabulary, SortedWords> vocabularies = Collections.emptyMap();
+
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("filter-completions-%d").setDaemon(true).build());
+
+    public FilterCompletions() {
+    }
+
+    public static FilterCompletions getInstance() {
+        return instance;
+    }
+
+    /**
+     * Finds the values of a qualifier starting with the word being typed after it, ignoring case.
+     *
+     * @param qualifier the name or alias of the qualifier, e.g. label or l
+     * @param word
+     * @return the values, sorted, or empty if the qualifier has no vocabulary of its own
+     */
+    public Optional<List<String>> getValues(String qualifier, String word) {
+        return QualifierType.parse(qualifier)
+                .flatMap(FilterCompletions::getVocabulary)
+                .map(vocabulary -> {
+                    // Vocabularies are only built once there are models
+                    SortedWords values = vocabularies.get(vocabulary);
+                    return values == null ? new ArrayList<>() : values.getWordsStartingWith(word);
+                });
+    }
+
+    /**
+     * Rebuilds the vocabulary in the background.
+     *
+     * @param models the models of all open repositories
+     */
+    public void updateAsync(List<Model> models) {
+        updater.execute(() -> update(models));
+    }
+
+    /**
+     * Rebuilds the vocabulary from the repositories whose models have changed since the last update.
+     *
+     * @param models the models of all open repositories
+     */
+    public synchronized void update(List<Model> models) {
+        boolean isChanged = indexedModels.keySet()
+                .retainAll(models.stream().map(Model::getRepoId).collect(Collectors.toSet()));
+        repoVocabularies.keySet().retainAll(indexedModels.keySet());
+
+        for (Model model : models) {
+            if (indexedModels.get(model.getRepoId()) == model) {
+                continue;
+            }
+            indexedModels.put(model.getRepoId(), model);
+            RepoVocabulary vocabulary = new RepoVocabulary(model);
+            if (!vocabulary.equals(repoVocabularies.put(model.getRepoId(), vocabulary))) {
+                isChanged = true;
+            }
+        }
+
+        if (isChanged) {
+            vocabularies = mergeVocabularies();
+            logger.info("Rebuilt filter completions for " + repoVocabularies.size() + " repos");
+        }
+    }
+
+    private Map<Vocabulary, SortedWords> mergeVocabularies() {
+        Map<Vocabulary, List<String>> words = new HashMap<>();
+        for (Vocabulary vocabulary : Vocabulary.values()) {
+            words.put(vocabulary, new ArrayList<>());
+        }
+        words.get(Vocabulary.REPOS).addAll(repoVocabularies.keySet());
+        repoVocabularies.values().forEach(repo -> {
+            words.get(Vocabulary.LABELS).addAll(repo.labels);
+            words.get(Vocabulary.MILESTONES).addAll(repo.milestones);
+            words.get(Vocabulary.USERS).addAll(repo.users);
+        });
+
+        Map<Vocabulary, SortedWords> result = new HashMap<>();
+        words.forEach((vocabulary, list) -> result.put(vocabulary, new SortedWords(list)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Optional<Vocabulary> getVocabulary(QualifierType qualifier) {
+        switch (qualifier) {
+        case LABEL:
+        case LABELS:
+            return Optional.of(Vocabulary.LABELS);
+        case MILESTONE:
+        case MILESTONES:
+            return Optional.of(Vocabulary.MILESTONES);
+        case ASSIGNEE:
+        case AUTHOR:
+        case INVOLVES:
+            return Optional.of(Vocabulary.USERS);
+        case REPO:
+            return Optional.of(Vocabulary.REPOS);
+        default:
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The words a repository contributes to the vocabulary.
+     */
+    private static class RepoVocabulary {
+        private final List<String> labels;
+        private final List<String> milestones;
+        private final List<String> users;
+
+        RepoVocabulary(Model model) {
+            labels = model.getLabels().stream().map(TurboLabel::getFullName).collect(Collectors.toList());
+            milestones = model.getMilestones().stream().map(TurboMilestone::getTitle).collect(Collectors.toList());
+            users = model.getUsers().stream().map(TurboUser::getLoginName).collect(Collectors.toList());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RepoVocabulary other = (RepoVocabulary) o;
+            return labels.equals(other.labels) && milestones.equals(other.milestones) && users.equals(other.users);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = labels.hashCode();
+            result = 31 * result + milestones.hashCode();
+            result = 31 * result + users.hashCode();
+            return result;
+        }
+    }
+
+    /**
+     * Distinct words sorted case-insensitively, so that those starting with a prefix are found with a binary
+     * search and are next to each other.
+     */
+    private static class SortedWords {
+        private final String[] words;
+        private final String[] keys;
+
+        SortedWords(List<String> unsorted) {
+            Comparator<String> order = Comparator.comparing(String::toLowerCase);
+            TreeSet<String> distinct = new TreeSet<>(order.thenComparing(Comparator.naturalOrder()));
+            distinct.addAll(unsorted);
+            words = distinct.toArray(new String[distinct.size()]);
+            keys = Arrays.stream(words).map(String::toLowerCase).toArray(String[]::new);
+        }
+
+        List<String> getWordsStartingWith(String prefix) {
+            String key = prefix.toLowerCase();
+            List<String> result = new ArrayList<>();
+            for (int index = getFirstIndexNotBefore(key); index < keys.length && keys[index].startsWith(key);
+                 index++) {
+                result.add(words[index]);
+            }
+            return result;
+        }
+
+        /**
+         * Words differing only in case have the same key, so an arbitrary match of a plain binary search
+         * may not be the first word with the key.
+         *
+         * @return the index of the first key that is not less than {@code key}, or the number of keys if none is
+         */
+        private int getFirstIndexNotBefore(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.controlsfx.validation.ValidationSupport;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
@@ -56,9 +57,16 @@ public class FilterTextField extends TextField {
     // The list of keywords which will be used in completion
     private List<String> keywords = initCompletionKeywords();
 
+    // The values of qualifiers which will be used in completion
+    private final FilterCompletions completions;
 
     public FilterTextField(Predicate<String> validation) {
+        this(validation, FilterCompletions.getInstance());
+    }
+
+    public FilterTextField(Predicate<String> validation, FilterCompletions completions) {
         super("");
+        this.completions = completions;
         suggestions = setupSuggestion();
         setup(validation);
     }
@@ -93,7 +101,7 @@ public class FilterTextField extends TextField {
                 suggestions.hide();
                 suggestions.getSelectedContent().ifPresent(this::completeWord);
             } else {
-                suggestions.loadSuggestions(getMatchingKeywords(getCurrentWord()));
+                suggestions.loadSuggestions(getCompletions());
                 if (!suggestions.isShowing()) suggestions.show(this, Side.BOTTOM, 0, 0);
             }
         });
@@ -115,7 +123,7 @@ public class FilterTextField extends TextField {
             isNavigating = e.getCode() == KeyCode.UP || e.getCode() == KeyCode.DOWN;
 
             if (suggestions.isShowing() && !isNavigating) {
-                suggestions.loadSuggestions(getMatchingKeywords(getCurrentWord()));
+                suggestions.loadSuggestions(getCompletions());
             }
         });
         addEventHandler(KeyEvent.KEY_PRESSED, event -> {
@@ -159,6 +167,17 @@ public class FilterTextField extends TextField {
         this.setStyle(INVALID_FILTER_STYLE);
     }
 
+    /**
+     * @return the values of the qualifier being typed which start with the current word if it has a
+     * vocabulary, e.g. labels after label:, otherwise the keywords that contain the current word
+     */
+    private List<String> getCompletions() {
+        String word = getCurrentWord();
+        return getCurrentQualifier()
+                .flatMap(qualifier -> completions.getValues(qualifier, word))
+                .orElseGet(() -> getMatchingKeywords(word));
+    }
+
     /**
      * @param query
      * @return suggested keyword that contains a given query
@@ -167,6 +186,19 @@ public class FilterTextField extends TextField {
         return keywords.stream().filter(keyword -> keyword.contains(query)).collect(Collectors.toList());
     }
 
+    /**
+     * Determines the qualifier the current word is the value of, e.g. label in "-label:type.b".
+     */
+    private Optional<String> getCurrentQualifier() {
+        int caret = Math.min(getSelection().getStart(), getSelection().getEnd());
+        int wordStart = getInitialCaretPosition(caret);
+        if (wordStart == 0 || getText().charAt(wordStart - 1) != ':') {
+            return Optional.empty();
+        }
+        String qualifier = getText().substring(getInitialCaretPosition(wordStart - 1), wordStart - 1);
+        return Optional.of(qualifier.replaceFirst("^[(-]+", ""));
+    }
+
 
     /**
      * Determines the word currently being edited.
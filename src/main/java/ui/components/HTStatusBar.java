@@ -3,6 +3,7 @@ package ui.components;
 import javafx.application.Platform;
 import org.controlsfx.control.StatusBar;
 import ui.UI;
+import util.events.DeliveryLane;
 import util.events.UpdateProgressEventHandler;
 
 import java.util.HashMap;
@@ -34,7 +35,8 @@ public class HTStatusBar extends StatusBar implements StatusUI {
     }
 
     private void setupProgressEvents() {
-        ui.registerEvent((UpdateProgressEventHandler) e -> Platform.runLater(() -> {
+        // Coalesced per repository, so only the latest progress of each is shown on each pulse
+        ui.registerEvent((UpdateProgressEventHandler) e -> {
             if (progressBars.containsKey(e.repoId)) {
                 if (e.done) {
                     getRightItems().remove(progressBars.get(e.repoId));
@@ -46,7 +48,7 @@ public class HTStatusBar extends StatusBar implements StatusUI {
                 progressBars.put(e.repoId, progressBar);
                 getRightItems().add(progressBar);
             }
-        }));
+        }, DeliveryLane.FX);
     }
 
     private void setup() {
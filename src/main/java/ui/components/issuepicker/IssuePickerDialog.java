@@ -30,6 +30,7 @@ import ui.GuiElement;
 import ui.IssueCard;
 import ui.UI;
 import util.HTLog;
+import util.SearchIndex;
 
 /**
  * Serves as a presenter that synchronizes changes in issues with dialog view
@@ -50,6 +51,7 @@ public class IssuePickerDialog extends Dialog<String> {
 
     private final MultiModel models;
     private final List<TurboIssue> allIssues;
+    private final SearchIndex<TurboIssue> searchIndex;
 
     private IssuePickerState state;
 
@@ -66,6 +68,7 @@ public class IssuePickerDialog extends Dialog<String> {
     public IssuePickerDialog(Stage stage, MultiModel models) {
         this.models = models;
         this.allIssues = models.getIssues();
+        this.searchIndex = TurboIssue.createSearchIndex(allIssues);
 
         initUI(stage, allIssues);
         Platform.runLater(issuepickerQueryField::requestFocus);
@@ -84,7 +87,7 @@ public class IssuePickerDialog extends Dialog<String> {
         setDialogPaneContent();
         createButtons();
 
-        state = new IssuePickerState(issues, "");
+        state = new IssuePickerState(searchIndex, "");
         populateSuggestedIssues(allIssues, state.getSelectedIssue());
     }
 
@@ -148,7 +151,7 @@ public class IssuePickerDialog extends Dialog<String> {
      * Updates state of the issue picker based on the entire query
      */
     private final void handleUserInput(String query) {
-        state = new IssuePickerState(allIssues, query.toLowerCase());
+        state = new IssuePickerState(searchIndex, query.toLowerCase());
         populatePanes(state);
     }
 
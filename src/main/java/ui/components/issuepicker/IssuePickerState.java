@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 
 import backend.resource.TurboIssue;
+import util.SearchIndex;
 
 /**
  * Represents the state of the issue picker.
@@ -14,16 +15,21 @@ public class IssuePickerState {
     private List<TurboIssue> suggestedIssues;
     private Optional<TurboIssue> selectedIssue = Optional.empty();
 
-    private final List<TurboIssue> allIssues;
+    private final SearchIndex<TurboIssue> allIssues;
 
     public IssuePickerState(List<TurboIssue> allIssues, String userInput) {
-        this(allIssues, new ArrayList<>());
-        setIssues(userInput);
+        this(TurboIssue.createSearchIndex(allIssues), userInput);
     }
 
-    private IssuePickerState(List<TurboIssue> allIssues, List<TurboIssue> suggestedIssues) {
-        this.suggestedIssues = suggestedIssues;
+    /**
+     * @param allIssues an index of all issues, which should be shared by the states of a picker so that
+     *                  each query refines the results of the previous one
+     * @param userInput
+     */
+    public IssuePickerState(SearchIndex<TurboIssue> allIssues, String userInput) {
+        this.suggestedIssues = new ArrayList<>();
         this.allIssues = allIssues;
+        setIssues(userInput);
     }
 
     public Optional<TurboIssue> getSelectedIssue() {
@@ -60,8 +66,8 @@ public class IssuePickerState {
      *
      * @param issue
      */
-    private void setSuggestedIssues(List<TurboIssue> issues, String query) {
+    private void setSuggestedIssues(SearchIndex<TurboIssue> issues, String query) {
         suggestedIssues.clear();
-        suggestedIssues.addAll(TurboIssue.getMatchedIssues(issues, query));
+        suggestedIssues.addAll(issues.search(query));
     }
 }
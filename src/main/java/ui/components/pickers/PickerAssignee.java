@@ -7,10 +7,11 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 
+import util.AvatarService;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -167,7 +168,7 @@ public class PickerAssignee extends TurboUser implements Comparable<PickerAssign
     }
 
     private ImageView getAvatarImageView(){
-        if (getAvatarURL().isEmpty()) return new ImageView();
-        return new ImageView(new Image(getAvatarURL(), AVATAR_SIZE, AVATAR_SIZE, true, true, true));
+        return AvatarService.getInstance().createAvatarView(AvatarService.getKey(getLoginName()), getAvatarURL(),
+                                                            AVATAR_SIZE);
     }
 }
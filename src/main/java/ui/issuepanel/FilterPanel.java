@@ -41,6 +41,11 @@ public abstract class FilterPanel extends AbstractPanel {
     protected FilterTextField filterTextField;
     private ObservableList<GuiElement> elementsToDisplay = null;
 
+    // Panels scrolled far out of view keep their elements but do not display them
+    private boolean isRendered = true;
+
+    private final PanelInstrumentation.PanelStats renderingStats =
+            PanelInstrumentation.getInstance().createPanelStats();
 
     protected FilterExpression currentFilterExpression = Qualifier.EMPTY;
 
@@ -274,8 +279,56 @@ public abstract class FilterPanel extends AbstractPanel {
         this.elementsToDisplay = FXCollections.observableArrayList(transformedElementList);
     }
 
+    /**
+     * Updates the elements of this panel, displaying them only if the panel is rendered.
+     *
+     * @param filteredAndSortedElements
+     */
     public void updatePanel(List<GuiElement> filteredAndSortedElements) {
         setElementsList(filteredAndSortedElements);
-        refreshItems();
+        if (isRendered) {
+            refreshItems();
+        }
+    }
+
+    public boolean isRendered() {
+        return isRendered;
+    }
+
+    /**
+     * Renders or releases the displayed elements of this panel, e.g. as it is scrolled into or out of view.
+     * A panel which is rendered again displays the latest elements it was updated with.
+     *
+     * @param isRendered
+     */
+    public void setRendered(boolean isRendered) {
+        if (this.isRendered == isRendered) {
+            return;
+        }
+        this.isRendered = isRendered;
+        if (!isRendered) {
+            releaseItems();
+        } else if (elementsToDisplay != null) {
+            refreshItems();
+        }
+    }
+
+    /**
+     * Releases the nodes displaying the elements of this panel, keeping the elements themselves.
+     */
+    protected abstract void releaseItems();
+
+    /**
+     * @return the statistics recorded about this panel while instrumentation is enabled
+     */
+    public PanelInstrumentation.PanelStats getRenderingStats() {
+        return renderingStats;
+    }
+
+    /**
+     * Shows or hides the statistics recorded about this panel, depending on whether instrumentation
+     * is enabled. Does nothing by default.
+     */
+    public void updateInstrumentationOverlay() {
     }
 }
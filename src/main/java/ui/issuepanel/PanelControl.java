@@ -3,6 +3,10 @@ package ui.issuepanel;
 import filter.expression.FilterExpression;
 import filter.expression.Qualifier;
 import filter.expression.QualifierType;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.ScrollPane;
@@ -34,6 +38,10 @@ public class PanelControl extends HBox {
     private GUIController guiController;
     private Optional<Integer> currentlySelectedPanel = Optional.empty();
 
+    // Panels may move as a result of being added, removed, swapped or resized
+    private final InvalidationListener panelBoundsListener = unused -> requestRenderedPanelsUpdate();
+    private boolean isRenderedPanelsUpdatePending = false;
+
     public PanelControl(UI ui, Stage mainStage, Preferences prefs) {
         this.ui = ui;
         this.mainStage = mainStage;
@@ -41,6 +49,14 @@ public class PanelControl extends HBox {
 
         setSpacing(10);
         setPadding(new Insets(0, 10, 0, 10));
+        getChildren().addListener((ListChangeListener<Node>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(child ->
+                        child.boundsInParentProperty().removeListener(panelBoundsListener));
+                change.getAddedSubList().forEach(child ->
+                        child.boundsInParentProperty().addListener(panelBoundsListener));
+            }
+        });
 
         ui.registerEvent((IssueSelectedEventHandler) e ->
                 setCurrentlySelectedPanel(Optional.of(e.panelIndex)));
@@ -58,6 +74,9 @@ public class PanelControl extends HBox {
     public void init(GUIController guiController, ScrollPane panelsScrollPane) {
         this.guiController = guiController;
         this.panelsScrollPane = panelsScrollPane;
+        panelsScrollPane.hvalueProperty().addListener(unused -> requestRenderedPanelsUpdate());
+        panelsScrollPane.viewportBoundsProperty().addListener(unused -> requestRenderedPanelsUpdate());
+        PanelInstrumentation.getInstance().addListener(this::updateInstrumentationOverlays);
         restorePanels();
         selectFirstPanel();
     }
@@ -93,10 +112,92 @@ public class PanelControl extends HBox {
     }
 
     /**
-     * For a quick refresh (without requesting updates)
+     * For a quick refresh (without requesting updates). Panels which are not rendered are refreshed
+     * when they are scrolled into view.
      */
     public void refresh() {
-        forEach(child -> child.refreshItems());
+        forEach(child -> {
+            if (!(child instanceof FilterPanel) || ((FilterPanel) child).isRendered()) {
+                child.refreshItems();
+            }
+        });
+    }
+
+    private void updateInstrumentationOverlays() {
+        getChildren().stream()
+                .filter(child -> child instanceof FilterPanel)
+                .forEach(child -> ((FilterPanel) child).updateInstrumentationOverlay());
+    }
+
+    /**
+     * Schedules an update of the rendered panels on the JavaFX thread, once the current layout pass
+     * is over, so that panels are not rendered or released while the board is being laid out.
+     * Several requests made before the update runs result in a single update.
+     */
+    private void requestRenderedPanelsUpdate() {
+        if (isRenderedPanelsUpdatePending) {
+            return;
+        }
+        isRenderedPanelsUpdatePending = true;
+        Platform.runLater(() -> {
+            isRenderedPanelsUpdatePending = false;
+            updateRenderedPanels();
+        });
+    }
+
+    /**
+     * Renders the panels which are in view or within a panel's width of it, and releases the
+     * displayed elements of the rest.
+     */
+    private void updateRenderedPanels() {
+        if (panelsScrollPane == null) {
+            return;
+        }
+        double viewportWidth = panelsScrollPane.getViewportBounds().getWidth();
+        double viewportStart = getViewportStart(panelsScrollPane.getHvalue(), panelsScrollPane.getHmin(),
+                                                panelsScrollPane.getHmax(), getWidth(), viewportWidth);
+
+        for (Node child : getChildren()) {
+            if (child instanceof FilterPanel) {
+                ((FilterPanel) child).setRendered(isRenderedInViewport(child.getBoundsInParent(), viewportStart,
+                                                                       viewportWidth, getPanelWidth()));
+            }
+        }
+    }
+
+    /**
+     * @param hvalue        horizontal scroll position of the board's scroll pane
+     * @param hmin          smallest horizontal scroll position
+     * @param hmax          largest horizontal scroll position
+     * @param boardWidth    width of the board
+     * @param viewportWidth width of the visible part of the board
+     * @return the x coordinate, within the board, of the left edge of the visible part of the board
+     */
+    public static double getViewportStart(double hvalue, double hmin, double hmax, double boardWidth,
+                                          double viewportWidth) {
+        double scrollableWidth = boardWidth - viewportWidth;
+        double scrollRange = hmax - hmin;
+        return scrollableWidth > 0 && scrollRange > 0 ?
+                (hvalue - hmin) / scrollRange * scrollableWidth :
+                0;
+    }
+
+    /**
+     * Determines whether a panel is rendered, i.e. whether it is in view or within {@code margin} of it.
+     * All panels are rendered until the board and the panel have been laid out.
+     *
+     * @param panelBounds   bounds of the panel within the board
+     * @param viewportStart x coordinate, within the board, of the left edge of the visible part of the board
+     * @param viewportWidth width of the visible part of the board
+     * @param margin        distance from the visible part of the board within which panels are still rendered
+     * @return true if the panel is rendered, false if its displayed elements are released
+     */
+    public static boolean isRenderedInViewport(Bounds panelBounds, double viewportStart, double viewportWidth,
+                                               double margin) {
+        boolean isLaidOut = viewportWidth > 0 && panelBounds.getWidth() > 0;
+        return !isLaidOut
+                || panelBounds.getMaxX() >= viewportStart - margin
+                && panelBounds.getMinX() <= viewportStart + viewportWidth + margin;
     }
 
     public FilterPanel generatePanelWithNameAndFilter(String panelName, String filterName) {
@@ -0,0 +1,283 @@
+package ui.issuepanel;
+
+import filter.expression.FilterExpression;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An optional mode in which the time spent rendering panels is recorded, to tell whether a slow board is
+ * slow because of filtering, sorting, updating list views or layout. The following are recorded:
+ * <ul>
+ * <li>the time taken to filter and sort the issues of each filter expression, and their number</li>
+ * <li>the time taken by each panel to refresh its items, and the number of cards it has created</li>
+ * <li>the intervals between JavaFX pulses, which grow when layout and rendering are slow</li>
+ * </ul>
+ * Nothing is recorded while the mode is disabled. Must be enabled and disabled on the JavaFX thread;
+ * filter timings may be recorded from any thread.
+ */
+public final class PanelInstrumentation {
+
+    private static final Logger logger = HTLog.get(PanelInstrumentation.class);
+
+    private static final PanelInstrumentation instance = new PanelInstrumentation();
+
+    // How often pulse intervals are summarised and listeners are notified
+    private static final Duration SAMPLE_PERIOD = Duration.seconds(1);
+
+    private static final String CSV_HEADER = "panel,filter,elements,filter ms,sort ms,refresh items ms,"
+            + "cards created,pulses,average pulse interval ms,max pulse interval ms";
+
+    private volatile boolean isEnabled = false;
+
+    private final Map<FilterExpression, FilterTiming> filterTimings = new ConcurrentHashMap<>();
+    private final Set<PanelStats> panelStats = Collections.newSetFromMap(new WeakHashMap<>());
+    private final List<Runnable> listeners = new ArrayList<>();
+
+    // Pulse intervals of the current sample, and the summary of the last complete sample
+    private long lastPulse = 0;
+    private int pulses = 0;
+    private long totalPulseInterval = 0;
+    private long maxPulseInterval = 0;
+    private PulseSample lastSample = new PulseSample(0, 0, 0);
+
+    private AnimationTimer pulseTimer;
+    private Timeline sampleTimeline;
+
+    private PanelInstrumentation() {
+    }
+
+    public static PanelInstrumentation getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Enables or disables instrumentation, discarding everything recorded so far when enabling it.
+     * Listeners are notified either way.
+     *
+     * @param isEnabled
+     */
+    public void setEnabled(boolean isEnabled) {
+        if (this.isEnabled == isEnabled) {
+            return;
+        }
+        logger.info((isEnabled ? "Enabling" : "Disabling") + " panel instrumentation");
+        this.isEnabled = isEnabled;
+        if (isEnabled) {
+            filterTimings.clear();
+            panelStats.forEach(PanelStats::reset);
+            startSamplingPulses();
+        } else {
+            stopSamplingPulses();
+        }
+        notifyListeners();
+    }
+
+    /**
+     * Creates the statistics of a new panel, which are discarded along with everything else recorded
+     * whenever instrumentation is enabled. Must be called on the JavaFX thread.
+     *
+     * @return the statistics
+     */
+    public PanelStats createPanelStats() {
+        PanelStats stats = new PanelStats();
+        panelStats.add(stats);
+        return stats;
+    }
+
+    /**
+     * Adds a callback to run on the JavaFX thread whenever instrumentation is enabled or disabled,
+     * and periodically while it is enabled.
+     *
+     * @param listener
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Records the time taken to process a filter expression, if instrumentation is enabled.
+     *
+     * @param filterExpr
+     * @param filterNanos   time taken to find the matching issues
+     * @param sortNanos     time taken to sort and count them
+     * @param elementCount  number of issues left
+     */
+    public void recordFilter(FilterExpression filterExpr, long filterNanos, long sortNanos, int elementCount) {
+        if (isEnabled) {
+            filterTimings.put(filterExpr, new FilterTiming(filterNanos, sortNanos, elementCount));
+        }
+    }
+
+    public Optional<FilterTiming> getFilterTiming(FilterExpression filterExpr) {
+        return Optional.ofNullable(filterTimings.get(filterExpr));
+    }
+
+    /**
+     * @return the pulse intervals of the last complete sample period
+     */
+    public PulseSample getPulseSample() {
+        return lastSample;
+    }
+
+    /**
+     * Summarises the given panels as CSV, one line per panel.
+     *
+     * @param panels
+     * @return the CSV, with a header line
+     */
+    public String toCsv(List<FilterPanel> panels) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (FilterPanel panel : panels) {
+            Optional<FilterTiming> timing = getFilterTiming(panel.getCurrentFilterExpression());
+            PanelStats stats = panel.getRenderingStats();
+            csv.append(panel.panelIndex).append(',')
+                    .append(quote(panel.getCurrentFilterExpression().toString())).append(',')
+                    .append(timing.map(t -> String.valueOf(t.elementCount)).orElse("")).append(',')
+                    .append(timing.map(t -> toMillisString(t.filterNanos)).orElse("")).append(',')
+                    .append(timing.map(t -> toMillisString(t.sortNanos)).orElse("")).append(',')
+                    .append(toMillisString(stats.getRefreshItemsNanos())).append(',')
+                    .append(stats.getCardsCreated()).append(',')
+                    .append(lastSample.pulses).append(',')
+                    .append(toMillisString(lastSample.averageIntervalNanos)).append(',')
+                    .append(toMillisString(lastSample.maxIntervalNanos)).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static String quote(String field) {
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    public static String toMillisString(long nanos) {
+        return String.format("%.1f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private void startSamplingPulses() {
+        if (pulseTimer == null) {
+            pulseTimer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    recordPulse(now);
+                }
+            };
+            sampleTimeline = new Timeline(new KeyFrame(SAMPLE_PERIOD, e -> completeSample()));
+            sampleTimeline.setCycleCount(Timeline.INDEFINITE);
+        }
+        lastPulse = 0;
+        resetSample();
+        lastSample = new PulseSample(0, 0, 0);
+        pulseTimer.start();
+        sampleTimeline.play();
+    }
+
+    private void stopSamplingPulses() {
+        pulseTimer.stop();
+        sampleTimeline.stop();
+    }
+
+    private void recordPulse(long now) {
+        if (lastPulse != 0) {
+            long interval = now - lastPulse;
+            pulses++;
+            totalPulseInterval += interval;
+            maxPulseInterval = Math.max(maxPulseInterval, interval);
+        }
+        lastPulse = now;
+    }
+
+    private void completeSample() {
+        lastSample = new PulseSample(pulses, pulses == 0 ? 0 : totalPulseInterval / pulses, maxPulseInterval);
+        resetSample();
+        notifyListeners();
+    }
+
+    private void resetSample() {
+        pulses = 0;
+        totalPulseInterval = 0;
+        maxPulseInterval = 0;
+    }
+
+    private void notifyListeners() {
+        listeners.forEach(Runnable::run);
+    }
+
+    /**
+     * The time taken to process a filter expression.
+     */
+    public static class FilterTiming {
+        public final long filterNanos;
+        public final long sortNanos;
+        public final int elementCount;
+
+        FilterTiming(long filterNanos, long sortNanos, int elementCount) {
+            this.filterNanos = filterNanos;
+            this.sortNanos = sortNanos;
+            this.elementCount = elementCount;
+        }
+    }
+
+    /**
+     * The intervals between JavaFX pulses over a sample period.
+     */
+    public static class PulseSample {
+        public final int pulses;
+        public final long averageIntervalNanos;
+        public final long maxIntervalNanos;
+
+        PulseSample(int pulses, long averageIntervalNanos, long maxIntervalNanos) {
+            this.pulses = pulses;
+            this.averageIntervalNanos = averageIntervalNanos;
+            this.maxIntervalNanos = maxIntervalNanos;
+        }
+    }
+
+    /**
+     * The rendering statistics of a single panel. Only accessed on the JavaFX thread.
+     */
+    public static class PanelStats {
+        private long refreshItemsNanos = 0;
+        private int cardsCreated = 0;
+
+        private PanelStats() {
+        }
+
+        public long getRefreshItemsNanos() {
+            return refreshItemsNanos;
+        }
+
+        public void setRefreshItemsNanos(long refreshItemsNanos) {
+            this.refreshItemsNanos = refreshItemsNanos;
+        }
+
+        public int getCardsCreated() {
+            return cardsCreated;
+        }
+
+        public void cardCreated() {
+            cardsCreated++;
+        }
+
+        private void reset() {
+            refreshItemsNanos = 0;
+            cardsCreated = 0;
+        }
+    }
+}
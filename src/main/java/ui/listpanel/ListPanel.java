@@ -26,6 +26,7 @@ import ui.components.IssueListView;
 import ui.components.KeyboardShortcuts;
 import ui.issuepanel.FilterPanel;
 import ui.issuepanel.PanelControl;
+import ui.issuepanel.PanelInstrumentation;
 import undo.actions.EditIssueStateAction;
 import util.GithubPageElements;
 import util.HTLog;
@@ -51,9 +52,15 @@ public class ListPanel extends FilterPanel {
     private final IssueListView listView;
     private final HashMap<Integer, Integer> issueCommentCounts = new HashMap<>();
     private final HashMap<Integer, Integer> issueNonSelfCommentCounts = new HashMap<>();
+    private HashSet<Integer> issuesWithNewComments = new HashSet<>();
+
+    // The cells created by the list view, which it reuses for the lifetime of the panel
+    private final Set<ListPanelCell> cells = Collections.newSetFromMap(new WeakHashMap<>());
+    private boolean areCellsTranslucent = false;
 
     Text openIssueText;
     Text closedIssueText;
+    private Text instrumentationText;
     Text totalIssueText;
     Text bracketOpenText;
     Text bracketCloseText;
@@ -110,8 +117,8 @@ public class ListPanel extends FilterPanel {
      * @return HBox Instance to be added to the ListPanel.
      */
     private HBox createPanelFooter() {
-        HBox bottomDisplay = new HBox();
-        bottomDisplay.getChildren().add(createFooterIssueStats());
+        HBox bottomDisplay = new HBox(10);
+        bottomDisplay.getChildren().addAll(createFooterIssueStats(), createFooterInstrumentationStats());
         return bottomDisplay;
     }
 
@@ -130,6 +137,17 @@ public class ListPanel extends FilterPanel {
         return bottomPanelText;
     }
 
+    /**
+     * Creates the statistics shown while instrumentation is enabled, which are hidden otherwise.
+     */
+    private Text createFooterInstrumentationStats() {
+        instrumentationText = new Text();
+        instrumentationText.setFill(Color.GRAY);
+        instrumentationText.managedProperty().bind(instrumentationText.visibleProperty());
+        updateInstrumentationOverlay();
+        return instrumentationText;
+    }
+
     /**
      * Determines if an issue has had new comments added (or removed) based on
      * its last-known comment count in {@link #issueCommentCounts}.
@@ -180,25 +198,32 @@ public class ListPanel extends FilterPanel {
      */
     @Override
     public final void refreshItems() {
-        final HashSet<Integer> issuesWithNewComments
-                = updateIssueCommentCounts(Qualifier.hasUpdatedQualifier(getCurrentFilterExpression()));
+        long start = System.nanoTime();
+        issuesWithNewComments = updateIssueCommentCounts(Qualifier.hasUpdatedQualifier(getCurrentFilterExpression()));
 
-        // Set the cell factory every time - this forces the list view to update
-        listView.setCellFactory(list -> new ListPanelCell(this, panelIndex, issuesWithNewComments));
         listView.saveSelection();
-
-        // Supposedly this also causes the list view to update - not sure
-        // if it actually does on platforms other than Linux...
-        listView.setItems(null);
-        listView.setItems(getElementsList());
+        ListPanelItems.updateInPlace(listView.getItems(), getElementsList(), listView::areItemsEqual);
         issuesCount = getElementsList().size();
         closedIssuesCount = getClosedIssuesCount();
         openIssuesCount = issuesCount - closedIssuesCount;
         listView.restoreSelection();
+
+        // Cells whose elements were not replaced may still need to reflect changes to their issues,
+        // e.g. read state or comment highlighting
+        setCellsTranslucent(false);
+        cells.forEach(ListPanelCell::refresh);
         this.setId(IdGenerator.getPanelId(panelIndex));
+        if (PanelInstrumentation.getInstance().isEnabled()) {
+            getRenderingStats().setRefreshItemsNanos(System.nanoTime() - start);
+        }
         updateFooter();
+    }
 
-
+    @Override
+    protected void releaseItems() {
+        listView.saveSelection();
+        listView.getItems().clear();
+        cells.forEach(ListPanelCell::releaseCard);
     }
 
     private int getClosedIssuesCount() {
@@ -216,7 +241,27 @@ public class ListPanel extends FilterPanel {
         } else {
             hideFooterPanelStatsDetails(false);
         }
+        updateInstrumentationOverlay();
+    }
+
+    @Override
+    public void updateInstrumentationOverlay() {
+        PanelInstrumentation instrumentation = PanelInstrumentation.getInstance();
+        instrumentationText.setVisible(instrumentation.isEnabled());
+        if (!instrumentation.isEnabled()) {
+            return;
+        }
 
+        StringBuilder text = new StringBuilder();
+        instrumentation.getFilterTiming(getCurrentFilterExpression()).ifPresent(timing -> text
+                .append("filter ").append(PanelInstrumentation.toMillisString(timing.filterNanos))
+                .append(" sort ").append(PanelInstrumentation.toMillisString(timing.sortNanos)).append(" | "));
+        PanelInstrumentation.PulseSample pulses = instrumentation.getPulseSample();
+        text.append("refresh ").append(PanelInstrumentation.toMillisString(getRenderingStats().getRefreshItemsNanos()))
+                .append(" | cards ").append(getRenderingStats().getCardsCreated())
+                .append(" | pulse max ").append(PanelInstrumentation.toMillisString(pulses.maxIntervalNanos))
+                .append(" ms");
+        instrumentationText.setText(text.toString());
     }
 
     private void updateFooterPanelStatsDetails() {
@@ -235,6 +280,7 @@ public class ListPanel extends FilterPanel {
 
     private void setupListView() {
         setVgrow(listView, Priority.ALWAYS);
+        listView.setCellFactory(list -> createCell());
         setupKeyboardShortcuts();
         setupContextMenu();
 
@@ -668,13 +714,14 @@ public class ListPanel extends FilterPanel {
         if (!listView.getSelectedIndex().isPresent()) {
             return;
         }
+        List<TurboIssue> issues = new ArrayList<>();
         for (int i = listView.getSelectedIndex().get(); i < listView.getItems().size(); i++) {
-            TurboIssue issue = listView.getItems().get(i).getIssue();
-            if (isRead) {
-                issue.markAsRead(UI.prefs);
-            } else {
-                issue.markAsUnread(UI.prefs);
-            }
+            issues.add(listView.getItems().get(i).getIssue());
+        }
+        if (isRead) {
+            TurboIssue.markAllAsRead(UI.prefs, issues);
+        } else {
+            TurboIssue.markAllAsUnread(UI.prefs, issues);
         }
 
         parentPanelControl.refresh();
@@ -753,7 +800,7 @@ public class ListPanel extends FilterPanel {
     }
 
     private void startLoadingAnimation() {
-        setTranslucentCellFactory();
+        setCellsTranslucent(true);
         showLoadingIndicator();
     }
 
@@ -777,15 +824,24 @@ public class ListPanel extends FilterPanel {
         listView.getStyleClass().removeIf(cssClass -> cssClass.equals("listview-loading"));
     }
 
-    private void setTranslucentCellFactory() {
-        if (getElementsList() == null) return;
-        final HashSet<Integer> issuesWithNewComments
-                = updateIssueCommentCounts(Qualifier.hasUpdatedQualifier(getCurrentFilterExpression()));
-        listView.setCellFactory(list -> {
-            ListPanelCell cell = new ListPanelCell(this, panelIndex, issuesWithNewComments);
-            cell.setStyle(cell.getStyle() + "-fx-opacity: 40%;");
-            return cell;
-        });
+    private void setCellsTranslucent(boolean isTranslucent) {
+        if (areCellsTranslucent == isTranslucent) return;
+        areCellsTranslucent = isTranslucent;
+        cells.forEach(cell -> cell.setTranslucent(isTranslucent));
+    }
+
+    private ListPanelCell createCell() {
+        ListPanelCell cell = new ListPanelCell(this, panelIndex);
+        cell.setTranslucent(areCellsTranslucent);
+        cells.add(cell);
+        return cell;
+    }
+
+    /**
+     * @return ids of issues in this panel whose comments changed since they were last seen
+     */
+    HashSet<Integer> getIssuesWithNewComments() {
+        return issuesWithNewComments;
     }
 
     private boolean hasReposInFilter() {
@@ -1,13 +1,14 @@
 package ui.listpanel;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.eclipse.egit.github.core.Comment;
 
+import backend.IssueMetadata;
 import backend.resource.TurboIssue;
 import filter.expression.FilterExpression;
 import filter.expression.Qualifier;
@@ -19,19 +20,27 @@ import javafx.scene.layout.VBox;
 import ui.GuiElement;
 import ui.IssueCard;
 import ui.issuepanel.FilterPanel;
-import util.Utility;
 
 /**
  * A card that is constructed with an issue as argument. Its components
  * are bound to the issue's fields and will update automatically.
+ * <p>
+ * Cards are recycled by the cells of a list panel: {@link #bind(GuiElement, FilterPanel, HashSet)}
+ * makes an existing card display another issue.
  */
 public class ListPanelCard extends IssueCard {
 
+    // The state this card was last bound with, used to skip rebinding when nothing visible changed
+    private boolean isBoundWithNewComments;
+    private boolean isBoundRead;
+    private boolean isBoundOpen;
+    private FilterExpression boundFilterExpression;
 
+    private Optional<Node> eventDisplay = Optional.empty();
 
     /**
-     * The constructor is the only method called from ListPanelCard. The rest of the methods in this class
-     * are auxiliary methods called from the constructor so that the code is easier to understand.
+     * The constructor and bind are the only methods called from ListPanelCard. The rest of the methods in this
+     * class are auxiliary methods called from them so that the code is easier to understand.
      *
      * @param guiElement
      * @param parentPanel
@@ -41,12 +50,47 @@ public class ListPanelCard extends IssueCard {
                          HashSet<Integer> issuesWithNewComments) {
         super(guiElement, false, issuesWithNewComments.contains(guiElement.getIssue().getId()));
         setupEventDisplay(guiElement, parentPanel);
+        recordBoundState(issuesWithNewComments.contains(guiElement.getIssue().getId()), parentPanel);
+    }
+
+    /**
+     * Makes this card display {@code guiElement}. Does nothing if the card already displays it
+     * and none of the displayed state of the issue or panel has changed since.
+     *
+     * @param guiElement
+     * @param parentPanel
+     * @param issuesWithNewComments
+     */
+    public void bind(GuiElement guiElement, FilterPanel parentPanel, HashSet<Integer> issuesWithNewComments) {
+        TurboIssue issue = guiElement.getIssue();
+        boolean hasNewComments = issuesWithNewComments.contains(issue.getId());
+        if (guiElement == this.guiElement
+                && hasNewComments == isBoundWithNewComments
+                && issue.isCurrentlyRead() == isBoundRead
+                && issue.isOpen() == isBoundOpen
+                && parentPanel.getCurrentFilterExpression() == boundFilterExpression) {
+            return;
+        }
+
+        bind(guiElement, hasNewComments);
+        eventDisplay.ifPresent(getChildren()::remove);
+        eventDisplay = Optional.empty();
+        setupEventDisplay(guiElement, parentPanel);
+        recordBoundState(hasNewComments, parentPanel);
+    }
+
+    private void recordBoundState(boolean hasNewComments, FilterPanel parentPanel) {
+        isBoundWithNewComments = hasNewComments;
+        isBoundRead = guiElement.getIssue().isCurrentlyRead();
+        isBoundOpen = guiElement.getIssue().isOpen();
+        boundFilterExpression = parentPanel.getCurrentFilterExpression();
     }
 
     private void setupEventDisplay(GuiElement guiElement, FilterPanel parentPanel) {
         if (Qualifier.hasUpdatedQualifier(parentPanel.getCurrentFilterExpression())) {
-            getChildren().add(getEventDisplay(guiElement.getIssue(),
-                                              getUpdateFilterHours(parentPanel.getCurrentFilterExpression())));
+            eventDisplay = Optional.of(getEventDisplay(guiElement.getIssue(),
+                                       getUpdateFilterHours(parentPanel.getCurrentFilterExpression())));
+            getChildren().add(eventDisplay.get());
         }
     }
 
@@ -57,36 +101,20 @@ public class ListPanelCard extends IssueCard {
      * @return the node
      */
     private Node getEventDisplay(TurboIssue issue, final int withinHours) {
-        final LocalDateTime now = LocalDateTime.now();
-
-        List<TurboIssueEvent> eventsWithinDuration = issue.getMetadata().getEvents().stream()
-                .filter(event -> {
-                    LocalDateTime eventTime = Utility.longToLocalDateTime
-                            (event.getDate().getTime());
-                    int hours = Math.toIntExact(eventTime.until(now, ChronoUnit.HOURS));
-                    return hours < withinHours;
-                })
-                .collect(Collectors.toList());
-
-        List<Comment> commentsWithinDuration = issue.getMetadata().getComments().stream()
-                .filter(comment -> {
-                    LocalDateTime created = Utility.longToLocalDateTime(comment.getCreatedAt().getTime());
-                    int hours = Math.toIntExact(created.until(now, ChronoUnit.HOURS));
-                    return hours < withinHours;
-                })
-                .collect(Collectors.toList());
-
-        return layoutEvents(guiElement, eventsWithinDuration, commentsWithinDuration);
+        final LocalDateTime cutoff = LocalDateTime.now().minusHours(withinHours);
+        IssueMetadata metadata = issue.getMetadata();
+
+        List<Node> labelUpdateEventNodes = TurboIssueEvent.createLabelUpdateEventGroupNodes(
+                guiElement, metadata.getLabelUpdateEventGroupsAfter(cutoff));
+
+        return layoutEvents(guiElement, labelUpdateEventNodes,
+                            metadata.getEventsAfter(cutoff), metadata.getCommentsAfter(cutoff));
     }
 
     /**
-     * Given a list of issue events, returns a JavaFX node laying them out properly.
-     *
-     * @param events
-     * @param comments
-     * @return
+     * Lays out issue events, given the already-created nodes for label update events.
      */
-    private static Node layoutEvents(GuiElement guiElement,
+    private static Node layoutEvents(GuiElement guiElement, List<Node> labelUpdateEventNodes,
                                      List<TurboIssueEvent> events, List<Comment> comments) {
         TurboIssue issue = guiElement.getIssue();
 
@@ -95,12 +123,6 @@ public class ListPanelCard extends IssueCard {
         VBox.setMargin(result, new Insets(3, 0, 0, 0));
 
         // Label update events
-        List<TurboIssueEvent> labelUpdateEvents =
-                events.stream()
-                        .filter(TurboIssueEvent::isLabelUpdateEvent)
-                        .collect(Collectors.toList());
-        List<Node> labelUpdateEventNodes =
-                TurboIssueEvent.createLabelUpdateEventNodes(guiElement, labelUpdateEvents);
         labelUpdateEventNodes.forEach(node -> result.getChildren().add(node));
 
         // Other events beside label updates
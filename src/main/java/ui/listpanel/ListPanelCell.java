@@ -3,45 +3,102 @@ package ui.listpanel;
 import backend.resource.TurboIssue;
 import javafx.geometry.Pos;
 import javafx.scene.control.ListCell;
-import org.apache.logging.log4j.Logger;
 import ui.GuiElement;
 import ui.IdGenerator;
-import util.HTLog;
+import ui.issuepanel.PanelInstrumentation;
 
-import java.util.HashSet;
 import java.util.List;
 
+/**
+ * A cell of a list panel. Cells are reused by the list view as it scrolls and as its items
+ * change, and each cell in turn reuses a single card, rebinding it to the element it shows.
+ */
 public class ListPanelCell extends ListCell<GuiElement> {
 
+    private static final String TRANSLUCENT_STYLE = "-fx-opacity: 40%;";
+
     private final int parentPanelIndex;
     private final ListPanel parent;
-    private final HashSet<Integer> issuesWithNewComments;
     private GuiElement guiElement;
+    private ListPanelCard card;
 
-    public ListPanelCell(ListPanel parent,
-                         int parentPanelIndex, HashSet<Integer> issuesWithNewComments) {
+    public ListPanelCell(ListPanel parent, int parentPanelIndex) {
         super();
         this.parent = parent;
         this.parentPanelIndex = parentPanelIndex;
-        this.issuesWithNewComments = issuesWithNewComments;
         setAlignment(Pos.CENTER);
     }
 
     @Override
     public void updateItem(GuiElement guiElement, boolean empty) {
         super.updateItem(guiElement, empty);
-        if (guiElement == null) {
+        if (empty || guiElement == null) {
+            clear();
             return;
         }
         this.guiElement = guiElement;
         TurboIssue issue = guiElement.getIssue();
-        getStyleClass().add("bottom-borders");
+        if (!getStyleClass().contains("bottom-borders")) {
+            getStyleClass().add("bottom-borders");
+        }
         updateStyleToMatchStatus(issue);
 
-        setGraphic(new ListPanelCard(guiElement, parent, issuesWithNewComments));
+        bindCard();
+        setGraphic(card);
         this.setId(IdGenerator.getPanelCellId(parentPanelIndex, issue.getId()));
     }
 
+    /**
+     * Brings the card of this cell up to date with changes to its issue or panel that did not
+     * replace its element, e.g. the issue being marked as read.
+     */
+    public void refresh() {
+        if (guiElement == null) {
+            return;
+        }
+        updateStyleToMatchStatus(guiElement.getIssue());
+        bindCard();
+    }
+
+    /**
+     * Dims this cell, e.g. while the contents of its panel are being loaded.
+     *
+     * @param isTranslucent
+     */
+    public void setTranslucent(boolean isTranslucent) {
+        setStyle(isTranslucent ? TRANSLUCENT_STYLE : "");
+    }
+
+    private void bindCard() {
+        if (card == null) {
+            card = new ListPanelCard(guiElement, parent, parent.getIssuesWithNewComments());
+            if (PanelInstrumentation.getInstance().isEnabled()) {
+                parent.getRenderingStats().cardCreated();
+            }
+        } else {
+            card.bind(guiElement, parent, parent.getIssuesWithNewComments());
+        }
+    }
+
+    /**
+     * Empties this cell and discards its card, so that its nodes can be reclaimed.
+     * Should only be called when the items of the list view are cleared.
+     */
+    public void releaseCard() {
+        clear();
+        card = null;
+    }
+
+    /**
+     * Empties this cell, keeping its card around for the next element it shows.
+     */
+    private void clear() {
+        guiElement = null;
+        setGraphic(null);
+        setId(null);
+        getStyleClass().removeAll("bottom-borders", "issue-cell-closed");
+    }
+
     private void updateStyleToMatchStatus(TurboIssue issue) {
         final String closedStyle = "issue-cell-closed";
         boolean isCurrentStyleClosed = getStyleClass().contains(closedStyle);
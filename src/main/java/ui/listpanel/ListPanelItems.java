@@ -0,0 +1,74 @@
+package ui.listpanel;
+
+import javafx.collections.ObservableList;
+import ui.GuiElement;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Updates the items of a list panel. Cells are only rebound to the elements that this
+ * actually adds or replaces, so the fewer items are changed, the fewer cards are rebound.
+ */
+public final class ListPanelItems {
+
+    private ListPanelItems() {
+    }
+
+    /**
+     * Makes {@code items} equal to {@code elements} with as few changes as possible, so that the
+     * list view only updates the cells of elements that were actually added, removed or replaced.
+     * Elements are matched by issue: the common prefix and suffix of the two lists are kept in
+     * place, and only the part in between is replaced.
+     *
+     * @param items the items of the list view
+     * @param elements the elements to display
+     * @param isSameIssue whether two elements are of the same issue
+     */
+    public static void updateInPlace(ObservableList<GuiElement> items, List<GuiElement> elements,
+                                     BiPredicate<GuiElement, GuiElement> isSameIssue) {
+        int prefix = 0;
+        int maxCommon = Math.min(items.size(), elements.size());
+        while (prefix < maxCommon && isSameIssue.test(items.get(prefix), elements.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < maxCommon - prefix && isSameIssue.test(
+                items.get(items.size() - 1 - suffix), elements.get(elements.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        for (int i = 0; i < prefix; i++) {
+            replaceIfChanged(items, i, elements.get(i));
+        }
+        for (int i = 0; i < suffix; i++) {
+            replaceIfChanged(items, items.size() - 1 - i, elements.get(elements.size() - 1 - i));
+        }
+
+        int oldMiddleEnd = items.size() - suffix;
+        int newMiddleEnd = elements.size() - suffix;
+        if (oldMiddleEnd > prefix) {
+            items.remove(prefix, oldMiddleEnd);
+        }
+        if (newMiddleEnd > prefix) {
+            items.addAll(prefix, elements.subList(prefix, newMiddleEnd));
+        }
+    }
+
+    /**
+     * Replaces the element at {@code index} unless it already shows the same issue with the same
+     * labels, milestone and users, in which case its cell need not be updated.
+     */
+    private static void replaceIfChanged(ObservableList<GuiElement> items, int index, GuiElement element) {
+        GuiElement current = items.get(index);
+        boolean isUnchanged = current == element
+                || current.getIssue() == element.getIssue()
+                && current.getLabels().equals(element.getLabels())
+                && current.getMilestone().equals(element.getMilestone())
+                && current.getAssignee().equals(element.getAssignee())
+                && current.getAuthor().equals(element.getAuthor());
+        if (!isUnchanged) {
+            items.set(index, element);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import org.apache.logging.log4j.Logger;
+import prefs.Preferences;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Loads and caches the avatars of users.
+ * <p>
+ * Avatars are identified by the keys returned by {@link #getKey(String)}, which callers showing many avatars
+ * may compute once per user. Each user's avatar is downloaded once, and kept on disk under the settings
+ * directory, keyed by the user's key.
+ * It is only downloaded again once it is older than REVALIDATION_INTERVAL and the server reports that it
+ * has changed. The downloaded image is scaled to each size it is requested in, and the scaled images are
+ * kept in memory, up to MAX_CACHED_IMAGES of them, evicting the least recently used.
+ * <p>
+ * Avatars are loaded in the background. Concurrent requests for the same avatar share a single load, and
+ * concurrent loads of the same user's avatar in different sizes share a single download, so a user shown
+ * on many cards is only downloaded once, and decoded once per size. Thread-safe.
+ */
+public final class AvatarService {
+
+    private static final Logger logger = HTLog.get(AvatarService.class);
+
+    public static final String DIRECTORY = Preferences.DIRECTORY + "/avatars";
+
+    private static final int MAX_CACHED_IMAGES = 500;
+    private static final long REVALIDATION_INTERVAL = TimeUnit.DAYS.toMillis(1);
+    private static final int LOADER_THREADS = 2;
+    private static final int TIMEOUT_MS = 10000;
+    private static final Pattern INVALID_KEY_CHARACTERS = Pattern.compile("[^A-Za-z0-9_-]");
+
+    private static final AvatarService instance =
+            new AvatarService(Paths.get(DIRECTORY), AvatarService::download, MAX_CACHED_IMAGES);
+
+    private final Path directory;
+    private final Fetcher fetcher;
+
+    // Scaled images, keyed by user key and size. Guarded by itself
+    private final Map<String, Image> images;
+
+    // Loads of scaled images, keyed by user key and size
+    private final Map<String, CompletableFuture<Optional<Image>>> inFlight = new ConcurrentHashMap<>();
+
+    // Downloads of undecoded images, keyed by user key
+    private final Map<String, CompletableFuture<Optional<byte[]>>> downloads = new ConcurrentHashMap<>();
+
+    private final ExecutorService loader = Executors.newFixedThreadPool(LOADER_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("avatar-loader-%d").setDaemon(true).build());
+
+    /**
+     * @param directory       where downloaded avatars are kept
+     * @param fetcher         downloads avatars
+     * @param maxCachedImages how many decoded avatars are kept in memory
+     */
+    public AvatarService(Path directory, Fetcher fetcher, int maxCachedImages) {
+        this.directory = directory;
+        this.fetcher = fetcher;
+        images = new LinkedHashMap<String, Image>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                return size() > maxCachedImages;
+            }
+        };
+    }
+
+    public static AvatarService getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param key the user's key
+     * @param size
+     * @return the avatar if it has already been loaded
+     */
+    public Optional<Image> getCachedAvatar(String key, int size) {
+        synchronized (images) {
+            return Optional.ofNullable(images.get(getImageKey(key, size)));
+        }
+    }
+
+    /**
+     * Creates a node displaying an avatar. Until the avatar is loaded, the node is an empty placeholder
+     * of the same size. Must be called on the JavaFX application thread.
+     *
+     * @param key the user's key
+     * @param avatarURL
+     * @param size
+     * @return the node, which is empty without a size if the user has no avatar
+     */
+    public ImageView createAvatarView(String key, String avatarURL, int size) {
+        ImageView view = new ImageView();
+        if (avatarURL.isEmpty()) {
+            return view;
+        }
+        view.setFitWidth(size);
+        view.setFitHeight(size);
+
+        Optional<Image> cached = getCachedAvatar(key, size);
+        if (cached.isPresent()) {
+            view.setImage(cached.get());
+        } else {
+            getAvatar(key, avatarURL, size).thenAccept(image ->
+                    image.ifPresent(loaded -> Platform.runLater(() -> view.setImage(loaded))));
+        }
+        return view;
+    }
+
+    /**
+     * Loads an avatar in the background, unless it has already been loaded or is being loaded.
+     *
+     * @param key the user's key
+     * @param avatarURL
+     * @param size the width and height to scale the avatar to
+     * @return the avatar, or empty if the user has no avatar or it could not be loaded
+     */
+    public CompletableFuture<Optional<Image>> getAvatar(String key, String avatarURL, int size) {
+        if (avatarURL.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        Optional<Image> cached = getCachedAvatar(key, size);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        String imageKey = getImageKey(key, size);
+        CompletableFuture<Optional<Image>> result = new CompletableFuture<>();
+        CompletableFuture<Optional<Image>> existing = inFlight.putIfAbsent(imageKey, result);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture.supplyAsync(() -> load(key, avatarURL, size), loader).whenComplete((image, error) -> {
+            // The image is cached before the load is removed, so later requests find one or the other
+            inFlight.remove(imageKey);
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(image);
+            }
+        });
+        return result;
+    }
+
+    private Optional<Image> load(String key, String avatarURL, int size) {
+        Optional<byte[]> bytes = getSharedImageBytes(key, avatarURL);
+        if (!bytes.isPresent()) {
+            return Optional.empty();
+        }
+
+        String imageKey = getImageKey(key, size);
+        Image image = new Image(new ByteArrayInputStream(bytes.get()), size, size, true, true);
+        if (image.isError()) {
+            logger.warn("Could not decode avatar " + imageKey);
+            return Optional.empty();
+        }
+        synchronized (images) {
+            images.put(imageKey, image);
+        }
+        return Optional.of(image);
+    }
+
+    /**
+     * Gets the undecoded avatar as {@link #getImageBytes(String, String)} does, waiting for the load
+     * of another size of the same avatar instead if one is in progress.
+     */
+    private Optional<byte[]> getSharedImageBytes(String key, String avatarURL) {
+        CompletableFuture<Optional<byte[]>> result = new CompletableFuture<>();
+        CompletableFuture<Optional<byte[]>> existing = downloads.putIfAbsent(key, result);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            result.complete(getImageBytes(key, avatarURL));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        } finally {
+            // The image is on disk before the download is removed, so later loads find one or the other
+            downloads.remove(key);
+        }
+        return result.join();
+    }
+
+    /**
+     * Gets the undecoded avatar from the disk cache, revalidating or downloading it as necessary.
+     * A stale copy on disk is used if the avatar cannot be downloaded.
+     */
+    private Optional<byte[]> getImageBytes(String key, String avatarURL) {
+        Path imageFile = directory.resolve(key + ".img");
+        Path eTagFile = directory.resolve(key + ".etag");
+        Optional<byte[]> cached = readIfExists(imageFile);
+        try {
+            if (cached.isPresent()
+                    && System.currentTimeMillis() - Files.getLastModifiedTime(imageFile).toMillis()
+                    < REVALIDATION_INTERVAL) {
+                return cached;
+            }
+
+            Optional<String> eTag = cached.isPresent() ?
+                    readIfExists(eTagFile).map(bytes -> new String(bytes, StandardCharsets.UTF_8)) :
+                    Optional.empty();
+            Optional<Download> download = fetcher.fetch(avatarURL, eTag);
+            if (!download.isPresent()) {
+                if (cached.isPresent()) {
+                    Files.setLastModifiedTime(imageFile, FileTime.fromMillis(System.currentTimeMillis()));
+                }
+                return cached;
+            }
+
+            write(imageFile, download.get().bytes);
+            if (download.get().eTag.isPresent()) {
+                write(eTagFile, download.get().eTag.get().getBytes(StandardCharsets.UTF_8));
+            }
+            return Optional.of(download.get().bytes);
+        } catch (IOException e) {
+            logger.warn("Could not download avatar " + key + ": " + e.getMessage());
+            return cached;
+        }
+    }
+
+    private static Optional<Download> download(String avatarURL, Optional<String> eTag) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(avatarURL).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MS);
+        connection.setReadTimeout(TIMEOUT_MS);
+        if (eTag.isPresent()) {
+            connection.setRequestProperty("If-None-Match", eTag.get());
+            if (connection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return Optional.empty();
+            }
+        }
+
+        try (InputStream in = connection.getInputStream()) {
+            return Optional.of(new Download(readAll(in), Optional.ofNullable(connection.getHeaderField("ETag"))));
+        }
+    }
+
+    private static Optional<byte[]> readIfExists(Path file) {
+        try {
+            return Files.exists(file) ? Optional.of(Files.readAllBytes(file)) : Optional.empty();
+        } catch (IOException e) {
+            logger.warn("Could not read " + file + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes to a temporary file first, so that a partially written file is never read.
+     */
+    private void write(Path file, byte[] contents) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "avatar", ".tmp");
+        Files.write(temp, contents);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Keys are also used as file names, so characters which may not be valid in them are replaced.
+     *
+     * @param login
+     * @return the key identifying the avatar of the user with the given login name
+     */
+    public static String getKey(String login) {
+        return INVALID_KEY_CHARACTERS.matcher(login).replaceAll("_");
+    }
+
+    private static String getImageKey(String key, int size) {
+        return key + "-" + size;
+    }
+
+    /**
+     * Downloads avatars.
+     */
+    @FunctionalInterface
+    public interface Fetcher {
+        /**
+         * @param avatarURL
+         * @param eTag the ETag of the copy of the avatar on disk, if there is one
+         * @return the avatar, or empty if it has not changed since the copy on disk was downloaded
+         */
+        Optional<Download> fetch(String avatarURL, Optional<String> eTag) throws IOException;
+    }
+
+    /**
+     * A downloaded avatar, which has not been decoded yet.
+     */
+    public static final class Download {
+        public final byte[] bytes;
+        public final Optional<String> eTag;
+
+        public Download(byte[] bytes, Optional<String> eTag) {
+            this.bytes = bytes;
+            this.eTag = eTag;
+        }
+    }
+}
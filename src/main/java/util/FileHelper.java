@@ -5,9 +5,11 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 /**
  * A helper that manages file I/O.
@@ -16,6 +18,7 @@ public final class FileHelper {
     private static final Logger logger = LogManager.getLogger(FileHelper.class.getName());
 
     private static final String CHARSET = "UTF-8";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
 
     /**
      * Private constructor to prevent instantiation of utility class
@@ -66,15 +69,30 @@ public final class FileHelper {
     }
 
     /**
-     * Writes a String to the file
+     * Writes a String to the file. The String is written to a temporary file first, which then replaces the
+     * file, so that the file is never left partially written.
      * @param fileContents The contents of the file in String form, to be written
      */
     public static void writeFileContents(String fileDirectory, String fileName, String fileContents)
             throws IOException {
+        writeFileBytes(fileDirectory, fileName, fileContents.getBytes(CHARSET));
+    }
+
+    /**
+     * Writes bytes to the file, replacing it atomically as in {@link #writeFileContents}
+     * @param bytes The contents of the file, to be written
+     */
+    public static void writeFileBytes(String fileDirectory, String fileName, byte[] bytes) throws IOException {
         createDirectoryIfNonExistent(fileDirectory);
         Path filePath = getFilePath(fileDirectory, fileName);
+        Path tempFilePath = getFilePath(fileDirectory, fileName + TEMP_FILE_SUFFIX);
         logger.info("Write starting: " + filePath.toAbsolutePath());
-        Files.write(filePath, fileContents.getBytes(CHARSET));
+        Files.write(tempFilePath, bytes);
+        try {
+            Files.move(tempFilePath, filePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFilePath, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
         logger.info("Write successful: " + filePath.toAbsolutePath());
     }
 
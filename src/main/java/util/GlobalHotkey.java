@@ -13,14 +13,16 @@ import com.tulskiy.keymaster.common.HotKeyListener;
 import com.tulskiy.keymaster.common.Provider;
 
 public class GlobalHotkey {
-    private final Provider provider = Provider.getCurrentProvider(false);
     private final UI ui;
+    // Created on init, as loading the native libraries it uses through JNA takes time
+    private volatile Provider provider;
 
     public GlobalHotkey(UI ui) {
         this.ui = ui;
     }
 
     public void init() {
+        provider = Provider.getCurrentProvider(false);
         provider.register(KeyStroke.getKeyStroke(GLOBAL_HOTKEY), new HotKeyListener() {
             public void onHotKey(HotKey hotKey) {
                 if (!ui.isWindowMinimized() && ui.isWindowFocused()) {
@@ -35,7 +37,9 @@ public class GlobalHotkey {
     }
 
     public void quit() {
-        provider.reset();
-        provider.stop();
+        if (provider != null) {
+            provider.reset();
+            provider.stop();
+        }
     }
 }
@@ -0,0 +1,113 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Finds the items whose text contains any of the words of a query, ignoring case, with the items
+ * containing the most words first and ties in their original order.
+ * <p>
+ * The lowercased text of every item is computed once, when the index is created. The items matching
+ * each word of the previous query are also kept, so that as a query is typed:
+ * <ul>
+ * <li>words which are unchanged are not matched again, and</li>
+ * <li>a word which grows is only matched against the items containing the word it grew from.</li>
+ * </ul>
+ * Meant for large lists searched on every keystroke, such as the issues of the issue picker. The label,
+ * milestone and assignee pickers do not use it: their lists are those of a single repository, and their
+ * queries are matched with different rules (label groups, every word of a milestone query, only the last
+ * word of an assignee query), which ranking by the number of words matched would change.
+ * Not thread-safe.
+ */
+public class SearchIndex<T> {
+
+    private final List<T> items;
+    private final String[] texts;
+
+    // The items matching each word of the previous query
+    private Map<String, BitSet> matchesOfWords = new HashMap<>();
+
+    public SearchIndex(List<T> items, Function<T, String> getText) {
+        this.items = new ArrayList<>(items);
+        texts = this.items.stream().map(item -> getText.apply(item).toLowerCase()).toArray(String[]::new);
+    }
+
+    /**
+     * @param query words separated by whitespace
+     * @return the items matching the query, most matching words first
+     */
+    public List<T> search(String query) {
+        List<String> words = Arrays.asList(query.toLowerCase().split("\\s"));
+
+        Map<String, BitSet> newMatchesOfWords = new HashMap<>();
+        int[] matchCounts = new int[items.size()];
+        for (String word : words) {
+            BitSet matches = newMatchesOfWords.computeIfAbsent(word, this::getMatches);
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                matchCounts[i]++;
+            }
+        }
+        matchesOfWords = newMatchesOfWords;
+
+        return sortByMatchCount(matchCounts, words.size());
+    }
+
+    private BitSet getMatches(String word) {
+        BitSet previous = matchesOfWords.get(word);
+        if (previous != null) {
+            return previous;
+        }
+
+        BitSet matches = new BitSet(items.size());
+        Optional<BitSet> candidates = getCandidates(word);
+        if (candidates.isPresent()) {
+            BitSet narrowed = candidates.get();
+            for (int i = narrowed.nextSetBit(0); i >= 0; i = narrowed.nextSetBit(i + 1)) {
+                matches.set(i, texts[i].contains(word));
+            }
+        } else {
+            for (int i = 0; i < texts.length; i++) {
+                matches.set(i, texts[i].contains(word));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return the items matching the longest previous word contained in the given one, as only they
+     * can contain the given word
+     */
+    private Optional<BitSet> getCandidates(String word) {
+        return matchesOfWords.entrySet().stream()
+                .filter(entry -> word.contains(entry.getKey()))
+                .max((a, b) -> Integer.compare(a.getKey().length(), b.getKey().length()))
+                .map(Map.Entry::getValue);
+    }
+
+    /**
+     * Sorts the matching items with a counting sort, which keeps ties in their original order.
+     */
+    private List<T> sortByMatchCount(int[] matchCounts, int maxMatchCount) {
+        List<List<T>> itemsByMatchCount = new ArrayList<>();
+        for (int count = 0; count <= maxMatchCount; count++) {
+            itemsByMatchCount.add(new ArrayList<>());
+        }
+        for (int i = 0; i < matchCounts.length; i++) {
+            if (matchCounts[i] > 0) {
+                itemsByMatchCount.get(matchCounts[i]).add(items.get(i));
+            }
+        }
+
+        List<T> result = new ArrayList<>();
+        for (int count = maxMatchCount; count > 0; count--) {
+            result.addAll(itemsByMatchCount.get(count));
+        }
+        return result;
+    }
+}
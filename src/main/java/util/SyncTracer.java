@@ -0,0 +1,340 @@
+package util;
+
+import com.google.gson.GsonBuilder;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * An optional mode in which the stages of syncing repositories are traced, to tell where the time of a refresh
+ * goes: downloading updates, waiting in and performing repository operations, storing repositories, and
+ * filtering. Each refresh is a trace, and each stage a span of it, with its start and end times. The time
+ * spent waiting in a queue before a stage starts is recorded as a span of its own.
+ * <p>
+ * A trace is carried through CompletableFuture chains by capturing it in their callbacks and making it
+ * current with {@link Trace#within(Supplier)}, and across executors by wrapping tasks with
+ * {@link #wrap(String, Runnable)} while it is current. Traces are exported in the Chrome trace event format,
+ * which may be opened offline in chrome://tracing, with each trace shown as a process.
+ * <p>
+ * Nothing is recorded while the mode is disabled: traces started then are {@link Trace#NONE}.
+ */
+public final class SyncTracer {
+
+    private static final Logger logger = HTLog.get(SyncTracer.class);
+
+    private static final SyncTracer instance = new SyncTracer();
+
+    // Spans beyond this number are dropped, oldest first
+    private static final int MAX_SPANS = 100000;
+
+    private static final String CATEGORY_STAGE = "stage";
+    private static final String CATEGORY_WAIT = "wait";
+
+    private final ThreadLocal<Trace> currentTrace = new ThreadLocal<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final long originNanos = System.nanoTime();
+
+    private final Deque<SpanRecord> spans = new ArrayDeque<>();
+    private final Map<Long, String> traceNames = new HashMap<>();
+
+    private volatile boolean isEnabled = false;
+
+    private SyncTracer() {
+    }
+
+    public static SyncTracer getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Enables or disables tracing, discarding all traces recorded so far when enabling it.
+     *
+     * @param isEnabled
+     */
+    public void setEnabled(boolean isEnabled) {
+        logger.info((isEnabled ? "Enabling" : "Disabling") + " sync tracing");
+        if (isEnabled && !this.isEnabled) {
+            clear();
+        }
+        this.isEnabled = isEnabled;
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+        traceNames.clear();
+    }
+
+    /**
+     * @param name e.g. refresh
+     * @return a new trace, or {@link Trace#NONE} if tracing is disabled
+     */
+    public Trace startTrace(String name) {
+        if (!isEnabled) {
+            return Trace.NONE;
+        }
+        Trace trace = new Trace(this, nextId.getAndIncrement());
+        synchronized (this) {
+            traceNames.put(trace.id, name + " " + trace.id);
+        }
+        return trace;
+    }
+
+    /**
+     * @return the trace current on this thread, or {@link Trace#NONE} if there is none
+     */
+    public Trace current() {
+        Trace trace = currentTrace.get();
+        return trace == null ? Trace.NONE : trace;
+    }
+
+    /**
+     * Wraps a task about to be submitted to an executor so that it runs in the current trace, if any,
+     * recording the time it waits to be run and the time it takes as spans.
+     *
+     * @param name     the name of the task's spans
+     * @param runnable
+     * @return the wrapped task, or the task itself if there is no current trace
+     */
+    public Runnable wrap(String name, Runnable runnable) {
+        Trace trace = current();
+        if (trace == Trace.NONE) {
+            return runnable;
+        }
+        long queuedNanos = System.nanoTime();
+        return () -> {
+            trace.recordWait(name, queuedNanos);
+            trace.within(() -> {
+                Span span = trace.startSpan(name);
+                try {
+                    runnable.run();
+                } finally {
+                    span.end();
+                }
+            });
+        };
+    }
+
+    private synchronized void record(SpanRecord span) {
+        spans.addLast(span);
+        while (spans.size() > MAX_SPANS) {
+            spans.removeFirst();
+        }
+    }
+
+    /**
+     * @return the traces recorded so far, in the Chrome trace event format
+     */
+    public synchronized String toChromeTraceJson() {
+        List<Map<String, Object>> events = new ArrayList<>();
+        traceNames.forEach((id, name) -> events.add(createMetadataEvent("process_name", id, 0, name)));
+
+        Map<Long, Map<Long, String>> threadNames = new HashMap<>();
+        for (SpanRecord span : spans) {
+            threadNames.computeIfAbsent(span.traceId, id -> new HashMap<>()).put(span.threadId, span.threadName);
+            events.addAll(span.toEvents(originNanos));
+        }
+        threadNames.forEach((traceId, threads) -> threads.forEach((threadId, threadName) ->
+                events.add(createMetadataEvent("thread_name", traceId, threadId, threadName))));
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceEvents", events);
+        json.put("displayTimeUnit", "ms");
+        return new GsonBuilder().setPrettyPrinting().create().toJson(json);
+    }
+
+    private static Map<String, Object> createMetadataEvent(String name, long pid, long tid, String value) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("name", value);
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", name);
+        event.put("ph", "M");
+        event.put("pid", pid);
+        event.put("tid", tid);
+        event.put("args", args);
+        return event;
+    }
+
+    /**
+     * A trace of a refresh, or of any other operation going through the sync pipeline.
+     */
+    public static final class Trace {
+
+        /**
+         * Records nothing; returned while tracing is disabled.
+         */
+        public static final Trace NONE = new Trace(null, 0);
+
+        private final SyncTracer tracer;
+        private final long id;
+
+        private Trace(SyncTracer tracer, long id) {
+            this.tracer = tracer;
+            this.id = id;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * Starts a span of this trace on the current thread. It may be ended on any thread.
+         *
+         * @param name
+         */
+        public Span startSpan(String name) {
+            return this == NONE ? Span.NONE : new Span(this, name, CATEGORY_STAGE, System.nanoTime());
+        }
+
+        /**
+         * Records the time spent waiting in a queue, from when something was queued until now.
+         *
+         * @param name        the name of what was queued
+         * @param queuedNanos when it was queued, as given by {@link System#nanoTime()}
+         */
+        public void recordWait(String name, long queuedNanos) {
+            if (this != NONE) {
+                new Span(this, name + " (queued)", CATEGORY_WAIT, queuedNanos).end();
+            }
+        }
+
+        /**
+         * Calls the given supplier with this trace as the current trace.
+         *
+         * @param supplier
+         * @return the supplier's result
+         */
+        public <T> T within(Supplier<T> supplier) {
+            if (this == NONE) {
+                return supplier.get();
+            }
+            Trace previous = tracer.currentTrace.get();
+            tracer.currentTrace.set(this);
+            try {
+                return supplier.get();
+            } finally {
+                tracer.currentTrace.set(previous);
+            }
+        }
+
+        public void within(Runnable runnable) {
+            within(() -> {
+                runnable.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * A stage of a trace, which is recorded when it ends.
+     */
+    public static final class Span {
+
+        private static final Span NONE = new Span(Trace.NONE, "", CATEGORY_STAGE, 0);
+
+        private final Trace trace;
+        private final String name;
+        private final String category;
+        private final long startNanos;
+        private final Thread startThread = Thread.currentThread();
+        private boolean isEnded = false;
+
+        private Span(Trace trace, String name, String category, long startNanos) {
+            this.trace = trace;
+            this.name = name;
+            this.category = category;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Ends the span. Only the first call has any effect.
+         */
+        public void end() {
+            if (trace == Trace.NONE) {
+                return;
+            }
+            synchronized (this) {
+                if (isEnded) {
+                    return;
+                }
+                isEnded = true;
+            }
+            trace.tracer.record(new SpanRecord(trace.id, name, category, startNanos, System.nanoTime(),
+                                               startThread, Thread.currentThread() == startThread,
+                                               trace.tracer.nextId.getAndIncrement()));
+        }
+    }
+
+    private static final class SpanRecord {
+        private final long traceId;
+        private final String name;
+        private final String category;
+        private final long startNanos;
+        private final long endNanos;
+        private final long threadId;
+        private final String threadName;
+        private final boolean isEndedOnStartThread;
+        private final long id;
+
+        SpanRecord(long traceId, String name, String category, long startNanos, long endNanos, Thread thread,
+                   boolean isEndedOnStartThread, long id) {
+            this.traceId = traceId;
+            this.name = name;
+            this.category = category;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.threadId = thread.getId();
+            this.threadName = thread.getName();
+            this.isEndedOnStartThread = isEndedOnStartThread;
+            this.id = id;
+        }
+
+        /**
+         * Spans ended on the thread they started on are complete events on that thread. Those which were
+         * not, like spans over CompletableFuture chains, are pairs of async events on tracks of their own.
+         */
+        List<Map<String, Object>> toEvents(long originNanos) {
+            List<Map<String, Object>> events = new ArrayList<>();
+            if (isEndedOnStartThread) {
+                Map<String, Object> event = createEvent("X", startNanos, originNanos);
+                event.put("dur", toMicros(endNanos - startNanos));
+                events.add(event);
+            } else {
+                Map<String, Object> begin = createEvent("b", startNanos, originNanos);
+                begin.put("id", id);
+                Map<String, Object> end = createEvent("e", endNanos, originNanos);
+                end.put("id", id);
+                events.add(begin);
+                events.add(end);
+            }
+            return events;
+        }
+
+        private Map<String, Object> createEvent(String phase, long nanos, long originNanos) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("name", name);
+            event.put("cat", category);
+            event.put("ph", phase);
+            event.put("ts", toMicros(nanos - originNanos));
+            event.put("pid", traceId);
+            event.put("tid", threadId);
+            return event;
+        }
+
+        private static double toMicros(long nanos) {
+            return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package util.events;
+
+/**
+ * An event of which only the latest matters, e.g. a progress update. Of events of the same type and key
+ * triggered before they are delivered on the FX or background lanes, only the latest is delivered.
+ */
+public interface CoalescableEvent {
+    /**
+     * @return the key of what the event is about, e.g. the repository being downloaded
+     */
+    Object getCoalescingKey();
+}
@@ -0,0 +1,23 @@
+package util.events;
+
+/**
+ * How events are delivered to a handler.
+ */
+public enum DeliveryLane {
+    /**
+     * On the thread which triggered the event, before triggerEvent returns.
+     */
+    SYNC,
+
+    /**
+     * On the JavaFX thread, some time after the event was triggered. Events which are
+     * {@link CoalescableEvent}s and are triggered again before they are delivered are delivered once,
+     * with the latest event.
+     */
+    FX,
+
+    /**
+     * On a background thread, in the order the events were triggered, and coalesced as on the FX lane.
+     */
+    BACKGROUND
+}
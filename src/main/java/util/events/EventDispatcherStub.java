@@ -1,28 +1,14 @@
 package util.events;
 
-import com.google.common.eventbus.EventBus;
-
 /**
  * Stub class used for headless firing of events.
+ * Events are delivered on every lane on the thread which fired them.
  * Used for testing.
  */
-public class EventDispatcherStub implements EventDispatcher {
-    EventBus eventBus;
+public class EventDispatcherStub extends TypedEventBus {
 
     public EventDispatcherStub() {
-        this.eventBus = new EventBus();
-    }
-
-    public void registerEvent(EventHandler handler) {
-        eventBus.register(handler);
-    }
-
-    public void unregisterEvent(EventHandler handler) {
-        eventBus.unregister(handler);
-    }
-
-    public <T extends Event> void triggerEvent(T event) {
-        eventBus.post(event);
+        super(Runnable::run, Runnable::run);
     }
 
 }
@@ -0,0 +1,246 @@
+package util.events;
+
+import com.google.common.eventbus.Subscribe;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import javafx.application.Platform;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dispatches events to the handlers registered for their types, as Guava's EventBus does, but with the
+ * handlers of each type of event resolved once rather than every time an event is triggered, and with
+ * handlers delivered events on one of several {@link DeliveryLane}s.
+ * <p>
+ * Handlers are EventHandlers with a method annotated with {@link Subscribe} which takes an event, and are
+ * called for events of that type or its subtypes. Handlers on the SYNC lane are called by the thread which
+ * triggers the event, while handlers on the FX and BACKGROUND lanes are called later, and if the event is a
+ * {@link CoalescableEvent}, with only the latest of the events of its type and key triggered in the meantime.
+ * <p>
+ * As with Guava's EventBus, events triggered by a handler are only delivered once the event it is handling has
+ * been delivered to all its handlers on that lane, and each handler is called by one thread at a time.
+ * Exceptions thrown by handlers are logged, and do not stop the event being delivered to other handlers.
+ */
+public class TypedEventBus implements EventDispatcher {
+
+    private static final Logger logger = HTLog.get(TypedEventBus.class);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // The subscribers of each type of event, including those of its supertypes; replaced on every registration
+    private volatile Map<Class<?>, Map<DeliveryLane, Subscriber[]>> resolvedSubscribers = new ConcurrentHashMap<>();
+
+    private final Map<DeliveryLane, Lane> lanes = new EnumMap<>(DeliveryLane.class);
+
+    // The events each thread has yet to deliver, and whether it is delivering one
+    private final ThreadLocal<Queue<PendingEvent>> pendingEvents = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<Boolean> isDelivering = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Creates an event bus which delivers events on the FX lane on the JavaFX thread.
+     */
+    public TypedEventBus() {
+        this(Platform::runLater, Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("event-background-%d").setDaemon(true).build()));
+    }
+
+    /**
+     * @param fxExecutor         runs the delivery of events on the FX lane
+     * @param backgroundExecutor runs the delivery of events on the BACKGROUND lane; it should run tasks
+     *                           one at a time, in order
+     */
+    public TypedEventBus(Executor fxExecutor, Executor backgroundExecutor) {
+        lanes.put(DeliveryLane.FX, new Lane(DeliveryLane.FX, fxExecutor));
+        lanes.put(DeliveryLane.BACKGROUND, new Lane(DeliveryLane.BACKGROUND, backgroundExecutor));
+    }
+
+    @Override
+    public void registerEvent(EventHandler handler) {
+        registerEvent(handler, DeliveryLane.SYNC);
+    }
+
+    @Override
+    public synchronized void registerEvent(EventHandler handler, DeliveryLane lane) {
+        for (Method method : findSubscribeMethods(handler.getClass())) {
+            subscribers.add(new Subscriber(handler, method, lane));
+        }
+        resolvedSubscribers = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public synchronized void unregisterEvent(EventHandler handler) {
+        subscribers.removeIf(subscriber -> subscriber.handler == handler);
+        resolvedSubscribers = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public <T extends Event> void triggerEvent(T event) {
+        Map<DeliveryLane, Subscriber[]> subscribersByLane = resolve(event.getClass());
+        lanes.forEach((lane, queue) -> {
+            if (subscribersByLane.get(lane).length > 0) {
+                queue.enqueue(event);
+            }
+        });
+        deliver(event, subscribersByLane.get(DeliveryLane.SYNC));
+    }
+
+    /**
+     * Delivers an event on the current thread, after the events it is already delivering.
+     */
+    private void deliver(Event event, Subscriber[] subscribers) {
+        if (subscribers.length == 0) {
+            return;
+        }
+        Queue<PendingEvent> pending = pendingEvents.get();
+        pending.add(new PendingEvent(event, subscribers));
+        if (isDelivering.get()) {
+            return;
+        }
+        isDelivering.set(true);
+        try {
+            PendingEvent next;
+            while ((next = pending.poll()) != null) {
+                for (Subscriber subscriber : next.subscribers) {
+                    subscriber.deliver(next.event);
+                }
+            }
+        } finally {
+            isDelivering.set(false);
+        }
+    }
+
+    private Map<DeliveryLane, Subscriber[]> resolve(Class<?> eventType) {
+        Map<Class<?>, Map<DeliveryLane, Subscriber[]>> cache = resolvedSubscribers;
+        Map<DeliveryLane, Subscriber[]> resolved = cache.get(eventType);
+        if (resolved != null) {
+            return resolved;
+        }
+        Set<? extends Class<?>> eventTypes = TypeToken.of(eventType).getTypes().rawTypes();
+        resolved = new EnumMap<>(DeliveryLane.class);
+        for (DeliveryLane lane : DeliveryLane.values()) {
+            resolved.put(lane, subscribers.stream()
+                    .filter(subscriber -> subscriber.lane == lane && eventTypes.contains(subscriber.eventType))
+                    .toArray(Subscriber[]::new));
+        }
+        // If a registration raced with this, the result goes into a cache which has already been replaced
+        cache.put(eventType, resolved);
+        return resolved;
+    }
+
+    /**
+     * Finds the methods annotated with @Subscribe in a handler's class and its supertypes, e.g. the
+     * EventHandler interfaces which a lambda implements.
+     */
+    private static List<Method> findSubscribeMethods(Class<?> handlerClass) {
+        List<Method> methods = new ArrayList<>();
+        Set<List<Object>> signatures = new HashSet<>();
+        for (Class<?> type : TypeToken.of(handlerClass).getTypes().rawTypes()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Subscribe.class) && !method.isSynthetic()
+                        && method.getParameterTypes().length == 1
+                        && signatures.add(Arrays.asList(method.getName(), method.getParameterTypes()[0]))) {
+                    method.setAccessible(true);
+                    methods.add(method);
+                }
+            }
+        }
+        return methods;
+    }
+
+    private static final class Subscriber {
+        private final EventHandler handler;
+        private final Method method;
+        private final Class<?> eventType;
+        private final DeliveryLane lane;
+
+        Subscriber(EventHandler handler, Method method, DeliveryLane lane) {
+            this.handler = handler;
+            this.method = method;
+            this.eventType = method.getParameterTypes()[0];
+            this.lane = lane;
+        }
+
+        synchronized void deliver(Event event) {
+            try {
+                method.invoke(handler, event);
+            } catch (InvocationTargetException e) {
+                logger.error("Could not dispatch event " + event.getClass().getSimpleName() + " to "
+                                     + method.getDeclaringClass().getSimpleName(), e.getCause());
+            } catch (IllegalAccessException e) {
+                HTLog.error(logger, e);
+            }
+        }
+    }
+
+    private static final class PendingEvent {
+        private final Event event;
+        private final Subscriber[] subscribers;
+
+        PendingEvent(Event event, Subscriber[] subscribers) {
+            this.event = event;
+            this.subscribers = subscribers;
+        }
+    }
+
+    /**
+     * The events waiting to be delivered on a lane other than SYNC. Coalescable events wait in a map by key,
+     * and the queue only holds their keys, so that a later event takes the place of an earlier one.
+     */
+    private final class Lane {
+        private final DeliveryLane lane;
+        private final Executor executor;
+        private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+        private final Map<List<Object>, Event> coalesced = new ConcurrentHashMap<>();
+        private final AtomicBoolean isDeliveryScheduled = new AtomicBoolean(false);
+
+        Lane(DeliveryLane lane, Executor executor) {
+            this.lane = lane;
+            this.executor = executor;
+        }
+
+        void enqueue(Event event) {
+            if (event instanceof CoalescableEvent) {
+                List<Object> key = Arrays.asList(event.getClass(), ((CoalescableEvent) event).getCoalescingKey());
+                if (coalesced.put(key, event) == null) {
+                    queue.add(key);
+                }
+            } else {
+                queue.add(event);
+            }
+            if (isDeliveryScheduled.compareAndSet(false, true)) {
+                executor.execute(this::deliverAll);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void deliverAll() {
+            // Cleared first, so that events enqueued while delivering schedule another delivery
+            isDeliveryScheduled.set(false);
+            Object item;
+            while ((item = queue.poll()) != null) {
+                Event event = item instanceof Event ? (Event) item : coalesced.remove((List<Object>) item);
+                if (event != null) {
+                    deliver(event, resolve(event.getClass()).get(lane));
+                }
+            }
+        }
+    }
+}
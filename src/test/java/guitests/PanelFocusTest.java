@@ -150,5 +150,6 @@ public class PanelFocusTest extends UITest {
         panels.add(test3);
 
         prefs.setPanelInfo(panels);
+        prefs.flush();
     }
 }
@@ -39,6 +39,7 @@ public class RemovableRepoListAndModelsTest extends UITest {
         Preferences prefs = TestController.createTestPreferences();
         prefs.setLastLoginCredentials("test", "test");
         prefs.setLastViewedRepository("dummy/dummy");
+        prefs.flush();
     }
 
     /**
@@ -35,6 +35,7 @@ public class SavedLoginTest extends UITest {
         Preferences prefs = TestController.createTestPreferences();
         prefs.setLastLoginCredentials("test", "test");
         prefs.setLastViewedRepository("test/test");
+        prefs.flush();
 
         RepoIO testIO = TestController.createTestingRepoIO(Optional.empty());
         testIO.setRepoOpControl(TestUtils.createRepoOpControlWithEmptyModels(testIO));
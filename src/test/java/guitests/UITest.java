@@ -20,6 +20,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hamcrest.Matcher;
@@ -150,6 +151,15 @@ public class UITest extends FxRobot {
     public static void clearAllTestConfigs() {
         clearTestConfig(TestController.TEST_DIRECTORY, TestController.TEST_SESSION_CONFIG_FILENAME);
         clearTestConfig(TestController.TEST_DIRECTORY, TestController.TEST_USER_CONFIG_FILENAME);
+        clearTestReadMarks();
+    }
+
+    private static void clearTestReadMarks() {
+        try {
+            FileUtils.deleteDirectory(new File(TestController.TEST_READ_TRACKING_DIRECTORY));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     private static void clearTestConfig(String directory, String filename) {
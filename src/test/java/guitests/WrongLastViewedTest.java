@@ -37,6 +37,7 @@ public class WrongLastViewedTest extends UITest {
         Preferences prefs = TestController.createTestPreferences();
         prefs.setLastLoginCredentials("test", "test");
         prefs.setLastViewedRepository("test/test");
+        prefs.flush();
 
         RepoIO testIO = TestController.createTestingRepoIO(Optional.empty());
         testIO.setRepoOpControl(TestUtils.createRepoOpControlWithEmptyModels(testIO));
@@ -0,0 +1,184 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import javafx.scene.image.Image;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import util.AvatarService;
+import util.AvatarService.Download;
+
+public class AvatarServiceTests {
+
+    private static final String URL = "https://avatars.example.com/u/1";
+    private static final int SIZE = 16;
+
+    private File directory;
+
+    // The ETags given to the fetcher, in order; empty for plain downloads
+    private final List<Optional<String>> fetches = new ArrayList<>();
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("avatars").toFile();
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    private static byte[] createPng() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private AvatarService createService(AvatarService.Fetcher fetcher, int maxCachedImages) {
+        return new AvatarService(directory.toPath(), (url, eTag) -> {
+            synchronized (fetches) {
+                fetches.add(eTag);
+            }
+            return fetcher.fetch(url, eTag);
+        }, maxCachedImages);
+    }
+
+    private AvatarService createService() throws IOException {
+        byte[] png = createPng();
+        return createService((url, eTag) -> Optional.of(new Download(png, Optional.of("v1"))), 10);
+    }
+
+    @Test
+    public void getAvatar_loaded_cachedInMemoryAndOnDisk() throws IOException, ExecutionException,
+            InterruptedException {
+        AvatarService avatars = createService();
+        Image image = avatars.getAvatar("user", URL, SIZE).get().get();
+        assertEquals(SIZE, image.getWidth(), 0);
+
+        assertSame(image, avatars.getCachedAvatar("user", SIZE).get());
+        assertSame(image, avatars.getAvatar("user", URL, SIZE).get().get());
+        assertEquals(1, fetches.size());
+
+        // Other sizes are scaled from the same download
+        Image larger = avatars.getAvatar("user", URL, SIZE * 2).get().get();
+        assertEquals(SIZE * 2, larger.getWidth(), 0);
+        assertEquals(1, fetches.size());
+
+        // Recently downloaded avatars are read from disk
+        AvatarService restarted = createService();
+        assertFalse(restarted.getCachedAvatar("user", SIZE).isPresent());
+        assertTrue(restarted.getAvatar("user", URL, SIZE).get().isPresent());
+        assertEquals(1, fetches.size());
+    }
+
+    @Test
+    public void getAvatar_noAvatar_notFetched() throws IOException, ExecutionException, InterruptedException {
+        assertFalse(createService().getAvatar("user", "", SIZE).get().isPresent());
+        assertTrue(fetches.isEmpty());
+    }
+
+    @Test
+    public void getAvatar_moreThanMax_leastRecentlyUsedEvicted() throws IOException, ExecutionException,
+            InterruptedException {
+        byte[] png = createPng();
+        AvatarService avatars = createService((url, eTag) -> Optional.of(new Download(png, Optional.empty())), 2);
+
+        avatars.getAvatar("a", URL, SIZE).get();
+        avatars.getAvatar("b", URL, SIZE).get();
+        assertTrue(avatars.getCachedAvatar("a", SIZE).isPresent());
+        avatars.getAvatar("c", URL, SIZE).get();
+
+        assertTrue(avatars.getCachedAvatar("a", SIZE).isPresent());
+        assertFalse(avatars.getCachedAvatar("b", SIZE).isPresent());
+        assertTrue(avatars.getCachedAvatar("c", SIZE).isPresent());
+    }
+
+    @Test
+    public void getAvatar_staleOnDisk_revalidated() throws IOException, ExecutionException, InterruptedException {
+        createService().getAvatar("user", URL, SIZE).get();
+        Path imageFile = directory.toPath().resolve("user.img");
+        long stale = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+        Files.setLastModifiedTime(imageFile, FileTime.fromMillis(stale));
+
+        AvatarService restarted = createService((url, eTag) -> Optional.empty(), 10);
+        assertTrue(restarted.getAvatar("user", URL, SIZE).get().isPresent());
+
+        assertEquals(Optional.of("v1"), fetches.get(1));
+        assertTrue(Files.getLastModifiedTime(imageFile).toMillis() > stale);
+    }
+
+    @Test
+    public void getAvatar_concurrentRequests_fetchedOnce() throws IOException, ExecutionException,
+            InterruptedException {
+        byte[] png = createPng();
+        CountDownLatch fetching = new CountDownLatch(1);
+        AvatarService avatars = createService((url, eTag) -> {
+            try {
+                fetching.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return Optional.of(new Download(png, Optional.empty()));
+        }, 10);
+
+        CompletableFuture<Optional<Image>> first = avatars.getAvatar("user", URL, SIZE);
+        CompletableFuture<Optional<Image>> second = avatars.getAvatar("user", URL, SIZE);
+        assertSame(first, second);
+        fetching.countDown();
+
+        assertSame(first.get().get(), second.get().get());
+        assertEquals(1, fetches.size());
+    }
+
+    @Test
+    public void getAvatar_concurrentSizes_fetchedOnce() throws IOException, ExecutionException,
+            InterruptedException {
+        byte[] png = createPng();
+        CountDownLatch fetching = new CountDownLatch(1);
+        AvatarService avatars = createService((url, eTag) -> {
+            try {
+                fetching.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return Optional.of(new Download(png, Optional.empty()));
+        }, 10);
+
+        CompletableFuture<Optional<Image>> small = avatars.getAvatar("user", URL, SIZE);
+        CompletableFuture<Optional<Image>> large = avatars.getAvatar("user", URL, SIZE * 2);
+        fetching.countDown();
+
+        assertEquals(SIZE, small.get().get().getWidth(), 0);
+        assertEquals(SIZE * 2, large.get().get().getWidth(), 0);
+        assertEquals(1, fetches.size());
+    }
+
+    @Test
+    public void getKey_invalidFileNameCharacters_replaced() {
+        assertEquals("bob_smith-1", AvatarService.getKey("bob.smith-1"));
+        assertEquals("a_b", AvatarService.getKey("a/b"));
+    }
+}
@@ -0,0 +1,76 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import backend.resource.Model;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import ui.components.FilterCompletions;
+
+public class FilterCompletionsTests {
+
+    private static Model createModel(String repoId, String... labels) {
+        return new Model(repoId,
+                new ArrayList<>(),
+                Arrays.stream(labels).map(label -> new TurboLabel(repoId, label))
+                        .collect(Collectors.toList()),
+                new ArrayList<>(Arrays.asList(new TurboMilestone(repoId, 1, "V1.0"))),
+                new ArrayList<>(Arrays.asList(new TurboUser(repoId, "alice"))));
+    }
+
+    @Test
+    public void getValues_qualifierWithVocabulary_prefixMatchesIgnoringCase() {
+        FilterCompletions completions = new FilterCompletions();
+        completions.update(Arrays.asList(createModel("test/a", "type.bug", "Type.feature", "priority.high"),
+                                         createModel("test/b", "type.bug", "type.task")));
+
+        assertEquals(Optional.of(Arrays.asList("type.bug", "Type.feature", "type.task")),
+                     completions.getValues("label", "type."));
+        assertEquals(Optional.of(Arrays.asList("priority.high")), completions.getValues("l", "P"));
+        assertEquals(Optional.of(Arrays.asList("V1.0")), completions.getValues("milestone", "v"));
+        assertEquals(Optional.of(Arrays.asList("alice")), completions.getValues("assignee", ""));
+        assertEquals(Optional.of(Arrays.asList("test/a", "test/b")), completions.getValues("repo", "test"));
+        assertFalse(completions.getValues("is", "o").isPresent());
+    }
+
+    /**
+     * Tests that all words differing only in case from the prefix are completed, not only those
+     * after the one a binary search happens to find
+     */
+    @Test
+    public void getValues_prefixMatchesSeveralWordsExactly_allCompleted() {
+        FilterCompletions completions = new FilterCompletions();
+        completions.update(Arrays.asList(createModel("test/a", "a", "b", "BUG", "BUg", "Bug", "bUG", "bug", "c",
+                                                     "d")));
+
+        assertEquals(Optional.of(Arrays.asList("BUG", "BUg", "Bug", "bUG", "bug")),
+                     completions.getValues("label", "bug"));
+    }
+
+    @Test
+    public void update_repoClosedOrChanged_vocabularyUpdated() {
+        FilterCompletions completions = new FilterCompletions();
+        completions.update(Arrays.asList(createModel("test/a", "type.bug"), createModel("test/b", "type.task")));
+        completions.update(Arrays.asList(createModel("test/a", "type.bug", "type.chore")));
+
+        assertEquals(Optional.of(Arrays.asList("type.bug", "type.chore")), completions.getValues("label", "type"));
+        assertEquals(Optional.of(Arrays.asList("test/a")), completions.getValues("repo", ""));
+    }
+
+    @Test
+    public void getValues_notUpdated_noValues() {
+        FilterCompletions completions = new FilterCompletions();
+
+        assertEquals(Optional.of(new ArrayList<>()), completions.getValues("label", ""));
+        assertFalse(completions.getValues("is", "").isPresent());
+    }
+}
@@ -0,0 +1,463 @@
+package tests;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import github.GitHubClientEx;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * A local HTTP server which emulates the parts of the GitHub API used to sync repositories, serving
+ * recorded or generated responses, so that syncing can be tested and benchmarked without a network
+ * connection. Point a {@link GitHubClientEx} at it with {@link #createClient()}.
+ * <p>
+ * Each resource is a JSON array or object, put at the path of its API endpoint, e.g. /repos/owner/name/issues
+ * or /users/login. Responses behave like GitHub's:
+ * <ul>
+ * <li>arrays are paginated by the page and per_page parameters, with Link headers to the other pages</li>
+ * <li>issues are filtered by the since parameter, and sorted by the sort and direction parameters</li>
+ * <li>every page has an ETag, and a request with a matching If-None-Match header gets a 304</li>
+ * <li>responses have rate limit headers, and a 403 is returned once the limit is used up; 304s and
+ * requests for /rate_limit do not count against it</li>
+ * </ul>
+ * Latency and errors may be injected, and the requests served and bytes sent are counted.
+ */
+public class GitHubReplayServer {
+
+    private static final Logger logger = HTLog.get(GitHubReplayServer.class);
+
+    // Clients add this prefix to paths when the host is not api.github.com
+    private static final String API_PREFIX = "/api/v3";
+
+    private static final int DEFAULT_PER_PAGE = 30;
+    private static final int MAX_PER_PAGE = 100;
+    public static final int RATE_LIMIT = 5000;
+    private static final long RATE_LIMIT_PERIOD_SECONDS = TimeUnit.HOURS.toSeconds(1);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("github-replay-%d").build());
+
+    private final Map<String, JsonElement> resources = new ConcurrentHashMap<>();
+
+    private volatile long latencyMillis = 0;
+    private volatile double errorRate = 0;
+    private final Random errorRandom = new Random(0);
+    private final AtomicInteger injectedErrors = new AtomicInteger(0);
+    private volatile int injectedErrorStatus = HttpURLConnection.HTTP_BAD_GATEWAY;
+
+    private final AtomicInteger rateLimitRemaining = new AtomicInteger(RATE_LIMIT);
+    private final long rateLimitReset = System.currentTimeMillis() / 1000 + RATE_LIMIT_PERIOD_SECONDS;
+
+    private final AtomicLong requestCount = new AtomicLong(0);
+    private final AtomicLong notModifiedCount = new AtomicLong(0);
+    private final AtomicLong errorCount = new AtomicLong(0);
+    private final AtomicLong bytesSent = new AtomicLong(0);
+
+    /**
+     * Creates a server on a free port of the loopback interface. It does not serve requests until started.
+     *
+     * @throws IOException if the server cannot be created
+     */
+    public GitHubReplayServer() throws IOException {
+        // Otherwise responses written in more than one packet are delayed by tens of milliseconds.
+        // The JDK reads this when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public GitHubReplayServer start() {
+        server.start();
+        logger.info("Replaying GitHub API on port " + getPort());
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return a client which sends its requests to this server
+     */
+    public GitHubClientEx createClient() {
+        return new GitHubClientEx("localhost", getPort(), "http");
+    }
+
+    /**
+     * Serves the given resource at the given path, replacing any served there before.
+     *
+     * @param path     the path of an API endpoint, e.g. /repos/owner/name/labels
+     * @param resource a JSON array, which is paginated, or a JSON object
+     */
+    public void putResource(String path, JsonElement resource) {
+        resources.put(path, resource);
+    }
+
+    /**
+     * Serves a recorded response body at the given path.
+     *
+     * @param path
+     * @param json
+     */
+    public void putResource(String path, String json) {
+        putResource(path, new JsonParser().parse(json));
+    }
+
+    public void removeResource(String path) {
+        resources.remove(path);
+    }
+
+    /**
+     * @param latencyMillis time taken to respond to every request
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * @param errorRate fraction of requests, chosen at random, to respond to with a 502
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Responds to the next requests with the given error status.
+     *
+     * @param count  number of requests to fail
+     * @param status e.g. 500 or 502
+     */
+    public void failNextRequests(int count, int status) {
+        injectedErrorStatus = status;
+        injectedErrors.set(count);
+    }
+
+    public void setRateLimitRemaining(int remaining) {
+        rateLimitRemaining.set(remaining);
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * @return the total size of the bodies of all responses
+     */
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public void resetCounts() {
+        requestCount.set(0);
+        notModifiedCount.set(0);
+        errorCount.set(0);
+        bytesSent.set(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requestCount.incrementAndGet();
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            respond(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Error replaying " + exchange.getRequestURI(), e);
+            sendError(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, e.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.startsWith(API_PREFIX)) {
+            path = path.substring(API_PREFIX.length());
+        }
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        if ("/rate_limit".equals(path)) {
+            sendRateLimit(exchange);
+            return;
+        }
+        if (shouldFail()) {
+            errorCount.incrementAndGet();
+            sendError(exchange, injectedErrorStatus, "Injected error");
+            return;
+        }
+        if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+            sendError(exchange, HttpURLConnection.HTTP_BAD_METHOD, "Only reads are replayed");
+            return;
+        }
+        if ("/".equals(path)) {
+            sendJson(exchange, HttpURLConnection.HTTP_OK, new JsonObject().toString());
+            return;
+        }
+
+        JsonElement resource = resources.get(path);
+        if (resource == null) {
+            sendError(exchange, HttpURLConnection.HTTP_NOT_FOUND, "Not Found");
+        } else if (resource.isJsonArray()) {
+            sendPage(exchange, path, params, filterAndSort(resource.getAsJsonArray(), params));
+        } else {
+            sendCacheable(exchange, resource.toString());
+        }
+    }
+
+    private boolean shouldFail() {
+        if (injectedErrors.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+            return true;
+        }
+        synchronized (errorRandom) {
+            return errorRate > 0 && errorRandom.nextDouble() < errorRate;
+        }
+    }
+
+    private void sendPage(HttpExchange exchange, String path, Map<String, String> params, List<JsonElement> items)
+            throws IOException {
+
+        int perPage = Math.max(1, Math.min(MAX_PER_PAGE, parseInt(params.get("per_page"), DEFAULT_PER_PAGE)));
+        int lastPage = Math.max(1, (items.size() + perPage - 1) / perPage);
+        int page = Math.max(1, parseInt(params.get("page"), 1));
+
+        JsonArray body = new JsonArray();
+        items.stream().skip((long) (page - 1) * perPage).limit(perPage).forEach(body::add);
+        if (lastPage > 1) {
+            exchange.getResponseHeaders().set("Link", createLinks(path, params, page, lastPage));
+        }
+        sendCacheable(exchange, body.toString());
+    }
+
+    /**
+     * Sends a response body with an ETag, or a 304 if the request has a matching If-None-Match header.
+     */
+    private void sendCacheable(HttpExchange exchange, String json) throws IOException {
+        String eTag = Hashing.sha1().hashString(json, StandardCharsets.UTF_8).toString();
+        exchange.getResponseHeaders().set("ETag", "\"" + eTag + "\"");
+
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null && ifNoneMatch.replace("W/", "").replace("\"", "").equals(eTag)) {
+            notModifiedCount.incrementAndGet();
+            sendHeaders(exchange, HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+            return;
+        }
+        sendJson(exchange, HttpURLConnection.HTTP_OK, json);
+    }
+
+    private String createLinks(String path, Map<String, String> params, int page, int lastPage) {
+        Map<String, Integer> links = new LinkedHashMap<>();
+        if (page < lastPage) {
+            links.put("next", page + 1);
+            links.put("last", lastPage);
+        }
+        if (page > 1) {
+            links.put("first", 1);
+            links.put("prev", page - 1);
+        }
+        String base = "http://localhost:" + getPort() + API_PREFIX + path;
+        return links.entrySet().stream()
+                .map(link -> {
+                    Map<String, String> linkParams = new LinkedHashMap<>(params);
+                    linkParams.put("page", String.valueOf(link.getValue()));
+                    String query = linkParams.entrySet().stream()
+                            .map(param -> param.getKey() + "=" + encode(param.getValue()))
+                            .collect(Collectors.joining("&"));
+                    return "<" + base + "?" + query + ">; rel=\"" + link.getKey() + "\"";
+                })
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Filters items by the since parameter and sorts them by the sort and direction parameters,
+     * for the items which have the corresponding fields.
+     */
+    private static List<JsonElement> filterAndSort(JsonArray items, Map<String, String> params) {
+        List<JsonElement> result = new ArrayList<>();
+        items.forEach(result::add);
+
+        Optional<Date> since = Optional.ofNullable(params.get("since")).flatMap(GitHubReplayServer::parseDate);
+        if (since.isPresent()) {
+            result = result.stream()
+                    .filter(item -> getDate(item, "updated_at").map(date -> !date.before(since.get())).orElse(true))
+                    .collect(Collectors.toList());
+        }
+
+        String sort = params.get("sort");
+        if ("updated".equals(sort) || "created".equals(sort)) {
+            Comparator<JsonElement> comparator = Comparator.comparing(
+                    item -> getDate(item, sort + "_at").orElse(new Date(0)));
+            result.sort("asc".equals(params.get("direction")) ? comparator : comparator.reversed());
+        }
+        return result;
+    }
+
+    private static Optional<Date> getDate(JsonElement item, String field) {
+        if (!item.isJsonObject() || !item.getAsJsonObject().has(field)) {
+            return Optional.empty();
+        }
+        return parseDate(item.getAsJsonObject().get(field).getAsString());
+    }
+
+    private static Optional<Date> parseDate(String date) {
+        for (String pattern : new String[]{"yyyy-MM-dd'T'HH:mm:ss'Z'", "yyyy-MM-dd'T'HH:mm'Z'"}) {
+            DateFormat format = new SimpleDateFormat(pattern, Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            try {
+                return Optional.of(format.parse(date));
+            } catch (ParseException e) {
+                // Try the next pattern
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void sendRateLimit(HttpExchange exchange) throws IOException {
+        JsonObject rate = new JsonObject();
+        rate.addProperty("limit", RATE_LIMIT);
+        rate.addProperty("remaining", rateLimitRemaining.get());
+        rate.addProperty("reset", rateLimitReset);
+        JsonObject resourceLimits = new JsonObject();
+        resourceLimits.add("core", rate);
+        JsonObject body = new JsonObject();
+        body.add("resources", resourceLimits);
+        body.add("rate", rate);
+        // Checking the rate limit does not count against it
+        sendBody(exchange, HttpURLConnection.HTTP_OK, body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        JsonObject body = new JsonObject();
+        body.addProperty("message", message);
+        sendJson(exchange, status, body.toString());
+    }
+
+    /**
+     * Sends a response body, or a 403 instead if the rate limit has been used up.
+     */
+    private void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        if (rateLimitRemaining.getAndUpdate(remaining -> Math.max(0, remaining - 1)) <= 0) {
+            errorCount.incrementAndGet();
+            sendBody(exchange, HttpURLConnection.HTTP_FORBIDDEN,
+                     "{\"message\":\"API rate limit exceeded\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        sendBody(exchange, status, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void sendBody(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        boolean isHead = "HEAD".equals(exchange.getRequestMethod());
+        sendHeaders(exchange, status, isHead ? -1 : body.length);
+        if (!isHead) {
+            // Counted first, as the client may carry on as soon as it has the body
+            bytesSent.addAndGet(body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    private void sendHeaders(HttpExchange exchange, int status, long length) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        DateFormat httpDate = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        httpDate.setTimeZone(TimeZone.getTimeZone("GMT"));
+        headers.set("Date", httpDate.format(new Date()));
+        headers.set("X-RateLimit-Limit", String.valueOf(RATE_LIMIT));
+        headers.set("X-RateLimit-Remaining", String.valueOf(rateLimitRemaining.get()));
+        headers.set("X-RateLimit-Reset", String.valueOf(rateLimitReset));
+        exchange.sendResponseHeaders(status, length);
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String param : query.split("&")) {
+            int separator = param.indexOf('=');
+            if (separator > 0) {
+                params.put(decode(param.substring(0, separator)), decode(param.substring(separator + 1)));
+            }
+        }
+        return params;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.gson.JsonParser;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import backend.github.GitHubRepo;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.stub.SyntheticRepoConfig;
+import backend.stub.SyntheticRepoState;
+import github.TurboIssueEvent;
+import ui.UI;
+import ui.components.StatusUIStub;
+import util.Utility;
+import util.events.EventDispatcherStub;
+
+public class GitHubReplayServerTests {
+
+    private static final String REPO_ID = "synthetic/repo";
+
+    private GitHubReplayServer server;
+    private SyntheticRepoState state;
+    private GitHubRepo repo;
+
+    @BeforeClass
+    public static void initialise() {
+        UI.events = new EventDispatcherStub();
+        UI.status = new StatusUIStub();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = new GitHubReplayServer().start();
+        state = new SyntheticRepoState(REPO_ID, new SyntheticRepoConfig().setIssueCount(250).setChurnRate(0.02));
+        SyntheticGitHubResources.put(server, state);
+        repo = new GitHubRepo(server.createClient());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void getIssues_paginated_allIssues() {
+        List<TurboIssue> issues = repo.getIssues(REPO_ID);
+
+        assertEquals(250, issues.size());
+        assertEquals(250, issues.stream().map(TurboIssue::getId).distinct().count());
+        assertEquals(state.getIssues().stream().filter(TurboIssue::isPullRequest).count(),
+                     issues.stream().filter(TurboIssue::isPullRequest).count());
+        // 100 issues per page
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void getLabels_zeroPerPage_onePerPage() throws IOException {
+        URL url = new URL("http://localhost:" + server.getPort() + "/api/v3/repos/" + REPO_ID + "/labels?per_page=0");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+        assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+        try (Reader body = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+            assertEquals(1, new JsonParser().parse(body).getAsJsonArray().size());
+        }
+        assertTrue(connection.getHeaderField("Link").contains("page=" + state.getLabels().size() + ">; rel=\"last\""));
+    }
+
+    @Test
+    public void getUpdatedIssues_refreshed_changedIssues() {
+        Date lastCheckTime = new Date();
+        String eTag = repo.getUpdatedIssues(REPO_ID, null, new Date(0)).middle;
+
+        assertEquals(5, state.refresh());
+        SyntheticGitHubResources.put(server, state);
+        // The since parameter is only precise to the minute
+        LocalDateTime since = Utility.dateToLocalDateTime(lastCheckTime).withSecond(0).withNano(0);
+        Set<Integer> changed = state.getIssues().stream()
+                .filter(issue -> !issue.getUpdatedAt().isBefore(since))
+                .map(TurboIssue::getId)
+                .collect(Collectors.toSet());
+        List<TurboIssue> updated = repo.getUpdatedIssues(REPO_ID, eTag, lastCheckTime).left;
+
+        assertTrue(!changed.isEmpty());
+        assertEquals(changed, updated.stream().map(TurboIssue::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void getUpdatedLabels_unchanged_notModified() {
+        ImmutablePair<List<TurboLabel>, String> labels = repo.getUpdatedLabels(REPO_ID, null);
+        assertEquals(state.getLabels().size(), labels.left.size());
+
+        ImmutablePair<List<TurboLabel>, String> unchanged = repo.getUpdatedLabels(REPO_ID, labels.right);
+        assertTrue(unchanged.left.isEmpty());
+        assertEquals(labels.right, unchanged.right);
+    }
+
+    @Test
+    public void getUpdatedEvents_unchanged_notModified() {
+        TurboIssue issue = state.getIssues().stream()
+                .filter(i -> !state.getEvents(i.getId(), null).left.isEmpty())
+                .findFirst().get();
+        ImmutablePair<List<TurboIssueEvent>, String> events = repo.getUpdatedEvents(REPO_ID, issue.getId(), "");
+        assertEquals(state.getEvents(issue.getId(), null).left.stream().map(TurboIssueEvent::getType)
+                             .collect(Collectors.toList()),
+                     events.left.stream().map(TurboIssueEvent::getType).collect(Collectors.toList()));
+
+        server.resetCounts();
+        ImmutablePair<List<TurboIssueEvent>, String> unchanged =
+                repo.getUpdatedEvents(REPO_ID, issue.getId(), events.right);
+        assertTrue(unchanged.left.isEmpty());
+        assertEquals(events.right, unchanged.right);
+        assertEquals(1, server.getNotModifiedCount());
+        assertEquals(0, server.getBytesSent());
+    }
+
+    @Test
+    public void rateLimit_requests_counted() throws IOException {
+        int remaining = repo.getRateLimitResetTime().left;
+        repo.getLabels(REPO_ID);
+
+        assertEquals(remaining - 1, (int) repo.getRateLimitResetTime().left);
+    }
+
+    @Test
+    public void injectedErrors_failedRequests_emptyResult() {
+        server.failNextRequests(1, 502);
+        assertTrue(repo.getLabels(REPO_ID).isEmpty());
+        assertEquals(1, server.getErrorCount());
+
+        server.setRateLimitRemaining(0);
+        assertTrue(repo.getLabels(REPO_ID).isEmpty());
+        assertEquals(2, server.getErrorCount());
+    }
+}
@@ -0,0 +1,100 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import backend.GuiElementFactory;
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import ui.GuiElement;
+import util.AvatarService;
+
+public class GuiElementFactoryTests {
+
+    private static final String REPO = "test/test";
+
+    private MultiModel models;
+    private TurboIssue issue;
+
+    @Before
+    public void setUp() {
+        TurboLabel label = new TurboLabel(REPO, "type.bug");
+        TurboMilestone milestone = new TurboMilestone(REPO, 1, "v1.0");
+        TurboUser user = new TurboUser(REPO, "alice");
+
+        issue = new TurboIssue(REPO, 1, "title", "alice", LocalDateTime.now(), false);
+        issue.setLabels(new ArrayList<>(Arrays.asList("type.bug", "deleted")));
+        issue.setMilestone(milestone);
+        issue.setAssignee(user);
+
+        models = (MultiModel) TestUtils.singletonModel(new Model(REPO,
+                new ArrayList<>(Arrays.asList(issue)),
+                new ArrayList<>(Arrays.asList(label)),
+                new ArrayList<>(Arrays.asList(milestone)),
+                new ArrayList<>(Arrays.asList(user))));
+    }
+
+    /**
+     * Tests that elements resolve the same labels, milestone and users as lookups through the MultiModel
+     */
+    @Test
+    public void getElement_sameAsMultiModelLookups() {
+        GuiElement element = new GuiElementFactory(models).getElement(issue);
+
+        assertEquals(models.getLabelsOfIssue(issue), element.getLabels());
+        assertEquals(models.getMilestoneOfIssue(issue), element.getMilestone());
+        assertEquals(models.getAssigneeOfIssue(issue), element.getAssignee());
+        assertEquals(models.getAuthorOfIssue(issue), element.getAuthor());
+        assertEquals("#1 title", element.getDisplayTitle());
+    }
+
+    /**
+     * Tests that the text and avatar keys shown on issue cards are computed with the element
+     */
+    @Test
+    public void getElement_cardDetailsPrecomputed() {
+        TurboIssue unassigned = new TurboIssue(REPO, 2, "title", "bob.smith", LocalDateTime.now(), true);
+        GuiElementFactory factory = new GuiElementFactory(models);
+        GuiElement element = factory.getElement(issue);
+        GuiElement unassignedElement = factory.getElement(unassigned);
+
+        assertEquals(Optional.of("v1.0"), element.getMilestoneTitle());
+        assertEquals("alice", element.getAuthorName());
+        assertEquals(Optional.of("alice"), element.getAssigneeName());
+        assertEquals(Optional.of(AvatarService.getKey("alice")), element.getAuthorAvatarKey());
+        assertEquals(Optional.of(AvatarService.getKey("alice")), element.getAssigneeAvatarKey());
+
+        assertEquals(Optional.empty(), unassignedElement.getMilestoneTitle());
+        assertEquals("bob.smith", unassignedElement.getAuthorName());
+        assertEquals(Optional.empty(), unassignedElement.getAssigneeName());
+        // Users who are not in the model have no avatar
+        assertEquals(Optional.empty(), unassignedElement.getAuthorAvatarKey());
+        assertEquals(Optional.empty(), unassignedElement.getAssigneeAvatarKey());
+    }
+
+    /**
+     * Tests that an issue shown by several panels has a single element
+     */
+    @Test
+    public void getElements_sameIssue_shared() {
+        GuiElementFactory factory = new GuiElementFactory(models);
+        List<GuiElement> first = factory.getElements(Arrays.asList(issue));
+        List<GuiElement> second = factory.getElements(Arrays.asList(issue));
+
+        assertSame(first.get(0), second.get(0));
+        assertEquals(1, factory.getReusedCount());
+    }
+}
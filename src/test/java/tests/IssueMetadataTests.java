@@ -1,10 +1,12 @@
 package tests;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -127,6 +129,46 @@ public class IssueMetadataTests {
         assertEquals("comments", updated.getCommentsETag());
     }
 
+    @Test
+    public void getEventsAfter_unsortedEvents_sortedAndBounded() {
+        LocalDateTime rightNow = Utility.dateToLocalDateTime(now);
+        TurboIssueEvent recent = stubEvent("a", IssueEventType.Closed, rightNow.minusHours(1));
+        TurboIssueEvent old = stubEvent("b", IssueEventType.Reopened, rightNow.minusHours(5));
+        TurboIssueEvent newest = stubEvent("c", IssueEventType.Closed, rightNow);
+        List<TurboIssueEvent> events = new ArrayList<>(Arrays.asList(recent, old, newest));
+
+        IssueMetadata metadata = IssueMetadata.intermediate(events, stubComments(), "", "");
+
+        assertEquals(Arrays.asList(old, recent, newest), metadata.getEvents());
+        assertEquals(Arrays.asList(recent, newest), metadata.getEventsAfter(rightNow.minusHours(2)));
+        assertEquals(Arrays.asList(newest), metadata.getEventsAfter(rightNow.minusHours(1)));
+        assertEquals(new ArrayList<TurboIssueEvent>(), metadata.getEventsAfter(rightNow));
+        assertEquals(3, metadata.getCommentsAfter(rightNow.minusHours(1)).size());
+        assertEquals(0, metadata.getCommentsAfter(rightNow).size());
+    }
+
+    @Test
+    public void getLabelUpdateEventGroupsAfter_sameWindow_memoised() {
+        LocalDateTime rightNow = Utility.dateToLocalDateTime(now);
+        List<TurboIssueEvent> events = new ArrayList<>(Arrays.asList(
+                stubEvent("a", IssueEventType.Labeled, rightNow.minusHours(5)),
+                stubEvent("a", IssueEventType.Labeled, rightNow.minusHours(1)),
+                stubEvent("a", IssueEventType.Unlabeled, rightNow.minusHours(1)),
+                stubEvent("b", IssueEventType.Closed, rightNow)));
+
+        IssueMetadata metadata = IssueMetadata.intermediate(events, stubComments(), "", "");
+
+        List<List<TurboIssueEvent>> groups = metadata.getLabelUpdateEventGroupsAfter(rightNow.minusHours(2));
+        assertEquals(1, groups.size());
+        assertEquals(2, groups.get(0).size());
+        assertSame(groups, metadata.getLabelUpdateEventGroupsAfter(rightNow.minusHours(3)));
+        assertEquals(2, metadata.getLabelUpdateEventGroupsAfter(rightNow.minusHours(6)).size());
+    }
+
+    private static TurboIssueEvent stubEvent(String actor, IssueEventType type, LocalDateTime time) {
+        return new TurboIssueEvent(new User().setLogin(actor), type, Utility.localDateTimeToDate(time));
+    }
+
     private static List<TurboIssueEvent> stubEvents() {
         List<TurboIssueEvent> events = new ArrayList<>();
         events.add(new TurboIssueEvent(new User().setLogin("test"), IssueEventType.Closed, now));
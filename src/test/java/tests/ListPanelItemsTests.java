@@ -0,0 +1,114 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import ui.GuiElement;
+import ui.listpanel.ListPanelItems;
+
+public class ListPanelItemsTests {
+
+    private static final String REPO = "test/test";
+    private static final BiPredicate<GuiElement, GuiElement> IS_SAME_ISSUE = (element1, element2) ->
+            element1.getIssue().getId() == element2.getIssue().getId();
+
+    private final List<TurboIssue> issues = new ArrayList<>();
+    private ObservableList<GuiElement> items;
+
+    // The elements added to the items by each update, i.e. those whose cells are rebound
+    private final List<GuiElement> added = new ArrayList<>();
+    private final List<GuiElement> removed = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        for (int i = 1; i <= 5; i++) {
+            issues.add(new TurboIssue(REPO, i, "issue " + i));
+        }
+        items = FXCollections.observableArrayList(createElements(issues));
+        items.addListener((ListChangeListener<GuiElement>) change -> {
+            while (change.next()) {
+                added.addAll(change.getAddedSubList());
+                removed.addAll(change.getRemoved());
+            }
+        });
+    }
+
+    private static GuiElement createElement(TurboIssue issue, List<TurboLabel> labels) {
+        return new GuiElement(issue, labels, Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    private static List<GuiElement> createElements(List<TurboIssue> issues) {
+        List<GuiElement> elements = new ArrayList<>();
+        issues.forEach(issue -> elements.add(createElement(issue, new ArrayList<>())));
+        return elements;
+    }
+
+    /**
+     * Tests that elements recreated for unchanged issues do not rebind any cell
+     */
+    @Test
+    public void updateInPlace_unchanged_noItemsReplaced() {
+        List<GuiElement> original = new ArrayList<>(items);
+        ListPanelItems.updateInPlace(items, createElements(issues), IS_SAME_ISSUE);
+
+        assertTrue(added.isEmpty());
+        assertTrue(removed.isEmpty());
+        for (int i = 0; i < original.size(); i++) {
+            assertSame(original.get(i), items.get(i));
+        }
+    }
+
+    /**
+     * Tests that only the element of an issue whose labels changed is replaced
+     */
+    @Test
+    public void updateInPlace_labelsChanged_onlyThatItemReplaced() {
+        List<GuiElement> elements = createElements(issues);
+        GuiElement relabelled = createElement(issues.get(2), Arrays.asList(new TurboLabel(REPO, "type.bug")));
+        elements.set(2, relabelled);
+        ListPanelItems.updateInPlace(items, elements, IS_SAME_ISSUE);
+
+        assertEquals(Arrays.asList(relabelled), added);
+        assertEquals(1, removed.size());
+        assertSame(relabelled, items.get(2));
+    }
+
+    /**
+     * Tests that inserting or removing an issue only adds or removes its own element
+     */
+    @Test
+    public void updateInPlace_issueInsertedAndRemoved_othersKept() {
+        List<GuiElement> original = new ArrayList<>(items);
+        List<TurboIssue> updatedIssues = new ArrayList<>(issues);
+        TurboIssue inserted = new TurboIssue(REPO, 6, "issue 6");
+        updatedIssues.add(1, inserted);
+        ListPanelItems.updateInPlace(items, createElements(updatedIssues), IS_SAME_ISSUE);
+
+        assertEquals(1, added.size());
+        assertSame(inserted, added.get(0).getIssue());
+        assertTrue(removed.isEmpty());
+
+        added.clear();
+        updatedIssues.remove(4);
+        ListPanelItems.updateInPlace(items, createElements(updatedIssues), IS_SAME_ISSUE);
+
+        assertTrue(added.isEmpty());
+        assertEquals(Arrays.asList(original.get(3)), removed);
+        assertEquals(updatedIssues.size(), items.size());
+    }
+}
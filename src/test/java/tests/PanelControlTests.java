@@ -0,0 +1,76 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import org.junit.Test;
+
+import ui.issuepanel.PanelControl;
+
+public class PanelControlTests {
+
+    private static final double PANEL_WIDTH = 400;
+    private static final double SPACING = 10;
+
+    /**
+     * @param index position of the panel on the board
+     * @return the bounds of the panel at {@code index} of a board of equally wide panels
+     */
+    private static Bounds getPanelBounds(int index) {
+        return new BoundingBox(SPACING + index * (PANEL_WIDTH + SPACING), 0, PANEL_WIDTH, 600);
+    }
+
+    @Test
+    public void getViewportStart_scrolled_proportionalToScrollableWidth() {
+        assertEquals(0, PanelControl.getViewportStart(0, 0, 1, 4000, 1000), 0);
+        assertEquals(1500, PanelControl.getViewportStart(0.5, 0, 1, 4000, 1000), 0);
+        assertEquals(3000, PanelControl.getViewportStart(1, 0, 1, 4000, 1000), 0);
+    }
+
+    @Test
+    public void getViewportStart_boardFitsInView_zero() {
+        assertEquals(0, PanelControl.getViewportStart(0.5, 0, 1, 800, 1000), 0);
+        assertEquals(0, PanelControl.getViewportStart(0.5, 0, 0, 4000, 1000), 0);
+    }
+
+    /**
+     * Tests that with the board scrolled to its start, the panels in view and the next one are rendered
+     */
+    @Test
+    public void isRenderedInViewport_scrolledToStart_visibleAndNextPanelRendered() {
+        double viewportWidth = 1000;
+        for (int index = 0; index < 4; index++) {
+            assertTrue(PanelControl.isRenderedInViewport(getPanelBounds(index), 0, viewportWidth, PANEL_WIDTH));
+        }
+        for (int index = 4; index < 10; index++) {
+            assertFalse(PanelControl.isRenderedInViewport(getPanelBounds(index), 0, viewportWidth, PANEL_WIDTH));
+        }
+    }
+
+    /**
+     * Tests that panels more than a panel's width to either side of the viewport are released
+     */
+    @Test
+    public void isRenderedInViewport_scrolledToMiddle_farPanelsReleased() {
+        double viewportStart = PanelControl.getViewportStart(0.5, 0, 1, 10 * (PANEL_WIDTH + SPACING) + SPACING,
+                                                             1000);
+        boolean[] expected = {false, false, true, true, true, true, true, true, false, false};
+        for (int index = 0; index < expected.length; index++) {
+            assertEquals("panel " + index, expected[index],
+                         PanelControl.isRenderedInViewport(getPanelBounds(index), viewportStart, 1000,
+                                                           PANEL_WIDTH));
+        }
+    }
+
+    /**
+     * Tests that panels are rendered until the board and the panels have been laid out
+     */
+    @Test
+    public void isRenderedInViewport_notLaidOut_rendered() {
+        assertTrue(PanelControl.isRenderedInViewport(getPanelBounds(9), 0, 0, PANEL_WIDTH));
+        assertTrue(PanelControl.isRenderedInViewport(new BoundingBox(0, 0, 0, 0), 5000, 1000, PANEL_WIDTH));
+    }
+}
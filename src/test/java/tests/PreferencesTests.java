@@ -1,14 +1,22 @@
 package tests;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Test;
 import prefs.SessionConfig;
 import prefs.PanelInfo;
 import prefs.Preferences;
 import ui.TestController;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -51,6 +59,56 @@ public class PreferencesTests {
         assertEquals(mocked, null); // this workaround is needed to pass findbugs.
     }
 
+    /**
+     * Tests that changes are written to the config files in the background after a delay,
+     * or immediately when flushed, replacing the files without leaving temporary files behind
+     */
+    @Test
+    public void prefSetters_debounced_writtenOnFlushOrAfterDelay() throws IOException, InterruptedException {
+        File directory = Files.createTempDirectory("prefs").toFile();
+        try {
+            Preferences prefs = Preferences.create(directory.getPath(), "session.json", "user.json");
+            prefs.setLastViewedRepository("test/test");
+            prefs.setLastLoginCredentials("test", "test");
+            assertFalse(new File(directory, "session.json").exists());
+
+            prefs.flush();
+            Preferences loaded = Preferences.load(directory.getPath(), "session.json", "user.json");
+            assertEquals("test/test", loaded.getLastViewedRepository().get().generateId());
+            assertEquals("test", loaded.getLastLoginUsername());
+
+            prefs.setLastViewedRepository("test2/test2");
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!Preferences.load(directory.getPath(), "session.json", "user.json")
+                    .getLastViewedRepository().get().generateId().equals("test2/test2")) {
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.sleep(50);
+            }
+            assertEquals(Arrays.asList("session.json", "user.json"), Arrays.asList(directory.list()).stream()
+                    .sorted().collect(Collectors.toList()));
+        } finally {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Tests that marking a number of issues read or unread at once updates each of them
+     */
+    @Test
+    public void prefMarkedReadAt_bulk_allIssuesUpdated() {
+        Preferences prefs = TestController.createTestPreferences();
+        LocalDateTime now = LocalDateTime.of(2015, 1, 6, 12, 15);
+        prefs.setMarkedReadAt("test/test", Arrays.asList(1, 2, 3), now);
+        assertEquals(Optional.of(now), prefs.getMarkedReadAt("test/test", 1));
+        assertEquals(Optional.of(now), prefs.getMarkedReadAt("test/test", 3));
+        assertEquals(Optional.empty(), prefs.getMarkedReadAt("test2/test2", 1));
+
+        prefs.clearMarkedReadAt("test/test", Arrays.asList(1, 2));
+        assertEquals(Optional.empty(), prefs.getMarkedReadAt("test/test", 1));
+        assertEquals(Optional.empty(), prefs.getMarkedReadAt("test/test", 2));
+        assertEquals(Optional.of(now), prefs.getMarkedReadAt("test/test", 3));
+    }
+
     /**
      * Sets the sessionConfig field in a given Preferences object to a specified SessionConfig object
      * @param prefs The Preferences object whose field is to be set
@@ -330,6 +330,31 @@ public class QualifierTests {
         assertEquals(expected, actual);
     }
 
+    /**
+     * Tests that precomputing the milestone and label group keys of the issues to sort does not
+     * change their order
+     */
+    @Test
+    public void getCompoundSortComparator_keysPrecomputed_sameOrder() {
+        List<TurboIssue> issues = testModel.getIssues();
+        TurboIssue issue6 = new TurboIssue("testrepo/testrepo", 6, "Issue6");
+        TurboIssue issue7 = new TurboIssue("testrepo/testrepo", 7, "Issue7");
+        issue7.setMilestone(testModel.getMilestones().get(3));
+        issues.add(issue6);
+        issues.add(issue7);
+
+        for (String filterText : Arrays.asList("sort:milestone,id", "sort:~milestone,~id", "sort:type,id")) {
+            Qualifier sortQualifier = getMetaQualifiers(Parser.parse(filterText)).get(0);
+            List<TurboIssue> precomputed = new ArrayList<>(issues);
+            Collections.shuffle(precomputed);
+            Collections.sort(precomputed, sortQualifier.getCompoundSortComparator(testModel, false, issues));
+            List<TurboIssue> computedOnComparison = new ArrayList<>(issues);
+            Collections.sort(computedOnComparison, sortQualifier.getCompoundSortComparator(testModel, false));
+
+            assertEquals(filterText, getIds(computedOnComparison), getIds(precomputed));
+        }
+    }
+
     @Test
     public void milestoneSorting_closedMilestoneWithoutDueDate_prioritizeRecentMilestone() {
         List<TurboIssue> issues = testModel.getIssues();
@@ -555,15 +580,20 @@ public class QualifierTests {
     }
 
     /**
-     * Ensures that TurboIssues are ordered in a particular way given some sorting criteria
+     * Ensures that TurboIssues are ordered in a particular way given some sorting criteria,
+     * both with sort keys computed on comparison and with sort keys computed before sorting
      */
     private void assertSorted(List<TurboIssue> issues, List<Integer> expectedIds,
                               IModel model, String sortCriteria,
                               boolean isInverted, boolean isNonSelfUpdate) {
+        List<TurboIssue> presorted = new ArrayList<>(issues);
+        Collections.sort(presorted, Qualifier.getSortComparator(model, sortCriteria, isInverted, isNonSelfUpdate,
+                                                                new ArrayList<>(issues)));
         Collections.sort(issues,
                          Qualifier.getSortComparator(model, sortCriteria, isInverted, isNonSelfUpdate));
 
         assertEquals(expectedIds, getIds(issues));
+        assertEquals(expectedIds, getIds(presorted));
     }
 
     /**
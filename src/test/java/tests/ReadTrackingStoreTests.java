@@ -0,0 +1,173 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import prefs.Preferences;
+import prefs.ReadTrackingStore;
+import util.JsonHelper;
+
+public class ReadTrackingStoreTests {
+
+    private static final String REPO_ID = "test/test";
+    private static final LocalDateTime TIME = LocalDateTime.of(2015, 1, 6, 12, 15);
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("read-tracking").toFile();
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    private ReadTrackingStore reload(ReadTrackingStore store) {
+        store.flush();
+        return new ReadTrackingStore(directory.getPath(), false);
+    }
+
+    @Test
+    public void setAndClear_reloaded_marksKept() {
+        ReadTrackingStore store = new ReadTrackingStore(directory.getPath(), false);
+        store.set(REPO_ID, Arrays.asList(5, 1, 3), TIME);
+        // Appended after the first write
+        store.set(REPO_ID, Collections.singletonList(2), TIME.plusDays(1));
+        store.clear(REPO_ID, Arrays.asList(3, 4));
+        store.set("test2/test2", Collections.singletonList(1), TIME);
+
+        ReadTrackingStore reloaded = reload(store);
+        assertEquals(Optional.of(TIME), reloaded.get(REPO_ID, 1));
+        assertEquals(Optional.of(TIME.plusDays(1)), reloaded.get(REPO_ID, 2));
+        assertEquals(Optional.empty(), reloaded.get(REPO_ID, 3));
+        assertEquals(Optional.of(TIME), reloaded.get(REPO_ID, 5));
+        assertEquals(Optional.of(TIME), reloaded.get("test2/test2", 1));
+
+        Map<Integer, LocalDateTime> all = reloaded.getAll(REPO_ID);
+        assertEquals(Arrays.asList(1, 2, 5), all.keySet().stream().collect(Collectors.toList()));
+        assertEquals(TIME, all.get(5));
+        assertFalse(all.containsKey(3));
+    }
+
+    @Test
+    public void set_partialSecond_roundedUp() {
+        ReadTrackingStore store = new ReadTrackingStore(directory.getPath(), false);
+        store.set(REPO_ID, Collections.singletonList(1), TIME.plusNanos(1));
+        assertEquals(Optional.of(TIME.plusSeconds(1)), reload(store).get(REPO_ID, 1));
+    }
+
+    @Test
+    public void set_manyAppends_rewrittenCompactly() {
+        ReadTrackingStore store = new ReadTrackingStore(directory.getPath(), false);
+        for (int i = 1; i <= 200; i++) {
+            store.set(REPO_ID, Collections.singletonList(i % 10), TIME.plusSeconds(i));
+        }
+        store.flush();
+        File file = new File(directory, "test-test.marks");
+        // A header and 10 marks, with fewer than 65 records appended since it was last rewritten
+        assertTrue(file.length() < 12 + 10 * 12 + 65 * 12);
+        assertEquals(Optional.of(TIME.plusSeconds(200)), reload(store).get(REPO_ID, 0));
+    }
+
+    @Test
+    public void load_partialRecord_ignored() throws IOException {
+        ReadTrackingStore store = new ReadTrackingStore(directory.getPath(), false);
+        store.set(REPO_ID, Collections.singletonList(1), TIME);
+        store.set(REPO_ID, Collections.singletonList(2), TIME);
+        store.flush();
+        File file = new File(directory, "test-test.marks");
+        try (RandomAccessFile partial = new RandomAccessFile(file, "rw")) {
+            partial.setLength(file.length() - 1);
+        }
+
+        ReadTrackingStore reloaded = new ReadTrackingStore(directory.getPath(), false);
+        assertEquals(Optional.of(TIME), reloaded.get(REPO_ID, 1));
+        assertEquals(Optional.empty(), reloaded.get(REPO_ID, 2));
+    }
+
+    @Test
+    public void retain_deletedIssues_discarded() {
+        ReadTrackingStore store = new ReadTrackingStore(directory.getPath(), false);
+        List<Integer> issues = IntStream.rangeClosed(1, 10).boxed().collect(Collectors.toList());
+        store.set(REPO_ID, issues, TIME);
+
+        store.retain(REPO_ID, Collections.emptyList());
+        assertEquals(10, store.getAll(REPO_ID).size());
+
+        store.retain(REPO_ID, Arrays.asList(2, 4, 11));
+        ReadTrackingStore reloaded = reload(store);
+        assertEquals(Arrays.asList(2, 4), reloaded.getAll(REPO_ID).keySet().stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void flush_directoryNotWritable_false() throws IOException {
+        // A file in place of the directory, so that no marks can be written
+        File file = new File(directory, "file");
+        FileUtils.touch(file);
+        ReadTrackingStore store = new ReadTrackingStore(file.getPath(), false);
+        store.set(REPO_ID, Collections.singletonList(1), TIME);
+
+        assertFalse(store.flush());
+        assertTrue(store.flush());
+    }
+
+    private void writeOlderSessionConfig() throws IOException {
+        Map<String, Object> markedReadTimes = new HashMap<>();
+        markedReadTimes.put(REPO_ID, Collections.singletonMap(7, TIME));
+        FileUtils.writeStringToFile(new File(directory, "session.json"),
+                                    JsonHelper.toJsonString(Collections.singletonMap("markedReadTimes",
+                                                                                     markedReadTimes),
+                                                            Map.class));
+    }
+
+    @Test
+    public void preferences_olderSessionConfig_marksMoved() throws IOException {
+        writeOlderSessionConfig();
+
+        Preferences prefs = Preferences.load(directory.getPath(), "session.json", "user.json");
+        assertEquals(Optional.of(TIME), prefs.getMarkedReadAt(REPO_ID, 7));
+        prefs.flush();
+        assertFalse(FileUtils.readFileToString(new File(directory, "session.json")).contains(REPO_ID));
+
+        Preferences reloaded = Preferences.load(directory.getPath(), "session.json", "user.json");
+        assertEquals(Optional.of(TIME), reloaded.getMarkedReadAt(REPO_ID, 7));
+        assertEquals(1, reloaded.getMarkedReadTimes(REPO_ID).size());
+    }
+
+    @Test
+    public void preferences_marksNotWritten_keptInSessionConfig() throws IOException {
+        writeOlderSessionConfig();
+        FileUtils.touch(new File(directory, ReadTrackingStore.DIRECTORY_NAME));
+
+        Preferences prefs = Preferences.load(directory.getPath(), "session.json", "user.json");
+        assertEquals(Optional.of(TIME), prefs.getMarkedReadAt(REPO_ID, 7));
+        prefs.setLastViewedRepository("test/other");
+        prefs.flush();
+
+        String sessionJson = FileUtils.readFileToString(new File(directory, "session.json"));
+        assertTrue(sessionJson.contains("test/other"));
+        assertTrue(sessionJson.contains(REPO_ID));
+    }
+}
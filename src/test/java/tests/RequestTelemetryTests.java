@@ -0,0 +1,136 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Before;
+import org.junit.Test;
+
+import backend.github.GitHubRepo;
+import backend.resource.TurboLabel;
+import backend.stub.SyntheticRepoConfig;
+import backend.stub.SyntheticRepoState;
+import github.RequestTelemetry;
+import github.RequestTelemetry.RequestRecord;
+import github.RequestTelemetry.RequestSummary;
+
+public class RequestTelemetryTests {
+
+    private static final String REPO_ID = "synthetic/repo";
+
+    private final RequestTelemetry telemetry = RequestTelemetry.getInstance();
+
+    @Before
+    public void setUp() {
+        telemetry.clear();
+    }
+
+    @Test
+    public void toEndpointTemplate_paths_placeholders() {
+        assertEquals("/repos/{owner}/{repo}/issues/{number}/events",
+                     RequestTelemetry.toEndpointTemplate("/api/v3/repos/HubTurbo/HubTurbo/issues/42/events"));
+        assertEquals("/repos/{owner}/{repo}/issues",
+                     RequestTelemetry.toEndpointTemplate("/repos/HubTurbo/HubTurbo/issues?state=all&page=2"));
+        assertEquals("/users/{user}", RequestTelemetry.toEndpointTemplate("/users/octocat"));
+        assertEquals("/", RequestTelemetry.toEndpointTemplate("/"));
+
+        assertEquals("events", RequestTelemetry.toResource("/repos/{owner}/{repo}/issues/{number}/events"));
+        assertEquals("repos", RequestTelemetry.toResource("/repos/{owner}/{repo}"));
+        assertEquals("root", RequestTelemetry.toResource("/"));
+
+        assertEquals(Optional.of("HubTurbo/HubTurbo"), RequestTelemetry.toRepoId("/repos/HubTurbo/HubTurbo/labels"));
+        assertEquals(Optional.empty(), RequestTelemetry.toRepoId("/users/octocat"));
+    }
+
+    @Test
+    public void summariseByResource_records_histogramAndPercentiles() {
+        long now = System.currentTimeMillis();
+        // Outside the window
+        telemetry.record(new RequestRecord(now - RequestTelemetry.WINDOW_MILLIS - 1, "GET", "/repos/a/b/labels",
+                                           200, 20, 1));
+        for (int latency = 10; latency <= 1000; latency += 10) {
+            telemetry.record(new RequestRecord(now, "GET", "/repos/a/b/issues", 200, latency, 1));
+        }
+        telemetry.record(new RequestRecord(now, "GET", "/repos/a/b/labels", 304, 20, 0));
+
+        Map<String, RequestSummary> summaries = telemetry.summariseByResource();
+        RequestSummary issues = summaries.get("issues");
+        assertEquals(100, issues.requests);
+        assertEquals(100, issues.rateLimitUsed);
+        assertEquals(500, issues.medianLatencyMillis);
+        assertEquals(900, issues.p90LatencyMillis);
+        assertEquals(1000, issues.maxLatencyMillis);
+        assertEquals(5, issues.latencyHistogram[0]);
+        assertEquals(50, issues.latencyHistogram[4]);
+        assertEquals(0, issues.latencyHistogram[RequestTelemetry.LATENCY_BUCKETS_MILLIS.length]);
+
+        RequestSummary labels = summaries.get("labels");
+        assertEquals(1, labels.requests);
+        assertEquals(1, labels.notModified);
+        assertEquals(0, labels.rateLimitUsed);
+        assertEquals(101, telemetry.summariseByRepo().get("a/b").requests);
+    }
+
+    @Test
+    public void gitHubClientEx_requests_recorded() throws IOException {
+        GitHubReplayServer server = new GitHubReplayServer().start();
+        try {
+            SyntheticRepoState state = new SyntheticRepoState(REPO_ID, new SyntheticRepoConfig().setIssueCount(10));
+            SyntheticGitHubResources.put(server, state);
+            GitHubRepo repo = new GitHubRepo(server.createClient());
+
+            ImmutablePair<List<TurboLabel>, String> labels = repo.getUpdatedLabels(REPO_ID, null);
+            String eventsETag = repo.getUpdatedEvents(REPO_ID, 1, "").right;
+            repo.getUpdatedEvents(REPO_ID, 1, eventsETag);
+            assertFalse(labels.left.isEmpty());
+        } finally {
+            server.stop();
+        }
+
+        Map<String, RequestSummary> summaries = telemetry.summariseByResource();
+        RequestSummary labels = summaries.get("labels");
+        // A HEAD request for the ETag, then a GET for the labels
+        assertEquals(2, labels.requests);
+        assertEquals(2, labels.rateLimitUsed);
+        assertTrue(labels.bytes > 0);
+
+        RequestSummary events = summaries.get("events");
+        assertEquals(2, events.requests);
+        assertEquals(1, events.notModified);
+        assertEquals(1, events.rateLimitUsed);
+        assertEquals(telemetry.getRecords().size(), (int) telemetry.summariseByRepo().get(REPO_ID).requests);
+        assertTrue(telemetry.toJson().contains("/repos/{owner}/{repo}/issues/{number}/events"));
+    }
+
+    @Test
+    public void gitHubClientEx_concurrentRequests_eachUsesOneRequest() throws IOException, InterruptedException {
+        GitHubReplayServer server = new GitHubReplayServer().start();
+        try {
+            SyntheticGitHubResources.put(server, new SyntheticRepoState(REPO_ID, new SyntheticRepoConfig()));
+            GitHubRepo repo = new GitHubRepo(server.createClient());
+
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                threads.add(new Thread(() -> repo.getUpdatedLabels(REPO_ID, null)));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            server.stop();
+        }
+
+        List<RequestRecord> records = telemetry.getRecords();
+        assertEquals(16, records.size());
+        assertTrue(records.stream().allMatch(record -> record.rateLimitUsed == 1));
+    }
+}
@@ -0,0 +1,45 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import util.SearchIndex;
+
+public class SearchIndexTests {
+
+    private static final List<String> ITEMS = Arrays.asList("Fix parser", "Update docs", "Parse dates", "fix docs");
+
+    private static SearchIndex<String> createIndex() {
+        return new SearchIndex<>(ITEMS, Function.identity());
+    }
+
+    @Test
+    public void search_mostMatchingWordsFirst_tiesInOriginalOrder() {
+        assertEquals(Arrays.asList("fix docs", "Fix parser", "Update docs"), createIndex().search("docs fix"));
+        assertEquals(ITEMS, createIndex().search(""));
+        assertEquals(Arrays.asList(), createIndex().search("missing"));
+    }
+
+    /**
+     * Tests that results are the same when a query is typed one character at a time, reusing the matches
+     * of previous queries, as when it is searched for from scratch
+     */
+    @Test
+    public void search_queryTypedIncrementally_sameAsFromScratch() {
+        SearchIndex<String> index = createIndex();
+        String query = "pars fix docs";
+        for (int length = 0; length <= query.length(); length++) {
+            String prefix = query.substring(0, length);
+            assertEquals(createIndex().search(prefix), index.search(prefix));
+        }
+        for (int length = query.length(); length >= 0; length--) {
+            String prefix = query.substring(0, length);
+            assertEquals(createIndex().search(prefix), index.search(prefix));
+        }
+    }
+}
@@ -3,26 +3,44 @@ package tests;
 import org.junit.Test;
 import prefs.SessionConfig;
 import prefs.PanelInfo;
+import util.JsonHelper;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class SessionConfigTest {
 
     @Test
     public void sessionConfigTest() {
         SessionConfig sessionConfig = new SessionConfig();
-        LocalDateTime localDateTime = LocalDateTime.now();
-        sessionConfig.setMarkedReadAt("dummy/dummy", 1, localDateTime);
-        assertEquals(localDateTime, sessionConfig.getMarkedReadAt("dummy/dummy", 1).get());
-        sessionConfig.clearMarkedReadAt("dummy/dummy", 1);
-        assertEquals(Optional.empty(), sessionConfig.getMarkedReadAt("dummy/dummy", 1));
         ArrayList<PanelInfo> emptyList = new ArrayList<>();
         sessionConfig.addBoard("board1", emptyList);
         assertEquals(emptyList, sessionConfig.getBoardPanels("board1"));
     }
 
+    /**
+     * Tests that marked read times in session configs of older versions are kept until cleared
+     */
+    @Test
+    public void getMarkedReadTimes_olderConfig_keptUntilCleared() {
+        long epochMilli = 1420546500000L;
+        SessionConfig sessionConfig = JsonHelper.fromJsonString(
+                "{\"markedReadTimes\": {\"dummy/dummy\": {\"1\": " + epochMilli + "}}}", SessionConfig.class);
+
+        Map<String, Map<Integer, LocalDateTime>> markedReadTimes = sessionConfig.getMarkedReadTimes();
+        LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+        assertEquals(expected, markedReadTimes.get("dummy/dummy").get(1));
+        assertTrue(JsonHelper.toJsonString(sessionConfig, SessionConfig.class).contains("dummy/dummy"));
+
+        sessionConfig.clearMarkedReadTimes();
+        assertTrue(sessionConfig.getMarkedReadTimes().isEmpty());
+        assertFalse(JsonHelper.toJsonString(sessionConfig, SessionConfig.class).contains("dummy/dummy"));
+    }
 }
@@ -0,0 +1,97 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import ui.StartupPipeline;
+
+public class StartupPipelineTests {
+
+    private final Queue<Runnable> fxTasks = new ArrayDeque<>();
+    private final Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+    private final StartupPipeline startup = new StartupPipeline(fxTasks::add, backgroundTasks::add);
+
+    @Test
+    public void deferredStages_runOnceInteractive() {
+        List<String> stages = new ArrayList<>();
+        startup.run("Window", () -> stages.add("window"));
+        startup.defer("Update check", () -> stages.add("update check"));
+        startup.deferOnFxThread("Browser", () -> stages.add("browser"));
+        startup.run("Board", () -> stages.add("board"));
+        assertEquals(Arrays.asList("window", "board"), stages);
+        assertTrue(fxTasks.isEmpty());
+        assertTrue(backgroundTasks.isEmpty());
+
+        assertFalse(startup.isInteractive());
+        startup.markInteractive();
+        assertTrue(startup.isInteractive());
+        assertEquals(1, fxTasks.size());
+        assertEquals(1, backgroundTasks.size());
+
+        backgroundTasks.poll().run();
+        fxTasks.poll().run();
+        assertEquals(Arrays.asList("window", "board", "update check", "browser"), stages);
+
+        // Deferred once interactive, so run at once
+        startup.defer("First refresh", () -> stages.add("first refresh"));
+        backgroundTasks.poll().run();
+        assertEquals("first refresh", stages.get(4));
+    }
+
+    @Test
+    public void deferredStageFails_otherStagesRun() {
+        List<String> stages = new ArrayList<>();
+        startup.defer("Global hotkey", () -> {
+            throw new IllegalStateException("stage failed");
+        });
+        startup.defer("Update check", () -> stages.add("update check"));
+        startup.markInteractive();
+
+        backgroundTasks.poll().run();
+        backgroundTasks.poll().run();
+        assertEquals(Arrays.asList("update check"), stages);
+    }
+
+    @Test
+    public void deferAsync_timedUntilComplete_laterStagesNotHeldUp() {
+        CompletableFuture<Void> refresh = new CompletableFuture<>();
+        List<String> stages = new ArrayList<>();
+        startup.deferAsync("First refresh", () -> refresh);
+        startup.defer("Update check", () -> stages.add("update check"));
+        startup.markInteractive();
+
+        backgroundTasks.poll().run();
+        backgroundTasks.poll().run();
+        assertEquals(Arrays.asList("update check"), stages);
+        assertFalse(startup.getReport().contains("First refresh"));
+
+        refresh.complete(null);
+        assertTrue(startup.getReport().contains("First refresh"));
+    }
+
+    @Test
+    public void report_allStagesAndInteractive() {
+        startup.run("Window", () -> { });
+        startup.deferOnFxThread("Browser", () -> { });
+        assertFalse(startup.getReport().contains("Browser"));
+
+        startup.markInteractive();
+        fxTasks.poll().run();
+
+        String[] lines = startup.getReport().split(System.lineSeparator());
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].trim().startsWith("Window"));
+        assertTrue(lines[2].trim().startsWith("Browser"));
+        assertTrue(lines[3].trim().startsWith("Interactive"));
+    }
+}
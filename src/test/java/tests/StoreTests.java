@@ -102,6 +102,28 @@ public class StoreTests {
         UI.status.clear();
     }
 
+    @Test
+    public void testOpenStoredWithoutUpdating() throws ExecutionException, InterruptedException {
+        RepoIO testIO = TestController.createTestingRepoIO(Optional.empty());
+        testIO.setRepoOpControl(TestUtils.createRepoOpControlWithEmptyModels(testIO));
+        Model dummy1 = testIO.openRepository("dummy1/dummy1").get();
+        TestUtils.delay(2); // Wait 2 seconds for Gson to convert model to JSON and write
+
+        RepoIO alternateIO = TestController.createTestingRepoIO(Optional.empty());
+        alternateIO.setRepoOpControl(TestUtils.createRepoOpControlWithEmptyModels(alternateIO));
+        UI.events.triggerEvent(UpdateDummyRepoEvent.newIssue("dummy1/dummy1"));
+
+        // Opened as it was stored, without the new issue
+        Model stored = alternateIO.openRepository("dummy1/dummy1", false).get();
+        assertEquals(dummy1.getIssues().size(), stored.getIssues().size());
+
+        // Brought up to date when updated
+        Model updated = alternateIO.updateModel(stored, false).get();
+        assertEquals(dummy1.getIssues().size() + 1, updated.getIssues().size());
+
+        UI.status.clear();
+    }
+
     @Test(expected = ExecutionException.class)
     public void testCorruptedJSON() throws InterruptedException, ExecutionException {
         RepoStore.write("testrepo/testrepo", "abcde", 10);
@@ -0,0 +1,103 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import backend.interfaces.IModel;
+import backend.resource.Model;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import filter.MetaQualifierInfo;
+import filter.Parser;
+import filter.SubexpressionCache;
+import filter.expression.FilterExpression;
+import filter.expression.Qualifier;
+
+public class SubexpressionCacheTests {
+
+    private static final String REPO = "test/test";
+
+    private IModel model;
+    private List<TurboIssue> issues;
+
+    @Before
+    public void setUp() {
+        TurboIssue issue1 = new TurboIssue(REPO, 1, "first issue");
+        issue1.setLabels(new ArrayList<>(Arrays.asList("type.bug")));
+        TurboIssue issue2 = new TurboIssue(REPO, 2, "second issue");
+        issue2.setLabels(new ArrayList<>(Arrays.asList("type.feature")));
+        issue2.setOpen(false);
+        TurboIssue issue3 = new TurboIssue(REPO, 3, "third issue");
+        issue3.setDescription("first");
+
+        issues = Arrays.asList(issue1, issue2, issue3);
+        model = TestUtils.singletonModel(new Model(REPO, new ArrayList<>(issues),
+                new ArrayList<>(Arrays.asList(new TurboLabel(REPO, "type.bug"), new TurboLabel(REPO, "type.feature"))),
+                new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private List<TurboIssue> process(String filterText) {
+        FilterExpression expr = Parser.parse(filterText);
+        return issues.stream()
+                .filter(issue -> Qualifier.process(model, expr, issue))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that evaluating through the cache gives the same results as testing each issue
+     */
+    @Test
+    public void getMatchingIssues_sameAsProcess() {
+        SubexpressionCache cache = new SubexpressionCache(model, issues);
+        for (String filterText : Arrays.asList("", "is:open", "is:open label:bug", "label:type. OR is:closed",
+                                               "NOT label:feature", "first", "first in:title", "repo:test/test",
+                                               "repo:none/none is:open", "-is:open OR id:1", "sort:id count:1")) {
+            assertEquals(filterText, process(filterText), cache.getMatchingIssues(Parser.parse(filterText)));
+        }
+    }
+
+    /**
+     * Tests that sub-expressions whose operands only differ in order are evaluated once
+     */
+    @Test
+    public void get_operandsReordered_reused() {
+        SubexpressionCache cache = new SubexpressionCache(model, issues);
+        MetaQualifierInfo info = new MetaQualifierInfo(new ArrayList<>());
+
+        cache.get(Parser.parse("is:open label:bug"), info);
+        int evaluated = cache.getMissCount();
+        cache.get(Parser.parse("label:bug is:open"), info);
+
+        assertEquals(evaluated, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    /**
+     * Tests that keywords are not shared between expressions with different in: meta-qualifiers
+     */
+    @Test
+    public void getMatchingIssues_keywordInDifferentFields_notShared() {
+        SubexpressionCache cache = new SubexpressionCache(model, issues);
+
+        assertEquals(Arrays.asList(issues.get(0)), cache.getMatchingIssues(Parser.parse("first in:title")));
+        assertEquals(Arrays.asList(issues.get(2)), cache.getMatchingIssues(Parser.parse("first in:description")));
+    }
+
+    /**
+     * Tests that a quoted keyword is not shared with the qualifier it reads as
+     */
+    @Test
+    public void getMatchingIssues_quotedKeywordAndQualifier_notShared() {
+        SubexpressionCache cache = new SubexpressionCache(model, issues);
+
+        assertEquals(Arrays.asList(issues.get(0), issues.get(2)), cache.getMatchingIssues(Parser.parse("is:open")));
+        assertEquals(new ArrayList<>(), cache.getMatchingIssues(Parser.parse("\"is:open\"")));
+    }
+}
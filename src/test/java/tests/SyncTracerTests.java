@@ -0,0 +1,164 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import backend.RepoIO;
+import backend.interfaces.RepoStore;
+import backend.json.JSONStore;
+import backend.resource.Model;
+import backend.stub.SyntheticRepoConfig;
+import backend.stub.SyntheticSource;
+import guitests.UITest;
+import ui.UI;
+import ui.components.StatusUIStub;
+import util.SyncTracer;
+import util.SyncTracer.Span;
+import util.SyncTracer.Trace;
+import util.events.EventDispatcherStub;
+
+public class SyncTracerTests {
+
+    private static final String REPO_ID = "synthetic/repo";
+
+    private final SyncTracer tracer = SyncTracer.getInstance();
+
+    @BeforeClass
+    public static void setup() {
+        UI.events = new EventDispatcherStub();
+        UI.status = new StatusUIStub();
+    }
+
+    @Before
+    public void enableTracing() {
+        RepoStore.changeDirectory(RepoStore.TEST_DIRECTORY);
+        tracer.setEnabled(true);
+    }
+
+    @After
+    public void cleanup() {
+        tracer.setEnabled(false);
+        UITest.clearTestFolder();
+    }
+
+    @Test
+    public void disabled_nothingRecorded() {
+        tracer.setEnabled(false);
+        Trace trace = tracer.startTrace("refresh");
+        assertSame(Trace.NONE, trace);
+
+        Runnable task = () -> { };
+        trace.within(() -> assertSame(task, tracer.wrap("task", task)));
+        trace.startSpan("span").end();
+        assertTrue(getEvents().isEmpty());
+    }
+
+    @Test
+    public void wrap_executor_waitAndSpansRecorded() throws InterruptedException {
+        Trace trace = tracer.startTrace("refresh");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Span asyncSpan = trace.startSpan("async");
+        trace.within(() -> {
+            assertSame(trace, tracer.current());
+            executor.execute(tracer.wrap("task", () -> {
+                assertSame(trace, tracer.current());
+                asyncSpan.end();
+            }));
+        });
+        assertSame(Trace.NONE, tracer.current());
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        List<JsonObject> events = getEvents();
+        JsonObject task = findEvent(events, "task", "X");
+        assertEquals("stage", task.get("cat").getAsString());
+        assertEquals(trace.getId(), task.get("pid").getAsLong());
+        assertTrue(task.get("dur").getAsDouble() >= 0);
+        JsonObject wait = findEvent(events, "task (queued)", "X");
+        assertEquals("wait", wait.get("cat").getAsString());
+        assertEquals(task.get("tid").getAsLong(), wait.get("tid").getAsLong());
+
+        // Ended on another thread, so shown as async events
+        JsonObject begin = findEvent(events, "async", "b");
+        JsonObject end = findEvent(events, "async", "e");
+        assertEquals(begin.get("id").getAsLong(), end.get("id").getAsLong());
+        assertTrue(end.get("ts").getAsDouble() >= begin.get("ts").getAsDouble());
+
+        JsonObject processName = findEvent(events, "process_name", "M");
+        assertEquals("refresh " + trace.getId(), processName.getAsJsonObject("args").get("name").getAsString());
+        findEvent(events, "thread_name", "M");
+    }
+
+    @Test
+    public void updateModel_stages_traced() throws ExecutionException, InterruptedException {
+        SyntheticSource source = new SyntheticSource(new SyntheticRepoConfig().setIssueCount(50).setChurnRate(0.2));
+        RepoIO repoIO = new RepoIO(Optional.of(source), Optional.of(new JSONStore()), Optional.empty());
+        repoIO.setRepoOpControl(TestUtils.createRepoOpControlWithEmptyModels(repoIO));
+        Model model = repoIO.openRepository(REPO_ID).get();
+        assertTrue(getEvents().isEmpty());
+
+        Trace trace = tracer.startTrace("refresh");
+        Model updated = trace.within(() -> repoIO.updateModel(model, true)).get();
+        assertFalse(model.equals(updated));
+
+        // The updated model is stored asynchronously
+        long deadline = System.currentTimeMillis() + 5000;
+        while (getEvents().stream().noneMatch(event -> "WriteTask".equals(event.get("name").getAsString()))) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+
+        List<JsonObject> events = getEvents();
+        Set<String> names = events.stream()
+                .filter(event -> !"M".equals(event.get("ph").getAsString()))
+                .peek(event -> assertEquals(trace.getId(), event.get("pid").getAsLong()))
+                .map(event -> event.get("name").getAsString())
+                .collect(Collectors.toSet());
+        for (String name : new String[] {
+            "RepoIO.updateModel " + REPO_ID, "RepoIO.downloadModelUpdates", "DownloadModelUpdatesTask",
+            "DownloadIssuesUpdatesTask", "DownloadLabelsUpdatesTask", "DownloadMilestonesUpdatesTask",
+            "DownloadUsersUpdatesTask", "DownloadPullRequestsUpdatesTask",
+            "RepoOpControl.updateLocalModel", "UpdateLocalModelOp", "UpdateLocalModelOp (queued)",
+            "JSONStore.saveRepository", "WriteTask", "WriteTask (queued)"}) {
+            assertTrue(name, names.contains(name));
+        }
+    }
+
+    private List<JsonObject> getEvents() {
+        List<JsonObject> events = new ArrayList<>();
+        JsonObject json = new JsonParser().parse(tracer.toChromeTraceJson()).getAsJsonObject();
+        for (JsonElement event : json.getAsJsonArray("traceEvents")) {
+            events.add(event.getAsJsonObject());
+        }
+        return events;
+    }
+
+    private static JsonObject findEvent(List<JsonObject> events, String name, String phase) {
+        return events.stream()
+                .filter(event -> name.equals(event.get("name").getAsString())
+                        && phase.equals(event.get("ph").getAsString()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No event " + name + " " + phase));
+    }
+}
@@ -0,0 +1,183 @@
+package tests;
+
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import backend.stub.SyntheticRepoState;
+import com.google.common.base.CaseFormat;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import github.TurboIssueEvent;
+import org.eclipse.egit.github.core.Issue;
+import org.eclipse.egit.github.core.Label;
+import org.eclipse.egit.github.core.Milestone;
+import org.eclipse.egit.github.core.PullRequest;
+import org.eclipse.egit.github.core.User;
+import org.eclipse.egit.github.core.client.GsonUtils;
+import util.Utility;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.eclipse.egit.github.core.client.IGitHubConstants.SEGMENT_REPOS;
+
+/**
+ * Serves a generated repository through a {@link GitHubReplayServer}, as the JSON GitHub would return for it,
+ * so that the real GitHubSource can sync it without a network connection.
+ */
+public final class SyntheticGitHubResources {
+
+    private static final Gson gson = GsonUtils.getGson();
+
+    private SyntheticGitHubResources() {
+    }
+
+    /**
+     * Serves the current state of the given repository: the repository itself, its issues, pull requests,
+     * labels, milestones and collaborators, and the events and comments of every issue. Call again after
+     * the repository changes, e.g. after {@link SyntheticRepoState#refresh()}, to serve the changes.
+     *
+     * @param server
+     * @param state
+     */
+    public static void put(GitHubReplayServer server, SyntheticRepoState state) {
+        String repoPath = SEGMENT_REPOS + "/" + state.getRepoId();
+        List<TurboIssue> issues = state.getIssues();
+
+        JsonObject repo = new JsonObject();
+        repo.addProperty("full_name", state.getRepoId());
+        server.putResource(repoPath, repo);
+
+        server.putResource(repoPath + "/issues", toJson(issues.stream().map(issue -> toIssue(repoPath, issue))));
+        server.putResource(repoPath + "/pulls", toJson(issues.stream()
+                .filter(TurboIssue::isPullRequest)
+                .map(SyntheticGitHubResources::toPullRequest)));
+        server.putResource(repoPath + "/labels", toJson(state.getLabels().stream()
+                .map(SyntheticGitHubResources::toLabel)));
+        server.putResource(repoPath + "/milestones", toJson(state.getMilestones().stream()
+                .map(SyntheticGitHubResources::toMilestone)));
+
+        List<User> users = state.getCollaborators().stream()
+                .map(SyntheticGitHubResources::toUser)
+                .collect(Collectors.toList());
+        server.putResource(repoPath + "/collaborators", toJson(users.stream()));
+        users.forEach(user -> server.putResource("/users/" + user.getLogin(), gson.toJsonTree(user)));
+
+        for (TurboIssue issue : issues) {
+            String issuePath = repoPath + "/issues/" + issue.getId();
+            server.putResource(issuePath + "/events", toEventsJson(state.getEvents(issue.getId(), null).left));
+            server.putResource(issuePath + "/comments", toJson(state.getComments(issue.getId()).stream()));
+            if (issue.isPullRequest()) {
+                server.putResource(repoPath + "/pulls/" + issue.getId() + "/comments", new JsonArray());
+            }
+        }
+    }
+
+    private static JsonArray toJson(Stream<?> items) {
+        JsonArray result = new JsonArray();
+        items.map(gson::toJsonTree).forEach(result::add);
+        return result;
+    }
+
+    private static Issue toIssue(String repoPath, TurboIssue issue) {
+        Issue result = new Issue()
+                .setNumber(issue.getId())
+                .setTitle(issue.getTitle())
+                .setBody(issue.getDescription())
+                .setUser(new User().setLogin(issue.getCreator()))
+                .setCreatedAt(Utility.localDateTimeToDate(issue.getCreatedAt()))
+                .setUpdatedAt(Utility.localDateTimeToDate(issue.getUpdatedAt()))
+                .setComments(issue.getCommentCount())
+                .setState(issue.isOpen() ? "open" : "closed")
+                .setLabels(issue.getLabels().stream()
+                                   .map(name -> new Label().setName(name))
+                                   .collect(Collectors.toList()));
+        issue.getAssignee().ifPresent(assignee -> result.setAssignee(new User().setLogin(assignee)));
+        issue.getMilestone().ifPresent(milestone -> result.setMilestone(new Milestone().setNumber(milestone)));
+        if (issue.isPullRequest()) {
+            result.setPullRequest(new PullRequest().setUrl(repoPath + "/pulls/" + issue.getId()));
+        }
+        return result;
+    }
+
+    private static PullRequest toPullRequest(TurboIssue issue) {
+        return new PullRequest()
+                .setNumber(issue.getId())
+                .setTitle(issue.getTitle())
+                .setCreatedAt(Utility.localDateTimeToDate(issue.getCreatedAt()))
+                .setUpdatedAt(Utility.localDateTimeToDate(issue.getUpdatedAt()))
+                .setState(issue.isOpen() ? "open" : "closed");
+    }
+
+    private static Label toLabel(TurboLabel label) {
+        return new Label().setName(label.getFullName()).setColor(label.getColour());
+    }
+
+    private static Milestone toMilestone(TurboMilestone milestone) {
+        return new Milestone()
+                .setNumber(milestone.getId())
+                .setTitle(milestone.getTitle())
+                .setDescription(milestone.getDescription())
+                .setState(milestone.isOpen() ? "open" : "closed")
+                .setOpenIssues(milestone.getOpenIssues())
+                .setClosedIssues(milestone.getClosedIssues())
+                .setDueOn(milestone.getDueDate()
+                                  .map(date -> Utility.localDateTimeToDate(date.atStartOfDay()))
+                                  .orElse(null));
+    }
+
+    private static User toUser(TurboUser user) {
+        return new User()
+                .setLogin(user.getLoginName())
+                .setName(user.getRealName())
+                .setAvatarUrl(user.getAvatarURL());
+    }
+
+    /**
+     * Events are not egit model objects: their type-specific fields are parsed separately by
+     * GitHubEventsResponse, so they are built as JSON directly.
+     */
+    private static JsonArray toEventsJson(Collection<TurboIssueEvent> events) {
+        JsonArray result = new JsonArray();
+        for (TurboIssueEvent event : events) {
+            JsonObject json = new JsonObject();
+            json.addProperty("event", CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, event.getType().name()));
+            json.add("actor", gson.toJsonTree(event.getActor()));
+            json.add("created_at", gson.toJsonTree(event.getDate()));
+            switch (event.getType()) {
+            case Labeled:
+            case Unlabeled:
+                JsonObject label = new JsonObject();
+                label.addProperty("name", event.getLabelName());
+                label.addProperty("color", event.getLabelColour());
+                json.add("label", label);
+                break;
+            case Milestoned:
+            case Demilestoned:
+                JsonObject milestone = new JsonObject();
+                milestone.addProperty("title", event.getMilestoneTitle());
+                json.add("milestone", milestone);
+                break;
+            case Assigned:
+            case Unassigned:
+                json.add("assignee", gson.toJsonTree(Optional.ofNullable(event.getAssignedUser()).orElse(new User())));
+                break;
+            case Renamed:
+                JsonObject rename = new JsonObject();
+                rename.addProperty("from", event.getRenamedFrom());
+                rename.addProperty("to", event.getRenamedTo());
+                json.add("rename", rename);
+                break;
+            default:
+                break;
+            }
+            result.add(json);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.eclipse.egit.github.core.Comment;
+import org.junit.Test;
+
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.stub.SyntheticRepo;
+import backend.stub.SyntheticRepoConfig;
+import backend.stub.SyntheticRepoState;
+
+public class SyntheticRepoTests {
+
+    private static final String REPO_ID = "synthetic/repo";
+
+    private static List<String> summarise(List<TurboIssue> issues) {
+        return issues.stream()
+                .map(issue -> issue.getTitle() + issue.getLabels() + issue.getAssignee() + issue.getMilestone()
+                        + issue.isOpen() + issue.isPullRequest() + issue.getCommentCount())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void repoState_sameSeedAndConfig_sameRepo() {
+        SyntheticRepoConfig config = new SyntheticRepoConfig().setIssueCount(500).setLabelGroupCount(8);
+        SyntheticRepoState state = new SyntheticRepoState(REPO_ID, config);
+
+        assertEquals(500, state.getIssues().size());
+        assertEquals(8 * 5 + 10, state.getLabels().size());
+        assertEquals(summarise(state.getIssues()),
+                     summarise(new SyntheticRepoState(REPO_ID, config).getIssues()));
+        assertEquals(state.getComments(42).stream().map(Comment::getBody).collect(Collectors.toList()),
+                     new SyntheticRepoState(REPO_ID, config).getComments(42).stream()
+                             .map(Comment::getBody).collect(Collectors.toList()));
+        assertNotEquals(summarise(state.getIssues()),
+                        summarise(new SyntheticRepoState(REPO_ID, config.setSeed(43)).getIssues()));
+    }
+
+    @Test
+    public void getUpdatedIssues_refreshed_changedIssuesWithNewETag() {
+        SyntheticRepoState state = new SyntheticRepoState(REPO_ID, new SyntheticRepoConfig()
+                .setIssueCount(1000).setChurnRate(0.01));
+
+        ImmutableTriple<List<TurboIssue>, String, Date> all = state.getUpdatedIssues(null, new Date(0));
+        assertEquals(1000, all.left.size());
+
+        // Nothing changed, like a 304 response
+        ImmutableTriple<List<TurboIssue>, String, Date> unchanged = state.getUpdatedIssues(all.middle, all.right);
+        assertTrue(unchanged.left.isEmpty());
+        assertEquals(all.middle, unchanged.middle);
+
+        assertEquals(10, state.refresh());
+        ImmutableTriple<List<TurboIssue>, String, Date> changed = state.getUpdatedIssues(all.middle, all.right);
+        assertFalse(changed.left.isEmpty());
+        assertTrue(changed.left.size() <= 10);
+        assertNotEquals(all.middle, changed.middle);
+
+        assertTrue(state.editIssueState(1, false));
+        assertEquals(1, state.getUpdatedIssues(changed.middle, changed.right).left.size());
+    }
+
+    @Test
+    public void syntheticRepo_paginatedRequests_notModifiedNotCounted() {
+        SyntheticRepo repo = new SyntheticRepo(new SyntheticRepoConfig().setIssueCount(250).setChurnRate(0));
+
+        assertEquals(250, repo.getIssues(REPO_ID).size());
+        assertEquals(3, repo.getRequestCount());
+
+        ImmutablePair<List<TurboLabel>, String> labels = repo.getUpdatedLabels(REPO_ID, null);
+        assertEquals(25, labels.left.size());
+        int quota = repo.getRateLimitResetTime().left;
+        assertTrue(repo.getUpdatedLabels(REPO_ID, labels.right).left.isEmpty());
+        assertEquals(quota, (int) repo.getRateLimitResetTime().left);
+        assertEquals(5, repo.getRequestCount());
+    }
+}
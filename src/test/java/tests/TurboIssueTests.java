@@ -205,6 +205,43 @@ public class TurboIssueTests {
         assertEquals(originalLabels, updatedList.get(0).getLabels());
     }
 
+    /**
+     * Tests that reconciliation adds and replaces changed issues, and that issues without
+     * changes are carried over as the same instances
+     */
+    @Test
+    public void reconcile_unchangedIssuesKept() {
+        TurboIssue issue1 = createIssueWithUpdatedAt(1, LocalDateTime.of(2015, 2, 17, 2, 10));
+        TurboIssue issue2 = createIssueWithUpdatedAt(2, LocalDateTime.of(2015, 2, 18, 2, 10));
+        TurboIssue changedIssue2 = createIssueWithUpdatedAt(2, LocalDateTime.of(2015, 3, 18, 2, 10));
+        TurboIssue newIssue3 = createIssueWithUpdatedAt(3, LocalDateTime.of(2015, 3, 19, 2, 10));
+
+        List<TurboIssue> reconciled = TurboIssue.reconcile(
+                Arrays.asList(issue1, issue2), Arrays.asList(changedIssue2, newIssue3));
+
+        assertEquals(3, reconciled.size());
+        assertTrue(issue1 == reconciled.get(0));
+        assertEquals(changedIssue2.getUpdatedAt(), reconciled.get(1).getUpdatedAt());
+        assertEquals(3, reconciled.get(2).getId());
+    }
+
+    /**
+     * Tests that only issues with newer pull request data are replaced
+     */
+    @Test
+    public void combineWithPullRequests_onlyNewerCombined() {
+        TurboIssue issue1 = createIssueWithUpdatedAt(1, LocalDateTime.of(2015, 2, 17, 2, 10));
+        TurboIssue issue2 = createIssueWithUpdatedAt(2, LocalDateTime.of(2015, 2, 18, 2, 10));
+        PullRequest pr1 = createPullRequestWithUpdatedAt(1, LocalDateTime.of(2015, 7, 7, 1, 21));
+        PullRequest pr2 = createPullRequestWithUpdatedAt(2, LocalDateTime.of(2015, 2, 18, 2, 9));
+
+        List<TurboIssue> combined = TurboIssue.combineWithPullRequests(
+                Arrays.asList(issue1, issue2), Arrays.asList(pr1, pr2));
+
+        assertEquals(LocalDateTime.of(2015, 7, 7, 1, 21), combined.get(0).getUpdatedAt());
+        assertTrue(issue2 == combined.get(1));
+    }
+
     /**
      * Checks that matched issues are sorted according to number of query match
      */
@@ -36,6 +36,15 @@ public class TurboLabelTest {
         assertEquals(label1.getStyle(), label2.getStyle());
     }
 
+    @Test
+    public void getStyle_sameNameDifferentColour_differentStyle() {
+        // Styles are cached by name and colour, so a recoloured label must not reuse the old style
+        TurboLabel bright = new TurboLabel(REPO, "ffffff", "type.bug");
+        TurboLabel dark = new TurboLabel(REPO, "000000", "type.bug");
+        assertEquals("-fx-background-color: #ffffff; -fx-text-fill: black;", bright.getStyle());
+        assertEquals("-fx-background-color: #000000; -fx-text-fill: white;", dark.getStyle());
+    }
+
     @Test
     public void labelRepoId() {
         Label label = new Label();
@@ -0,0 +1,175 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import util.events.BoardSavedEvent;
+import util.events.BoardSavedEventHandler;
+import util.events.DeliveryLane;
+import util.events.EventHandler;
+import util.events.PrimaryRepoOpenedEvent;
+import util.events.TypedEventBus;
+import util.events.UnusedStoredReposChangedEventHandler;
+import util.events.UpdateProgressEvent;
+import util.events.UpdateProgressEventHandler;
+
+public class TypedEventBusTests {
+
+    private final Queue<Runnable> fxTasks = new ArrayDeque<>();
+    private final Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+    private final TypedEventBus events = new TypedEventBus(fxTasks::add, backgroundTasks::add);
+
+    @Test
+    public void triggerEvent_sync_handlersOfSupertypesCalled() {
+        List<String> handled = new ArrayList<>();
+        events.registerEvent((UnusedStoredReposChangedEventHandler) e -> handled.add("unused"));
+        events.registerEvent((BoardSavedEventHandler) e -> handled.add("board"));
+
+        events.triggerEvent(new PrimaryRepoOpenedEvent());
+        assertEquals(Arrays.asList("unused"), handled);
+        events.triggerEvent(new BoardSavedEvent());
+        assertEquals(Arrays.asList("unused", "board"), handled);
+        assertTrue(fxTasks.isEmpty());
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    @Test
+    public void unregisterEvent_handlerNoLongerCalled() {
+        List<String> handled = new ArrayList<>();
+        EventHandler handler = (BoardSavedEventHandler) e -> handled.add("board");
+        events.registerEvent(handler);
+        events.triggerEvent(new BoardSavedEvent());
+
+        events.unregisterEvent(handler);
+        events.triggerEvent(new BoardSavedEvent());
+        assertEquals(1, handled.size());
+
+        // Unregistering a handler which isn't registered does nothing
+        events.unregisterEvent(handler);
+    }
+
+    @Test
+    public void triggerEvent_handlerThrows_otherHandlersCalled() {
+        List<String> handled = new ArrayList<>();
+        events.registerEvent((BoardSavedEventHandler) e -> {
+            throw new IllegalStateException("handler failed");
+        });
+        events.registerEvent((BoardSavedEventHandler) e -> handled.add("board"));
+
+        events.triggerEvent(new BoardSavedEvent());
+        assertEquals(1, handled.size());
+    }
+
+    @Test
+    public void triggerEvent_fx_progressCoalescedPerRepo() {
+        List<String> handled = new ArrayList<>();
+        events.registerEvent((UpdateProgressEventHandler) e ->
+                handled.add(e.repoId + " " + (e.done ? "done" : e.progress)), DeliveryLane.FX);
+
+        for (int page = 1; page <= 300; page++) {
+            events.triggerEvent(new UpdateProgressEvent("a/a", page / 300f));
+            events.triggerEvent(new UpdateProgressEvent("b/b", page / 600f));
+        }
+        assertTrue(handled.isEmpty());
+        assertEquals(1, fxTasks.size());
+
+        fxTasks.poll().run();
+        assertEquals(Arrays.asList("a/a 1.0", "b/b 0.5"), handled);
+
+        events.triggerEvent(new UpdateProgressEvent("a/a"));
+        assertEquals(1, fxTasks.size());
+        fxTasks.poll().run();
+        assertEquals(Arrays.asList("a/a 1.0", "b/b 0.5", "a/a done"), handled);
+    }
+
+    @Test
+    public void triggerEvent_background_allEventsInOrder() {
+        List<String> handled = new ArrayList<>();
+        events.registerEvent((BoardSavedEventHandler) e -> handled.add("sync"));
+        events.registerEvent((BoardSavedEventHandler) e -> handled.add("background"), DeliveryLane.BACKGROUND);
+        events.registerEvent((UnusedStoredReposChangedEventHandler) e -> handled.add("unused"),
+                             DeliveryLane.BACKGROUND);
+
+        events.triggerEvent(new BoardSavedEvent());
+        events.triggerEvent(new PrimaryRepoOpenedEvent());
+        events.triggerEvent(new BoardSavedEvent());
+        assertEquals(Arrays.asList("sync", "sync"), handled);
+        assertTrue(fxTasks.isEmpty());
+        assertEquals(1, backgroundTasks.size());
+
+        backgroundTasks.poll().run();
+        assertEquals(Arrays.asList("sync", "sync", "background", "unused", "background"), handled);
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    @Test
+    public void triggerEvent_triggeredByHandler_deliveredAfterCurrentEvent() {
+        List<String> handled = new ArrayList<>();
+        events.registerEvent((BoardSavedEventHandler) e -> {
+            handled.add("board 1");
+            events.triggerEvent(new PrimaryRepoOpenedEvent());
+        });
+        events.registerEvent((BoardSavedEventHandler) e -> handled.add("board 2"));
+        events.registerEvent((UnusedStoredReposChangedEventHandler) e -> {
+            handled.add("unused");
+            events.triggerEvent(new UpdateProgressEvent("a/a"));
+        });
+        events.registerEvent((UpdateProgressEventHandler) e -> handled.add("progress"));
+
+        events.triggerEvent(new BoardSavedEvent());
+        assertEquals(Arrays.asList("board 1", "board 2", "unused", "progress"), handled);
+    }
+
+    @Test
+    public void triggerEvent_triggeredByHandlerOnLane_deliveredAfterCurrentEvent() {
+        TypedEventBus inlineEvents = new TypedEventBus(Runnable::run, Runnable::run);
+        List<String> handled = new ArrayList<>();
+        inlineEvents.registerEvent((BoardSavedEventHandler) e -> {
+            handled.add("board 1");
+            inlineEvents.triggerEvent(new UpdateProgressEvent("a/a"));
+        }, DeliveryLane.FX);
+        inlineEvents.registerEvent((BoardSavedEventHandler) e -> handled.add("board 2"), DeliveryLane.FX);
+        inlineEvents.registerEvent((UpdateProgressEventHandler) e -> handled.add("progress"), DeliveryLane.FX);
+
+        inlineEvents.triggerEvent(new BoardSavedEvent());
+        assertEquals(Arrays.asList("board 1", "board 2", "progress"), handled);
+    }
+
+    @Test
+    public void triggerEvent_concurrently_eachHandlerCalledByOneThreadAtATime() throws InterruptedException {
+        AtomicInteger handling = new AtomicInteger(0);
+        AtomicInteger maxHandling = new AtomicInteger(0);
+        events.registerEvent((BoardSavedEventHandler) e -> {
+            maxHandling.accumulateAndGet(handling.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            handling.decrementAndGet();
+        });
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 5; j++) {
+                    events.triggerEvent(new BoardSavedEvent());
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, maxHandling.get());
+    }
+}
@@ -0,0 +1,115 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import backend.UIManager;
+import backend.resource.TurboIssue;
+import backend.resource.TurboUser;
+import filter.Parser;
+import filter.expression.FilterExpression;
+import ui.GuiElement;
+import ui.UI;
+import util.events.ModelUpdatedEvent;
+
+public class UIManagerTests {
+
+    private static final String REPO = "test/test";
+
+    private UI ui;
+    private UIManager uiManager;
+
+    // Tasks submitted to run on the JavaFX thread, which the tests run explicitly
+    private final List<Runnable> fxTasks = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        ui = mock(UI.class);
+        uiManager = new UIManager(ui, fxTasks::add);
+    }
+
+    private static List<GuiElement> createElements(int... issueIds) {
+        List<GuiElement> elements = new ArrayList<>();
+        for (int issueId : issueIds) {
+            elements.add(new GuiElement(new TurboIssue(REPO, issueId, "issue " + issueId), new ArrayList<>(),
+                                        Optional.empty(), Optional.empty(), Optional.empty()));
+        }
+        return elements;
+    }
+
+    private static Map<FilterExpression, List<GuiElement>> createResult(FilterExpression filterExpr,
+                                                                      List<GuiElement> elements) {
+        Map<FilterExpression, List<GuiElement>> result = new HashMap<>();
+        result.put(filterExpr, elements);
+        return result;
+    }
+
+    private void runFxTasks() {
+        List<Runnable> tasks = new ArrayList<>(fxTasks);
+        fxTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    /**
+     * Tests that updates made before the JavaFX thread gets to them are shown with a single event
+     * containing the latest result for each filter expression
+     */
+    @Test
+    public void update_beforeFlush_coalescedIntoOneEvent() {
+        FilterExpression open = Parser.parse("is:open");
+        FilterExpression closed = Parser.parse("is:closed");
+        List<GuiElement> latestOpen = createElements(3, 2);
+        List<GuiElement> latestClosed = createElements(1);
+        List<TurboUser> latestUsers = Arrays.asList(new TurboUser(REPO, "user"));
+
+        uiManager.update(createResult(open, createElements(2)), new ArrayList<>());
+        uiManager.update(createResult(closed, latestClosed), new ArrayList<>());
+        uiManager.update(createResult(open, latestOpen), latestUsers);
+        assertEquals(1, fxTasks.size());
+
+        runFxTasks();
+
+        ArgumentCaptor<ModelUpdatedEvent> event = ArgumentCaptor.forClass(ModelUpdatedEvent.class);
+        verify(ui, times(1)).triggerEvent(event.capture());
+        assertEquals(2, event.getValue().elementsToShow.size());
+        assertSame(latestOpen, event.getValue().elementsToShow.get(open));
+        assertSame(latestClosed, event.getValue().elementsToShow.get(closed));
+        assertSame(latestUsers, event.getValue().users);
+    }
+
+    /**
+     * Tests that an update made after a flush is shown with a new event, without the results already shown
+     */
+    @Test
+    public void update_afterFlush_newEventScheduled() {
+        FilterExpression open = Parser.parse("is:open");
+        FilterExpression closed = Parser.parse("is:closed");
+        uiManager.update(createResult(open, createElements(1)), new ArrayList<>());
+        runFxTasks();
+
+        List<GuiElement> closedElements = createElements(2);
+        uiManager.update(createResult(closed, closedElements), new ArrayList<>());
+        assertEquals(1, fxTasks.size());
+        runFxTasks();
+
+        ArgumentCaptor<ModelUpdatedEvent> event = ArgumentCaptor.forClass(ModelUpdatedEvent.class);
+        verify(ui, times(2)).triggerEvent(event.capture());
+        ModelUpdatedEvent second = event.getAllValues().get(1);
+        assertEquals(1, second.elementsToShow.size());
+        assertSame(closedElements, second.elementsToShow.get(closed));
+    }
+}
@@ -0,0 +1,160 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import backend.Logic;
+import backend.UpdateController;
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import filter.Parser;
+import filter.expression.FilterExpression;
+import filter.expression.Qualifier;
+import ui.GuiElement;
+import ui.UI;
+import ui.components.StatusUIStub;
+import ui.issuepanel.FilterPanel;
+import util.events.EventDispatcherStub;
+
+public class UpdateControllerTests {
+
+    private static final String REPO = "test/test";
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private MultiModel models;
+    private Logic logic;
+
+    // The results posted to the UI, in order
+    private final List<Map<FilterExpression, List<GuiElement>>> updates = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        UI.events = new EventDispatcherStub();
+        UI.status = new StatusUIStub();
+
+        List<TurboIssue> issues = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            TurboIssue issue = new TurboIssue(REPO, i, "issue " + i);
+            issue.setOpen(i % 3 != 0);
+            issues.add(issue);
+        }
+        models = (MultiModel) TestUtils.singletonModel(new Model(REPO, issues, new ArrayList<>(),
+                                                                 new ArrayList<>(), new ArrayList<>()));
+
+        logic = mock(Logic.class);
+        doAnswer(invocation -> {
+            synchronized (updates) {
+                updates.add((Map<FilterExpression, List<GuiElement>>) invocation.getArguments()[0]);
+                updates.notifyAll();
+            }
+            return null;
+        }).when(logic).updateUI(any());
+    }
+
+    private static FilterPanel createPanel(FilterExpression... filterExprs) {
+        FilterPanel panel = mock(FilterPanel.class);
+        when(panel.getCurrentFilterExpression())
+                .thenReturn(filterExprs[0], Arrays.copyOfRange(filterExprs, 1, filterExprs.length));
+        return panel;
+    }
+
+    /**
+     * Waits until the results for {@code filterExpr} have been posted to the UI
+     *
+     * @return the results
+     */
+    private List<GuiElement> awaitUpdate(FilterExpression filterExpr) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        synchronized (updates) {
+            while (updates.stream().noneMatch(update -> update.containsKey(filterExpr))) {
+                long remaining = deadline - System.currentTimeMillis();
+                assertTrue("No results posted for " + filterExpr, remaining > 0);
+                updates.wait(remaining);
+            }
+            return updates.stream()
+                    .filter(update -> update.containsKey(filterExpr))
+                    .findFirst().get().get(filterExpr);
+        }
+    }
+
+    private List<Integer> getIds(List<GuiElement> elements) {
+        List<Integer> ids = new ArrayList<>();
+        elements.forEach(element -> ids.add(element.getIssue().getId()));
+        return ids;
+    }
+
+    /**
+     * Tests that the results of a panel whose filter is changed during evaluation are never posted
+     */
+    @Test
+    public void processAndRefresh_supersededDuringEvaluation_resultsDiscarded() throws InterruptedException {
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        when(logic.getModels()).thenAnswer(invocation -> {
+            // Only hold up the filter worker, as metadata tallying also reads the models
+            if (Thread.currentThread().getName().startsWith("filter-worker") && evaluating.getCount() > 0) {
+                evaluating.countDown();
+                assertTrue(resume.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            }
+            return models;
+        });
+
+        FilterExpression oldExpr = Parser.parse("is:open");
+        FilterExpression newExpr = Parser.parse("is:closed");
+        FilterPanel panel = createPanel(oldExpr, oldExpr, oldExpr, newExpr);
+        UpdateController controller = new UpdateController(logic);
+
+        controller.processAndRefresh(Collections.singletonList(panel));
+        assertTrue(evaluating.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        controller.processAndRefresh(Collections.singletonList(panel));
+        resume.countDown();
+
+        assertFalse(awaitUpdate(newExpr).isEmpty());
+        synchronized (updates) {
+            assertFalse(updates.stream().anyMatch(update -> update.containsKey(oldExpr)));
+        }
+    }
+
+    /**
+     * Tests that panels processed concurrently on the filter pool get the same issues,
+     * in the same order, as filtering and sorting them one at a time
+     */
+    @Test
+    public void processAndRefresh_severalPanels_sameAsSerial() throws InterruptedException {
+        when(logic.getModels()).thenReturn(models);
+
+        List<String> filterTexts = Arrays.asList("is:open", "is:closed", "issue", "id:>2000 OR id:<10",
+                                                 "is:open count:20", "");
+        List<FilterPanel> panels = new ArrayList<>();
+        filterTexts.forEach(filterText -> panels.add(createPanel(Parser.parse(filterText))));
+        new UpdateController(logic).processAndRefresh(panels);
+
+        for (String filterText : filterTexts) {
+            FilterExpression filterExpr = Parser.parse(filterText);
+            List<Integer> expected = new ArrayList<>();
+            models.getIssues().stream()
+                    .filter(issue -> Qualifier.process(models, filterExpr, issue))
+                    .sorted(Qualifier.getSortComparator(models, "id", true, false))
+                    .limit(filterText.contains("count:20") ? 20 : Long.MAX_VALUE)
+                    .forEach(issue -> expected.add(issue.getId()));
+            assertEquals(filterText, expected, getIds(awaitUpdate(filterExpr)));
+        }
+    }
+}
@@ -20,11 +20,14 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.stream.Collectors;
 
 public class UtilityTest {
 
@@ -179,4 +182,24 @@ public class UtilityTest {
     public void removeFirstWord_moreThanOneWord() {
         assertEquals("my name is Bond ", Utility.removeFirstWord("Hello, my name is Bond "));
     }
+
+    @Test
+    public void getTopK_sameAsSortThenLimit() {
+        List<Integer> items = Arrays.asList(5, 3, 9, 1, 7, 3, 8, 2);
+        Comparator<Integer> comparator = Comparator.naturalOrder();
+
+        for (int k = 0; k <= items.size() + 1; k++) {
+            assertEquals(items.stream().sorted(comparator).limit(k).collect(Collectors.toList()),
+                         Utility.getTopK(items, comparator, k));
+        }
+    }
+
+    @Test
+    public void getTopK_ties_stable() {
+        List<String> items = Arrays.asList("b1", "a1", "b2", "a2", "a3");
+        Comparator<String> byLetter = (x, y) -> Character.compare(x.charAt(0), y.charAt(0));
+
+        assertEquals(Arrays.asList("a1", "a2"), Utility.getTopK(items, byLetter, 2));
+        assertEquals(Arrays.asList("a1", "a2", "a3", "b1"), Utility.getTopK(items, byLetter, 4));
+    }
 }
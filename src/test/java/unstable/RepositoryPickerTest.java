@@ -42,6 +42,7 @@ public class RepositoryPickerTest extends UITest {
         Preferences prefs = TestController.createTestPreferences();
         prefs.setLastLoginCredentials("test", "test");
         prefs.setLastViewedRepository("dummy/dummy");
+        prefs.flush();
     }
 
     @Test